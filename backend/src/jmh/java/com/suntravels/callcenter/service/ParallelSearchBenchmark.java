@@ -0,0 +1,62 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.index.ContractIndex;
+import com.suntravels.callcenter.metrics.SearchMetrics;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.repository.ContractRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how uncached availability searches over many candidate contracts scale with the number of
+ * fork-join threads used by {@link ParallelContractEvaluator}. A parallelism of 0 is the sequential path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ParallelSearchBenchmark {
+
+    private static final int SEARCHES = 256;
+
+    @Param({"100000"})
+    public int contracts;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int parallelism;
+
+    private ContractService contractService;
+    private ParallelContractEvaluator evaluator;
+    private SearchDTO[] searches;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Contract> catalog = SyntheticCatalog.contracts(contracts, 4, 42);
+        ContractRepository repository = SyntheticCatalog.repository(catalog);
+        evaluator = parallelism == 0
+                ? new ParallelContractEvaluator(Integer.MAX_VALUE, 1)
+                : new ParallelContractEvaluator(0, parallelism);
+        contractService = new ContractService(repository, new ContractIndex(repository, List.of()),
+                new SearchResultCache(1), evaluator,
+                new SearchMetrics(new SimpleMeterRegistry()), true);
+        searches = SyntheticCatalog.searches(SEARCHES, 2, 7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        evaluator.shutdown();
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        contractService.streamAvailability(searches[next++ & (SEARCHES - 1)], blackhole::consume);
+    }
+}
@@ -0,0 +1,131 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.AvailableRoomDTO;
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.index.ContractIndex;
+import com.suntravels.callcenter.index.IndexedContract;
+import com.suntravels.callcenter.metrics.SearchMetrics;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.model.RoomInventory;
+import com.suntravels.callcenter.repository.ContractRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the availability search and its pricing hot path on synthetic in-memory contracts.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}; see the {@code benchmark} profile in the pom
+ * for passing JMH options such as {@code -p contracts=1000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SearchBenchmark {
+
+    private static final int SEARCHES = 1024;
+
+    @Param({"1000", "100000"})
+    public int contracts;
+
+    @Param({"4"})
+    public int roomsPerContract;
+
+    @Param({"1", "3"})
+    public int requirements;
+
+    private ContractService contractService;
+    private ParallelContractEvaluator evaluator;
+    private SearchDTO[] searches;
+    private IndexedContract[] indexedContracts;
+    private RoomDetail[] roomDetails;
+    private byte[][] ledgers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Contract> catalog = SyntheticCatalog.contracts(contracts, roomsPerContract, 42);
+        ContractRepository repository = SyntheticCatalog.repository(catalog);
+        evaluator = new ParallelContractEvaluator(Integer.MAX_VALUE, 1);
+        contractService = new ContractService(repository, new ContractIndex(repository, List.of()),
+                new SearchResultCache(10_000), evaluator,
+                new SearchMetrics(new SimpleMeterRegistry()), true);
+        searches = SyntheticCatalog.searches(SEARCHES, requirements, 7);
+
+        indexedContracts = catalog.stream().map(IndexedContract::of).toArray(IndexedContract[]::new);
+        roomDetails = catalog.stream().flatMap(contract -> contract.getRoomDetails().stream()).toArray(RoomDetail[]::new);
+        // A year of inventory per room type, each with a week partly sold
+        ledgers = new byte[SEARCHES][];
+        for (int i = 0; i < ledgers.length; i++) {
+            ledgers[i] = RoomInventory.take(null, 10, 365, i % 358, 7, 3);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        evaluator.shutdown();
+    }
+
+    /**
+     * A full search that is never answered from the cache.
+     */
+    @Benchmark
+    public void searchUncached(Blackhole blackhole) {
+        contractService.streamAvailability(nextSearch(), blackhole::consume);
+    }
+
+    /**
+     * A search through {@link ContractService#searchAvailability}; after the first round every search is
+     * a cache hit, so this measures the cache lookup and relabelling.
+     */
+    @Benchmark
+    public void searchCached(Blackhole blackhole) {
+        try {
+            blackhole.consume(contractService.searchAvailability(nextSearch()));
+        } catch (RuntimeException noContracts) {
+            blackhole.consume(noContracts);
+        }
+    }
+
+    /**
+     * Matching one requirement against one contract's rooms.
+     */
+    @Benchmark
+    public boolean findAvailableRoom() {
+        int i = next++ & Integer.MAX_VALUE;
+        IndexedContract contract = indexedContracts[i % indexedContracts.length];
+        RoomRequirementDTO requirement = searches[i % SEARCHES].getRoomRequirements().get(0);
+        return contractService.findAvailableRoom(contract, requirement, 1, 0, 3, new ArrayList<AvailableRoomDTO>(4));
+    }
+
+    /**
+     * The rooms free over a week's stay in one room type's per-night inventory.
+     */
+    @Benchmark
+    public int remainingRooms() {
+        int i = next++ & Integer.MAX_VALUE;
+        return RoomInventory.remaining(ledgers[i & (SEARCHES - 1)], 10, i % 358, 7);
+    }
+
+    /**
+     * The markup price calculation for one room type.
+     */
+    @Benchmark
+    public double markUpPrice() {
+        int i = next++ & Integer.MAX_VALUE;
+        return ContractService.markUpPrice(roomDetails[i % roomDetails.length], 1 + (i & 7), 1 + (i & 3), 15.0);
+    }
+
+    private SearchDTO nextSearch() {
+        return searches[next++ & (SEARCHES - 1)];
+    }
+}
@@ -0,0 +1,83 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.repository.ContractRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible in-memory contracts and searches for the benchmarks.
+ * <p>
+ * Contracts start on a random day of {@link #FIRST_DAY}'s year and run for 30 to 365 days. Room types
+ * have 1 to 6 adults, 1 to 20 rooms and a price of 50 to 500 per person. Searches check in on a random
+ * day of the same year and stay 1 to 14 nights.
+ */
+final class SyntheticCatalog {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    private static final String[] ROOM_TYPES = {"Standard", "Deluxe", "Suite", "Family", "Villa", "Studio"};
+
+    private SyntheticCatalog() {
+    }
+
+    static List<Contract> contracts(int count, int roomsPerContract, long seed) {
+        Random random = new Random(seed);
+        List<Contract> contracts = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            LocalDate startDate = FIRST_DAY.plusDays(random.nextInt(365));
+            List<RoomDetail> rooms = new ArrayList<>(roomsPerContract);
+            for (int r = 0; r < roomsPerContract; r++) {
+                rooms.add(RoomDetail.builder()
+                        .roomDetailId(id * roomsPerContract + r)
+                        .roomType(ROOM_TYPES[r % ROOM_TYPES.length] + " " + r)
+                        .pricePerPerson(50 + random.nextInt(451))
+                        .numberOfRooms(1 + random.nextInt(20))
+                        .maxAdults(1 + random.nextInt(6))
+                        .build());
+            }
+            contracts.add(Contract.builder()
+                    .contractId(id)
+                    .hotelName("Hotel " + id)
+                    .startDate(startDate)
+                    .endDate(startDate.plusDays(30 + random.nextInt(336)))
+                    .markUpRate(5.0 + random.nextInt(26))
+                    .roomDetails(rooms)
+                    .build());
+        }
+        return contracts;
+    }
+
+    static SearchDTO[] searches(int count, int requirements, long seed) {
+        Random random = new Random(seed);
+        SearchDTO[] searches = new SearchDTO[count];
+        for (int i = 0; i < count; i++) {
+            List<RoomRequirementDTO> roomRequirements = new ArrayList<>(requirements);
+            for (int r = 0; r < requirements; r++) {
+                roomRequirements.add(new RoomRequirementDTO(1 + random.nextInt(3), 1 + random.nextInt(4)));
+            }
+            searches[i] = new SearchDTO(FIRST_DAY.plusDays(random.nextInt(365)), 1 + random.nextInt(14), roomRequirements);
+        }
+        return searches;
+    }
+
+    /**
+     * Returns a repository that serves {@code findAll} from the given list, for loading the contract index.
+     */
+    static ContractRepository repository(List<Contract> contracts) {
+        return (ContractRepository) Proxy.newProxyInstance(ContractRepository.class.getClassLoader(),
+                new Class<?>[]{ContractRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return contracts;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -1,12 +1,18 @@
 package com.suntravels.callcenter.advice;
 
+import com.suntravels.callcenter.exception.CsvFormatException;
 import com.suntravels.callcenter.exception.NoContractsFoundException;
+import com.suntravels.callcenter.exception.RoomsUnavailableException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterErrors;
+import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -40,6 +46,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles HandlerMethodValidationException for validation failures of request bodies that are lists,
+     * such as the batch search.
+     *
+     * @param ex The exception containing the validation errors.
+     * @return A map of field names, prefixed with the list index of their element, and error messages
+     * with HTTP status BAD_REQUEST.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, String>> handleHandlerMethodValidationException(HandlerMethodValidationException ex) {
+
+        Map<String, String> errors = new HashMap<>();
+
+        for (ParameterValidationResult result : ex.getParameterValidationResults()) {
+            String parameter = result.getMethodParameter().getParameterName();
+            if (result instanceof ParameterErrors parameterErrors) {
+                // An invalid element of the list, e.g. "[1].noOfNights"
+                String prefix = "[" + parameterErrors.getContainerIndex() + "].";
+                parameterErrors.getFieldErrors().forEach(error ->
+                        errors.put(prefix + error.getField(), error.getDefaultMessage()));
+            } else {
+                result.getResolvableErrors().forEach(error -> errors.put(parameter, error.getDefaultMessage()));
+            }
+        }
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
 
     /**
      * Handles {@link NoContractsFoundException} thrown by the application.
@@ -55,5 +88,37 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles {@link CsvFormatException} thrown when an uploaded CSV file cannot be read at all.
+     *
+     * @param ex the exception instance describing what is wrong with the file
+     * @return a {@link ResponseEntity} containing the exception message with HTTP status BAD_REQUEST
+     */
+    @ExceptionHandler(CsvFormatException.class)
+    public ResponseEntity<String> handleCsvFormatException(CsvFormatException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles {@link RoomsUnavailableException} thrown when a reservation asks for rooms that are not free.
+     *
+     * @param ex the exception instance describing which rooms are unavailable
+     * @return a {@link ResponseEntity} containing the exception message with HTTP status CONFLICT
+     */
+    @ExceptionHandler(RoomsUnavailableException.class)
+    public ResponseEntity<String> handleRoomsUnavailableException(RoomsUnavailableException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
 
+    /**
+     * Handles {@link OptimisticLockingFailureException} thrown when rows kept being changed concurrently,
+     * such as the rooms of a reservation being booked by another application instance.
+     *
+     * @param ex the exception instance describing the conflict
+     * @return a {@link ResponseEntity} containing the exception message with HTTP status CONFLICT
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
 }
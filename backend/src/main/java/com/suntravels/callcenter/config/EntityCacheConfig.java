@@ -0,0 +1,107 @@
+package com.suntravels.callcenter.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache configuration.
+ * <p>
+ * Contracts, their room details and the results of the cacheable contract queries are kept in Caffeine
+ * caches behind Hibernate's JCache region factory. Every region has its own size limit and time to live,
+ * set under {@code callcenter.entity-cache}; Hibernate keeps the regions consistent with the writes it
+ * makes, and expires cached query results as soon as a contract or room detail table changes. The update
+ * timestamps region that this relies on is never evicted.
+ * <p>
+ * The hits, misses and evictions of every region are published as {@code cache.*} metrics, tagged with
+ * the region name. Set {@code callcenter.entity-cache.enabled=false} to run without the cache.
+ */
+@Configuration
+@ConditionalOnProperty(name = "callcenter.entity-cache.enabled", matchIfMissing = true)
+public class EntityCacheConfig {
+
+    public static final String CONTRACT_REGION = "contract";
+    public static final String ROOM_DETAILS_REGION = "contract.room-details";
+    public static final String ROOM_DETAIL_REGION = "room-detail";
+    public static final String QUERY_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    /**
+     * Creates a cache manager holding every region, so that a region missing here fails startup rather
+     * than being created unbounded.
+     * <p>
+     * Each application context gets its own cache manager, as a cache shared by two session factories
+     * would mix up their entities.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(
+            @Value("${callcenter.entity-cache.contracts.maximum-size:20000}") long contractsMaximumSize,
+            @Value("${callcenter.entity-cache.contracts.time-to-live:1h}") Duration contractsTimeToLive,
+            @Value("${callcenter.entity-cache.room-details.maximum-size:100000}") long roomDetailsMaximumSize,
+            @Value("${callcenter.entity-cache.room-details.time-to-live:1h}") Duration roomDetailsTimeToLive,
+            @Value("${callcenter.entity-cache.queries.maximum-size:1000}") long queriesMaximumSize,
+            @Value("${callcenter.entity-cache.queries.time-to-live:10m}") Duration queriesTimeToLive) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("callcenter-entity-cache-" + UUID.randomUUID()),
+                        EntityCacheConfig.class.getClassLoader());
+        cacheManager.createCache(CONTRACT_REGION, region(contractsMaximumSize, contractsTimeToLive));
+        // The collection region holds one list of room detail IDs per contract
+        cacheManager.createCache(ROOM_DETAILS_REGION, region(contractsMaximumSize, contractsTimeToLive));
+        cacheManager.createCache(ROOM_DETAIL_REGION, region(roomDetailsMaximumSize, roomDetailsTimeToLive));
+        cacheManager.createCache(QUERY_REGION, region(queriesMaximumSize, queriesTimeToLive));
+        // Evicting a table's last update time could let a stale query result look current
+        cacheManager.createCache(TIMESTAMPS_REGION, new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setStatisticsEnabled(true));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(CacheSettings.USE_QUERY_CACHE, true);
+            properties.put(CacheSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> {
+            for (String region : entityCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, entityCacheManager.getCache(region));
+            }
+        };
+    }
+
+    /**
+     * Configures a bounded region whose entries expire a fixed time after they were written.
+     */
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration timeToLive) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()))
+                // Hibernate's cache entries are already detached copies of the entity state
+                .setStoreByValue(false)
+                .setStatisticsEnabled(true);
+    }
+}
@@ -0,0 +1,49 @@
+package com.suntravels.callcenter.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suntravels.callcenter.dto.AvailableContractDTO;
+import com.suntravels.callcenter.metrics.SearchMetrics;
+import com.suntravels.callcenter.metrics.SearchMetrics.Phase;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Metrics configuration.
+ * <p>
+ * Replaces Spring Boot's JSON message converter with one that times the serialization of availability
+ * search results as the {@link Phase#SERIALIZE} phase of {@link SearchMetrics}. Everything else is
+ * written exactly as before.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   SearchMetrics searchMetrics) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                if (!isSearchResult(object)) {
+                    super.writeInternal(object, type, outputMessage);
+                    return;
+                }
+                long start = System.nanoTime();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    searchMetrics.record(Phase.SERIALIZE, System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    private static boolean isSearchResult(Object object) {
+        return object instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof AvailableContractDTO;
+    }
+}
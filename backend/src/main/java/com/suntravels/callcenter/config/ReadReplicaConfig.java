@@ -0,0 +1,89 @@
+package com.suntravels.callcenter.config;
+
+import com.suntravels.callcenter.datasource.ReadWriteRoutingDataSource;
+import com.suntravels.callcenter.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica configuration.
+ * <p>
+ * Sends read-only transactions, such as the availability and hotel name searches and the contract
+ * listing, to the read replicas under {@code callcenter.read-replicas.urls}, while every other transaction,
+ * such as adding, deleting and reserving, stays on the primary from {@code spring.datasource}. The
+ * application's data source is a {@link LazyConnectionDataSourceProxy}, which only fetches a connection on
+ * the first statement of a transaction, once it is known whether the transaction is read-only, from the
+ * {@link ReadWriteRoutingDataSource}.
+ * <p>
+ * Replicas are reached with the primary's credentials unless {@code callcenter.read-replicas.username} and
+ * {@code password} are set. Schema migrations only run on the primary, and reach the replicas through
+ * replication. The number of healthy replicas is published as the
+ * {@code callcenter.datasource.replicas.healthy} metric. Set {@code callcenter.read-replicas.enabled=true}
+ * to use replicas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "callcenter.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSource replicaDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource, DataSourceProperties properties,
+            @Value("${callcenter.read-replicas.urls}") List<String> urls,
+            @Value("${callcenter.read-replicas.username:}") String username,
+            @Value("${callcenter.read-replicas.password:}") String password,
+            @Value("${callcenter.read-replicas.connection-timeout:1s}") Duration connectionTimeout,
+            @Value("${callcenter.read-replicas.health-check-interval:5s}") Duration healthCheckInterval,
+            @Value("${callcenter.read-replicas.read-your-writes:0s}") Duration readYourWrites) {
+        List<ReplicaDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .username(username.isEmpty() ? properties.determineUsername() : username)
+                    .password(username.isEmpty() ? properties.determinePassword() : password)
+                    .build();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setReadOnly(true);
+            // Fail over quickly instead of waiting for a replica that is down
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replicas.add(new ReplicaDataSource.Replica(urls.get(i), replica));
+        }
+        return new ReplicaDataSource(primaryDataSource, replicas, readYourWrites, healthCheckInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaDataSource replicaDataSource) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource));
+    }
+
+    @Bean
+    public MeterBinder replicaMetrics(ReplicaDataSource replicaDataSource) {
+        return registry -> Gauge.builder("callcenter.datasource.replicas.healthy", replicaDataSource,
+                        ReplicaDataSource::getHealthyReplicas)
+                .description("Read replicas currently taking reads")
+                .register(registry);
+    }
+}
@@ -1,32 +1,80 @@
 package com.suntravels.callcenter.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.suntravels.callcenter.dto.AvailableContractDTO;
+import com.suntravels.callcenter.dto.BulkImportResultDTO;
+import com.suntravels.callcenter.dto.CsvImportResultDTO;
 import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.ContractPageDTO;
+import com.suntravels.callcenter.dto.ContractView;
+import com.suntravels.callcenter.dto.ImportProgressDTO;
+import com.suntravels.callcenter.dto.SearchCacheStatsDTO;
 import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.metrics.SearchMetrics;
+import com.suntravels.callcenter.metrics.SearchMetrics.Phase;
 import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.service.BulkContractService;
 import com.suntravels.callcenter.service.ContractService;
+import com.suntravels.callcenter.service.CsvImportService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
  * Controller for handling contract-related requests.
  * Provides endpoints for creating and retrieving contracts.
+ * Only part of the servlet stack; the reactive profile serves the contract API with {@code ReactiveContractController}.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/contracts")
-@CrossOrigin(origins = "http://localhost:4200")
+@CrossOrigin(origins = "http://localhost:4200", exposedHeaders = HttpHeaders.LINK)
 public class ContractController {
 
+    /**
+     * Media type of newline-delimited JSON responses, one JSON document per line.
+     */
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    public static final String TEXT_CSV = "text/csv";
+
+    /**
+     * The most searches a batch search request may contain.
+     */
+    public static final int MAX_BATCH_SEARCHES = 100;
+
     private final ContractService contractService;
+    private final BulkContractService bulkContractService;
+    private final CsvImportService csvImportService;
+    private final SearchMetrics searchMetrics;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ContractController(ContractService contractService) {
+    public ContractController(ContractService contractService, BulkContractService bulkContractService,
+                              CsvImportService csvImportService, SearchMetrics searchMetrics,
+                              ObjectMapper objectMapper) {
         this.contractService = contractService;
+        this.bulkContractService = bulkContractService;
+        this.csvImportService = csvImportService;
+        this.searchMetrics = searchMetrics;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -42,14 +90,92 @@ public class ContractController {
     }
 
     /**
-     * Retrieves all contracts.
+     * Imports many contracts at once, from a JSON array or from newline-delimited JSON.
+     * The body is parsed one contract at a time and persisted in JDBC batches, so it is never held in
+     * memory as a whole. Invalid contracts are reported in the result and do not stop the import.
+     *
+     * @param body The request body containing the contracts.
+     * @return A ResponseEntity containing the import summary with HTTP status OK (200).
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON})
+    public ResponseEntity<BulkImportResultDTO> importContracts(InputStream body) throws IOException {
+        try (MappingIterator<ContractDTO> contractDTOs = objectMapper.readerFor(ContractDTO.class).readValues(body)) {
+            return new ResponseEntity<>(bulkContractService.importContracts(contractDTOs), HttpStatus.OK);
+        }
+    }
+
+    /**
+     * Imports contracts from an uploaded CSV supplier feed, with one row per room type of a contract.
+     * The upload is parsed while it is received and persisted in batches.
+     *
+     * @param body The UTF-8 encoded CSV file.
+     * @return A ResponseEntity containing the import summary and throughput with HTTP status OK (200).
+     */
+    @PostMapping(value = "/import", consumes = TEXT_CSV)
+    public ResponseEntity<CsvImportResultDTO> importCsv(InputStream body) {
+        CsvImportResultDTO result = csvImportService.importCsv(
+                new InputStreamReader(body, StandardCharsets.UTF_8), "upload");
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the progress of the CSV imports currently running.
+     * Mapped below {@code /import} so that it does not shadow a hotel name search for "import".
+     *
+     * @return A ResponseEntity containing the progress of each running import with HTTP status OK (200).
+     */
+    @GetMapping("/import/running")
+    public ResponseEntity<List<ImportProgressDTO>> getRunningImports() {
+        return new ResponseEntity<>(csvImportService.getRunningImports(), HttpStatus.OK);
+    }
+
+    /**
+     * Suggests hotel names starting with the given prefix, for autocompletion while an agent types.
+     * Mapped below {@code /search} so that it does not shadow a hotel name search for "suggest".
+     *
+     * @param prefix The text typed so far.
+     * @param limit  The maximum number of suggestions, or absent for the default.
+     * @return A ResponseEntity containing the suggested hotel names, possibly none, with HTTP status OK (200).
+     */
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggestHotelNames(@RequestParam(defaultValue = "") String prefix,
+                                                          @RequestParam(required = false) Integer limit) {
+        return new ResponseEntity<>(contractService.suggestHotelNames(prefix, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves one page of contracts in contract ID order.
+     * If more contracts follow, the response carries a {@code Link} header with {@code rel="next"}
+     * pointing at the next page.
      *
-     * @return A ResponseEntity containing a list of all Contract objects and an HTTP status of OK (200).
+     * @param after The ID of the last contract of the previous page, or absent for the first page.
+     * @param size  The page size, or absent for the default; capped at {@link ContractService#MAX_PAGE_SIZE}.
+     * @return A ResponseEntity containing a page of Contract objects and an HTTP status of OK (200).
      */
     @GetMapping
-    public ResponseEntity<List<Contract>> getAllContracts(){
-        List<Contract> contracts = contractService.getAllContracts();
-        return new ResponseEntity<>(contracts, HttpStatus.OK);
+    public ResponseEntity<List<ContractView>> getAllContracts(@RequestParam(required = false) Integer after,
+                                                          @RequestParam(required = false) Integer size){
+        ContractPageDTO page = contractService.getContracts(after, size);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.add(HttpHeaders.LINK, "</contracts?after=" + page.getNextCursor() + "&size="
+                    + page.getContracts().size() + ">; rel=\"next\"");
+        }
+        return new ResponseEntity<>(page.getContracts(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Streams all contracts as newline-delimited JSON, written while they are read from a database cursor.
+     * Selected by requesting the {@code application/x-ndjson} media type.
+     *
+     * @return A ResponseEntity streaming one Contract per line, with an HTTP status of OK (200).
+     */
+    @GetMapping(produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllContracts(){
+        StreamingResponseBody body = outputStream ->
+                contractService.forEachContract(contract -> writeLine(outputStream, contract, false));
+        return new ResponseEntity<>(body, HttpStatus.OK);
     }
 
 
@@ -60,8 +186,8 @@ public class ContractController {
      * @return A ResponseEntity containing a list of contracts matching the hotel name, with HTTP status FOUND (302).
      */
     @GetMapping("/{hotelName}")
-    public ResponseEntity<List<Contract>> searchByName(@PathVariable String hotelName){
-        List<Contract> filteredContracts = contractService.searchByName(hotelName);
+    public ResponseEntity<List<ContractView>> searchByName(@PathVariable String hotelName){
+        List<ContractView> filteredContracts = contractService.searchByName(hotelName);
         return new ResponseEntity<>(filteredContracts, HttpStatus.OK);
     }
 
@@ -91,4 +217,72 @@ public class ContractController {
 
     }
 
+    /**
+     * Answers several availability searches in one request, evaluating them together in a single pass
+     * over the contracts covering their stays.
+     *
+     * @param searchDTOs The searches, at most {@link #MAX_BATCH_SEARCHES}.
+     * @return A ResponseEntity containing, for each search in order, its list of available contracts
+     * (empty if none), with an HTTP status of OK (200).
+     */
+    @PostMapping("/available/batch")
+    public ResponseEntity<List<List<AvailableContractDTO>>> searchContracts(
+            @RequestBody
+            @NotEmpty(message = "At least one search is required")
+            @Size(max = MAX_BATCH_SEARCHES, message = "At most " + MAX_BATCH_SEARCHES + " searches are allowed")
+            List<@Valid SearchDTO> searchDTOs){
+        return new ResponseEntity<>(contractService.searchAvailabilityBatch(searchDTOs), HttpStatus.OK);
+    }
+
+    /**
+     * Searches for contracts based on the search criteria provided in SearchDTO, streaming each available
+     * contract as a line of newline-delimited JSON as soon as it qualifies.
+     * Selected by requesting the {@code application/x-ndjson} media type; an empty body means no contract is available.
+     *
+     * @param searchDTO The search data transfer object containing search parameters.
+     * @return A ResponseEntity streaming one AvailableContractDTO per line, with an HTTP status of OK (200).
+     */
+    @PostMapping(value = "/available", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamContracts(@RequestBody @Valid SearchDTO searchDTO){
+        StreamingResponseBody body = outputStream -> {
+            long[] serializeNanos = new long[1];
+            contractService.streamAvailability(searchDTO, contract -> {
+                long start = System.nanoTime();
+                writeLine(outputStream, contract, true);
+                serializeNanos[0] += System.nanoTime() - start;
+            });
+            searchMetrics.record(Phase.SERIALIZE, serializeNanos[0]);
+        };
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the hit, miss and eviction counters of the availability search result cache.
+     *
+     * @return A ResponseEntity containing the cache statistics and an HTTP status of OK (200).
+     */
+    @GetMapping("/available/cache-stats")
+    public ResponseEntity<SearchCacheStatsDTO> getSearchCacheStats(){
+        return new ResponseEntity<>(contractService.getSearchCacheStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Writes one value as a line of newline-delimited JSON.
+     *
+     * @param outputStream The response body stream.
+     * @param value        The value to serialize.
+     * @param flush        Whether to send the line to the client right away.
+     */
+    private void writeLine(OutputStream outputStream, Object value, boolean flush) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+            if (flush) {
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
@@ -0,0 +1,93 @@
+package com.suntravels.callcenter.controller;
+
+import com.suntravels.callcenter.dto.ReservationDTO;
+import com.suntravels.callcenter.model.Reservation;
+import com.suntravels.callcenter.service.HoldService;
+import com.suntravels.callcenter.service.ReservationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for handling reservation requests.
+ * Provides endpoints for reserving rooms of a contract, holding them while a customer decides, and
+ * retrieving reservations.
+ * Only part of the servlet stack, as reservations wait on locks and JDBC.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/reservations")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+    private final HoldService holdService;
+
+    @Autowired
+    public ReservationController(ReservationService reservationService, HoldService holdService) {
+        this.reservationService = reservationService;
+        this.holdService = holdService;
+    }
+
+    /**
+     * Endpoint to reserve rooms of a contract for a stay.
+     * Either all the rooms are reserved on every night of the stay, or none.
+     *
+     * @param reservationDTO The contract, stay and rooms to reserve.
+     * @return The saved reservation with HTTP status CREATED, or CONFLICT if the rooms are not free.
+     */
+    @PostMapping
+    public ResponseEntity<Reservation> reserve(@RequestBody @Valid ReservationDTO reservationDTO) {
+        Reservation reservation = reservationService.reserve(reservationDTO);
+        return new ResponseEntity<>(reservation, HttpStatus.CREATED);
+    }
+
+    /**
+     * Endpoint to retrieve a reservation by its ID.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return The reservation with HTTP status OK.
+     */
+    @GetMapping("/{reservationId}")
+    public ResponseEntity<Reservation> getReservation(@PathVariable Integer reservationId) {
+        return new ResponseEntity<>(reservationService.getReservation(reservationId), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to hold rooms of a contract for a stay.
+     * The rooms are taken like a reservation, and given back when the hold expires unless it is confirmed.
+     *
+     * @param reservationDTO The contract, stay and rooms to hold.
+     * @return The saved hold, with the time it expires, with HTTP status CREATED.
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<Reservation> hold(@RequestBody @Valid ReservationDTO reservationDTO) {
+        return new ResponseEntity<>(holdService.hold(reservationDTO), HttpStatus.CREATED);
+    }
+
+    /**
+     * Endpoint to confirm a hold before it expires.
+     *
+     * @param reservationId The ID of the hold.
+     * @return The confirmed reservation with HTTP status OK, or NOT_FOUND if the hold has expired.
+     */
+    @PostMapping("/holds/{reservationId}/confirm")
+    public ResponseEntity<Reservation> confirmHold(@PathVariable Integer reservationId) {
+        return new ResponseEntity<>(holdService.confirm(reservationId), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to release a hold before it expires, giving its rooms back.
+     *
+     * @param reservationId The ID of the hold.
+     * @return HTTP status OK, or NOT_FOUND if the hold has expired.
+     */
+    @DeleteMapping("/holds/{reservationId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Integer reservationId) {
+        holdService.release(reservationId);
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+}
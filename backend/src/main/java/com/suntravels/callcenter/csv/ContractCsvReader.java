@@ -0,0 +1,206 @@
+package com.suntravels.callcenter.csv;
+
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.RoomDetailDTO;
+import com.suntravels.callcenter.exception.CsvFormatException;
+import com.suntravels.callcenter.exception.InvalidContractRecordException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Reads contracts from a CSV supplier feed, one contract at a time.
+ * <p>
+ * The feed has a header row naming the columns {@link #COLUMNS} in any order, and one row per room
+ * type of a contract. Consecutive rows with the same hotel name, start date, end date and mark-up rate
+ * form one contract. Only the contract being assembled is held in memory, so a feed of any size can be
+ * read with constant memory.
+ * <p>
+ * A contract with a malformed row is skipped as a whole and reported with an
+ * {@link InvalidContractRecordException}; reading can continue with the next contract.
+ */
+public class ContractCsvReader implements Iterator<ContractDTO>, Closeable {
+
+    public static final List<String> COLUMNS = List.of("hotelName", "startDate", "endDate", "markUpRate",
+            "roomType", "pricePerPerson", "numberOfRooms", "maxAdults");
+
+    private static final int HOTEL_NAME = 0;
+    private static final int START_DATE = 1;
+    private static final int END_DATE = 2;
+    private static final int MARK_UP_RATE = 3;
+    private static final int ROOM_TYPE = 4;
+    private static final int PRICE_PER_PERSON = 5;
+    private static final int NUMBER_OF_ROOMS = 6;
+    private static final int MAX_ADULTS = 7;
+
+    private final CsvRecordReader records;
+    private final Runnable rowListener;
+
+    /**
+     * Position of each of {@link #COLUMNS} in a record.
+     */
+    private final int[] columnIndexes;
+
+    /**
+     * The row read ahead that starts the next contract, or null if it has not been read yet.
+     */
+    private List<String> nextRow;
+    private int nextRowLine;
+    private boolean exhausted;
+
+    /**
+     * Creates a reader and reads the header row.
+     *
+     * @param reader      The CSV input.
+     * @param rowListener Called once for every data row read, e.g. to track progress.
+     * @throws CsvFormatException if the input is empty or the header lacks a required column.
+     */
+    public ContractCsvReader(Reader reader, Runnable rowListener) {
+        this.records = new CsvRecordReader(reader);
+        this.rowListener = rowListener;
+        this.columnIndexes = readHeader();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && !exhausted) {
+            readRow();
+        }
+        return nextRow != null;
+    }
+
+    /**
+     * Reads the next contract with all of its room types.
+     *
+     * @throws InvalidContractRecordException if a row of the contract is malformed; the contract's
+     *                                        remaining rows have been consumed.
+     */
+    @Override
+    public ContractDTO next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<String> first = nextRow;
+        int firstLine = nextRowLine;
+        nextRow = null;
+
+        List<String> errors = new ArrayList<>();
+        ContractDTO contract = ContractDTO.builder()
+                .hotelName(field(first, HOTEL_NAME))
+                .roomDetails(new ArrayList<>())
+                .build();
+        try {
+            contract.setStartDate(parse(first, START_DATE, LocalDate::parse));
+            contract.setEndDate(parse(first, END_DATE, LocalDate::parse));
+            contract.setMarkUpRate(parse(first, MARK_UP_RATE, Double::valueOf));
+        } catch (IllegalArgumentException e) {
+            errors.add("Line " + firstLine + ": " + e.getMessage());
+        }
+        addRoom(contract, first, firstLine, errors);
+
+        while (hasNext() && isSameContract(first, nextRow)) {
+            addRoom(contract, nextRow, nextRowLine, errors);
+            nextRow = null;
+        }
+
+        if (!errors.isEmpty()) {
+            throw new InvalidContractRecordException(contract.getHotelName(), String.join("; ", errors));
+        }
+        return contract;
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+    }
+
+    private int[] readHeader() {
+        List<String> header = records.readRecord();
+        if (header == null) {
+            throw new CsvFormatException("CSV file is empty");
+        }
+        List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+
+        int[] indexes = new int[COLUMNS.size()];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            indexes[i] = names.indexOf(COLUMNS.get(i).toLowerCase(Locale.ROOT));
+            if (indexes[i] < 0) {
+                missing.add(COLUMNS.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new CsvFormatException("CSV header is missing the columns " + String.join(", ", missing));
+        }
+        return indexes;
+    }
+
+    private void readRow() {
+        nextRow = records.readRecord();
+        nextRowLine = records.getRecordLine();
+        if (nextRow == null) {
+            exhausted = true;
+        } else {
+            rowListener.run();
+        }
+    }
+
+    private void addRoom(ContractDTO contract, List<String> row, int line, List<String> errors) {
+        try {
+            contract.getRoomDetails().add(RoomDetailDTO.builder()
+                    .roomType(field(row, ROOM_TYPE))
+                    .pricePerPerson(parse(row, PRICE_PER_PERSON, Double::valueOf))
+                    .numberOfRooms(parse(row, NUMBER_OF_ROOMS, Integer::valueOf))
+                    .maxAdults(parse(row, MAX_ADULTS, Integer::valueOf))
+                    .build());
+        } catch (IllegalArgumentException e) {
+            errors.add("Line " + line + ": " + e.getMessage());
+        }
+    }
+
+    private boolean isSameContract(List<String> row, List<String> other) {
+        for (int column = HOTEL_NAME; column <= MARK_UP_RATE; column++) {
+            if (!String.valueOf(field(row, column)).equals(String.valueOf(field(other, column)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The trimmed value of a column, or null if it is blank or missing from the row.
+     */
+    private String field(List<String> row, int column) {
+        int index = columnIndexes[column];
+        if (index >= row.size()) {
+            return null;
+        }
+        String value = row.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Parses a column; a blank value is returned as null and left to bean validation.
+     *
+     * @throws IllegalArgumentException if the value cannot be parsed.
+     */
+    private <T> T parse(List<String> row, int column, Function<String, T> parser) {
+        String value = field(row, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalid " + COLUMNS.get(column) + " '" + value + "'");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.suntravels.callcenter.csv;
+
+import com.suntravels.callcenter.exception.CsvFormatException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV tokenizer that reads one record at a time.
+ * <p>
+ * Fields are separated by commas and may be enclosed in double quotes, in which case they can contain
+ * commas, line breaks and doubled quotes. Both LF and CRLF line endings are accepted, and blank lines
+ * are skipped. Only the record being read is held in memory.
+ */
+public class CsvRecordReader implements Closeable {
+
+    private static final int EOF = -1;
+    private static final int NONE = -2;
+
+    private final Reader reader;
+
+    /**
+     * One character of look-ahead, or {@link #NONE} if nothing has been peeked.
+     */
+    private int peeked = NONE;
+
+    private int line = 1;
+    private int recordLine;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The fields of the record, or null at the end of the input.
+     * @throws CsvFormatException   if a quoted field is not closed before the end of the input.
+     * @throws UncheckedIOException if the input cannot be read.
+     */
+    public List<String> readRecord() {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            skipLineBreak(c);
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new CsvFormatException("Line " + recordLine + ": unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                fields.add(field.toString());
+                if (c != EOF) {
+                    skipLineBreak(c);
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return The 1-based line on which the last record returned by {@link #readRecord()} started.
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Consumes the rest of a line break that started with {@code c}.
+     */
+    private void skipLineBreak(int c) {
+        line++;
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                peeked = next;
+            }
+        }
+    }
+
+    private int read() {
+        if (peeked != NONE) {
+            int c = peeked;
+            peeked = NONE;
+            return c;
+        }
+        try {
+            return reader.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.suntravels.callcenter.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Gives read-only transactions a connection from the {@link ReplicaDataSource} and all others one from
+ * the primary.
+ * <p>
+ * The decision is made when the connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that only fetches it on the
+ * first statement, once the transaction has been marked read-only or not. Every transaction that is not
+ * read-only is taken to be a write, and tells the replicas when it commits so that they can start their
+ * read-your-writes window.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaDataSource replicas;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaDataSource replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(ReplicaDataSource.Connector connector) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connector.connect(replicas);
+        }
+        Connection connection = connector.connect(primary);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    replicas.writeCommitted();
+                }
+            });
+        } else {
+            replicas.writeCommitted();
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,196 @@
+package com.suntravels.callcenter.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The data source of read-only transactions: one of the healthy read replicas, in turn.
+ * <p>
+ * A replica is taken out of rotation as soon as it fails to give a connection, and a background check
+ * probes every replica each {@code callcenter.read-replicas.health-check-interval} to take out those
+ * that stopped answering and to put back those that recovered. When no replica is healthy, reads go to
+ * the primary.
+ * <p>
+ * After a write has been committed on this instance, reads also go to the primary for the
+ * {@code callcenter.read-replicas.read-your-writes} window, so that an agent who has just changed a
+ * contract does not read it back from a replica that is still catching up. The window is shared by the
+ * whole instance, as requests carry nothing that tells which agent made a write: any write pins every
+ * read to the primary until the window has passed. It is therefore off by default, and only suits a
+ * short window on instances that are mostly read.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    /**
+     * Seconds a health check waits for a replica to confirm its connection is alive.
+     */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long readYourWritesNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The time of the last write committed on this instance by any caller, from {@link System#nanoTime()}.
+     */
+    private volatile long lastWriteNanos;
+
+    private volatile boolean writtenYet;
+
+    /**
+     * @param primary             The data source of writes, used for reads when no replica can serve them.
+     * @param replicas            The read replicas by name, e.g. their URLs.
+     * @param readYourWrites      How long reads go to the primary after a write; zero to never.
+     * @param healthCheckInterval How often the replicas are probed.
+     */
+    public ReplicaDataSource(DataSource primary, List<Replica> replicas, Duration readYourWrites,
+                             Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesNanos = readYourWrites.toNanos();
+        long interval = healthCheckInterval.toMillis();
+        healthCheck.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(Connector connector) throws SQLException {
+        if (writtenYet && System.nanoTime() - lastWriteNanos < readYourWritesNanos) {
+            return connector.connect(primary);
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return connector.connect(replica.dataSource());
+            } catch (SQLFeatureNotSupportedException e) {
+                // e.g. credentials asked of a pool that only uses its own; the replica itself is fine
+                throw e;
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        return connector.connect(primary);
+    }
+
+    /**
+     * Records that a write has been committed, starting the read-your-writes window.
+     */
+    public void writeCommitted() {
+        if (readYourWritesNanos > 0) {
+            lastWriteNanos = System.nanoTime();
+            writtenYet = true;
+        }
+    }
+
+    /**
+     * @return The number of replicas currently taking reads.
+     */
+    public int getHealthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Probes every replica, taking it out of rotation or putting it back.
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        healthCheck.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Gets a connection from the chosen data source, with the credentials the caller asked for if any.
+     */
+    @FunctionalInterface
+    interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * A read replica and whether it is taking reads.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        DataSource dataSource() {
+            return dataSource;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Read replica {} is back in rotation", name);
+            }
+        }
+
+        private void markDown(Exception cause) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Read replica {} taken out of rotation: {}", name,
+                        cause != null ? cause.getMessage() : "connection is not valid");
+                // Pooled connections to a replica that went away are dead; reconnect once it is back
+                if (dataSource instanceof HikariDataSource pool && pool.getHikariPoolMXBean() != null) {
+                    pool.getHikariPoolMXBean().softEvictConnections();
+                }
+            }
+        }
+    }
+}
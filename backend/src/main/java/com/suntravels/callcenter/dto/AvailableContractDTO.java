@@ -13,6 +13,17 @@ import java.util.List;
 @Builder
 public class AvailableContractDTO {
 
+    /**
+     * The contract offering the rooms, to reserve them with.
+     */
+    private Integer contractId;
+
     private String hotelName;
+
+    /**
+     * The cheapest price of the whole search at this hotel: for each room requirement, the price of the
+     * cheapest room offered for it, added up.
+     */
+    private Double totalPrice;
     private List<AvailableRoomDTO> availableRooms;
 }
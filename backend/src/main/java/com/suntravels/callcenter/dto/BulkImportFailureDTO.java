@@ -0,0 +1,30 @@
+package com.suntravels.callcenter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) describing one contract of a bulk import that could not be imported.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkImportFailureDTO {
+
+    /**
+     * The zero-based position of the contract in the submitted list or stream.
+     */
+    private int index;
+
+    private String hotelName;
+
+    /**
+     * Error messages by field name, in the same form as request validation errors.
+     */
+    private Map<String, String> errors;
+}
@@ -0,0 +1,33 @@
+package com.suntravels.callcenter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) summarising a bulk contract import.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkImportResultDTO {
+
+    private int received;
+    private int imported;
+
+    /**
+     * The number of contracts that could not be imported, which may be more than the failures listed.
+     */
+    private int failed;
+
+    /**
+     * The first failures by position.
+     */
+    @Builder.Default
+    private List<BulkImportFailureDTO> failures = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package com.suntravels.callcenter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) holding one page of contracts in contract ID order.
+ * The next page is requested with the ID of the last contract of this page as cursor.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ContractPageDTO {
+
+    private List<ContractView> contracts;
+
+    /**
+     * The cursor for the next page, or null if this is the last page.
+     */
+    private Integer nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.suntravels.callcenter.dto;
+
+import com.suntravels.callcenter.model.Contract;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Immutable read model of a contract, returned by the read endpoints instead of the managed entity.
+ * It serializes to the same JSON as {@link Contract}.
+ *
+ * @param contractId  The ID of the contract.
+ * @param hotelName   The name of the hotel.
+ * @param startDate   The first day of the contract.
+ * @param endDate     The last day of the contract.
+ * @param markUpRate  The markup of the contract, in percent.
+ * @param roomDetails The room types of the contract.
+ */
+public record ContractView(Integer contractId, String hotelName, LocalDate startDate, LocalDate endDate,
+                           Double markUpRate, List<RoomDetailView> roomDetails) {
+
+    /**
+     * Copies a contract and its room details.
+     *
+     * @param contract the contract to copy.
+     * @return the read model of the contract.
+     */
+    public static ContractView of(Contract contract) {
+        List<RoomDetailView> roomDetails = contract.getRoomDetails() == null ? List.of()
+                : contract.getRoomDetails().stream().map(RoomDetailView::of).toList();
+        return new ContractView(contract.getContractId(), contract.getHotelName(), contract.getStartDate(),
+                contract.getEndDate(), contract.getMarkUpRate(), roomDetails);
+    }
+}
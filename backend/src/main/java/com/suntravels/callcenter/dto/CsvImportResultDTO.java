@@ -0,0 +1,30 @@
+package com.suntravels.callcenter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) summarising a finished CSV contract import.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CsvImportResultDTO {
+
+    /**
+     * The final counters and throughput of the import.
+     */
+    private ImportProgressDTO progress;
+
+    /**
+     * The first failures by position; the progress counts them all.
+     */
+    @Builder.Default
+    private List<BulkImportFailureDTO> failures = new ArrayList<>();
+}
@@ -0,0 +1,36 @@
+package com.suntravels.callcenter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) describing how far a contract import has got.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportProgressDTO {
+
+    private String id;
+
+    /**
+     * Where the contracts come from, e.g. an uploaded file or a local path.
+     */
+    private String source;
+
+    private long rowsRead;
+    private long received;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+
+    /**
+     * Average number of CSV rows read per second since the import started.
+     */
+    private double rowsPerSecond;
+
+    private boolean finished;
+}
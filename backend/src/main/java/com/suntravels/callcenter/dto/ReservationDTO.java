@@ -0,0 +1,53 @@
+package com.suntravels.callcenter.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for reserving rooms of one contract for a stay, e.g. the rooms an
+ * availability search returned. It includes validation constraints to ensure required fields are provided.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Valid
+@Builder
+public class ReservationDTO {
+
+    /**
+     * The contract to reserve rooms of, as returned by the availability search.
+     */
+    @NotNull(message = "Contract is required")
+    private Integer contractId;
+
+    /**
+     * The first night of the stay.
+     */
+    @NotNull(message = "Check in date is required")
+    @FutureOrPresent(message = "Check in date cannot be in the past")
+    private LocalDate checkInDate;
+
+    /**
+     * The number of nights of the stay.
+     */
+    @NotNull(message = "No of nights required")
+    @Positive(message = "No of nights must be positive")
+    private Integer noOfNights;
+
+    /**
+     * The rooms to reserve; all of them are reserved, or none.
+     */
+    @NotEmpty(message = "Rooms are required")
+    @Valid
+    private List<ReservedRoomDTO> rooms;
+}
@@ -0,0 +1,34 @@
+package com.suntravels.callcenter.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for the rooms of one room type in a {@link ReservationDTO}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Valid
+@Builder
+public class ReservedRoomDTO {
+
+    /**
+     * The room type, as named by the contract and returned by the availability search.
+     */
+    @NotBlank(message = "Room type is required")
+    private String roomType;
+
+    /**
+     * The number of rooms of this type to reserve.
+     */
+    @NotNull(message = "No. of rooms are required")
+    @Positive(message = "Number of rooms must be positive")
+    private Integer numberOfRooms;
+}
@@ -0,0 +1,27 @@
+package com.suntravels.callcenter.dto;
+
+import com.suntravels.callcenter.model.RoomDetail;
+
+/**
+ * Immutable read model of a room type of a contract.
+ *
+ * @param roomDetailId   The ID of the room detail.
+ * @param roomType       The room type.
+ * @param pricePerPerson The price per adult and night.
+ * @param numberOfRooms  The number of rooms of this type.
+ * @param maxAdults      The number of adults a room accommodates.
+ */
+public record RoomDetailView(Integer roomDetailId, String roomType, double pricePerPerson, int numberOfRooms,
+                             int maxAdults) {
+
+    /**
+     * Copies a room detail.
+     *
+     * @param roomDetail the room detail to copy.
+     * @return the read model of the room detail.
+     */
+    public static RoomDetailView of(RoomDetail roomDetail) {
+        return new RoomDetailView(roomDetail.getRoomDetailId(), roomDetail.getRoomType(),
+                roomDetail.getPricePerPerson(), roomDetail.getNumberOfRooms(), roomDetail.getMaxAdults());
+    }
+}
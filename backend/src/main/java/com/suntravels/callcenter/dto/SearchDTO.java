@@ -3,6 +3,7 @@ package com.suntravels.callcenter.dto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -46,4 +47,30 @@ public class SearchDTO {
     @Valid
     private List<RoomRequirementDTO> roomRequirements;
 
+    /**
+     * The maximum number of contracts to return, the best ones according to {@link #sortBy}.
+     * Optional; without it every available contract is returned.
+     */
+    @Positive(message = "Limit must be positive")
+    private Integer limit;
+
+    /**
+     * The order of the returned contracts. Optional; defaults to {@link SortBy#TOTAL_PRICE} when a
+     * {@link #limit} is given, and to contract ID order otherwise.
+     */
+    private SortBy sortBy;
+
+    /**
+     * Creates a search returning every available contract, in contract ID order.
+     */
+    public SearchDTO(LocalDate checkInDate, Integer noOfNights, List<RoomRequirementDTO> roomRequirements) {
+        this(checkInDate, noOfNights, roomRequirements, null, null);
+    }
+
+    /**
+     * @return The order to return the contracts in, or null for contract ID order.
+     */
+    public SortBy effectiveSortBy() {
+        return sortBy == null && limit != null ? SortBy.TOTAL_PRICE : sortBy;
+    }
 }
@@ -0,0 +1,21 @@
+package com.suntravels.callcenter.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The orders in which an availability search can return its contracts.
+ */
+public enum SortBy {
+
+    /**
+     * Cheapest first, by {@link AvailableContractDTO#getTotalPrice()}; ties by hotel name.
+     */
+    @JsonProperty("totalPrice")
+    TOTAL_PRICE,
+
+    /**
+     * Alphabetically by hotel name, ignoring case; ties cheapest first.
+     */
+    @JsonProperty("hotelName")
+    HOTEL_NAME
+}
@@ -0,0 +1,17 @@
+package com.suntravels.callcenter.exception;
+
+/**
+ * Thrown when a CSV contract feed cannot be read at all, for example because its header is missing
+ * a required column.
+ */
+public class CsvFormatException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code CsvFormatException} with the specified error message.
+     *
+     * @param message the detail message explaining what is wrong with the file
+     */
+    public CsvFormatException(String message) {
+        super(message);
+    }
+}
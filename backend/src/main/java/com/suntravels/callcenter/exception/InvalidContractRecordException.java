@@ -0,0 +1,27 @@
+package com.suntravels.callcenter.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown while reading an import when one contract cannot be parsed but the rest of the input can
+ * still be read. The import reports the contract as failed and carries on with the next one.
+ */
+@Getter
+public class InvalidContractRecordException extends RuntimeException {
+
+    /**
+     * The hotel name of the unreadable contract, if it could be read.
+     */
+    private final String hotelName;
+
+    /**
+     * Constructs a new {@code InvalidContractRecordException}.
+     *
+     * @param hotelName the hotel name of the contract, or null if unknown
+     * @param message   the detail message explaining why the contract could not be parsed
+     */
+    public InvalidContractRecordException(String hotelName, String message) {
+        super(message);
+        this.hotelName = hotelName;
+    }
+}
@@ -0,0 +1,16 @@
+package com.suntravels.callcenter.exception;
+
+/**
+ * Thrown when a reservation asks for rooms that are not free on every night of its stay.
+ */
+public class RoomsUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code RoomsUnavailableException} with the specified error message.
+     *
+     * @param message the detail message explaining which rooms are unavailable
+     */
+    public RoomsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.model.Contract;
+
+/**
+ * Callback notified by {@link ContractIndex} after a committed contract change has been applied to the index.
+ * Spring beans implementing this interface are registered with the index automatically.
+ */
+public interface ContractChangeListener {
+
+    /**
+     * Called once the index reflects the change.
+     *
+     * @param previous the contract as it was indexed before the change, or null if it is new.
+     * @param current  the contract as it is indexed now, or null if it was deleted.
+     */
+    void contractChanged(Contract previous, Contract current);
+}
@@ -0,0 +1,130 @@
+package com.suntravels.callcenter.index;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval index over the validity period of contracts.
+ * <p>
+ * Contracts are kept sorted by start date, and a max segment tree over their end dates is built on top
+ * of that order. A "contracts covering [checkIn, checkOut]" query is a binary search for the last
+ * contract starting on or before check-in, followed by a walk of the tree that only descends into
+ * subtrees whose latest end date reaches the check-out date. That answers the query in
+ * O(log n + k) without touching the database.
+ */
+public final class ContractDateIndex {
+
+    private static final ContractDateIndex EMPTY = new ContractDateIndex(new IndexedContract[0]);
+
+    private final IndexedContract[] contracts;
+    private final int[] startDays;
+    private final int[] maxEndDays;
+
+    private ContractDateIndex(IndexedContract[] contracts) {
+        this.contracts = contracts;
+        this.startDays = new int[contracts.length];
+        for (int i = 0; i < contracts.length; i++) {
+            startDays[i] = (int) contracts[i].getContract().getStartDate().toEpochDay();
+        }
+        this.maxEndDays = new int[Math.max(1, 4 * contracts.length)];
+        if (contracts.length > 0) {
+            build(1, 0, contracts.length);
+        }
+    }
+
+    /**
+     * Builds an index over the given contracts.
+     *
+     * @param contracts the contracts to index; each must have a start and end date.
+     * @return a new index containing all the given contracts.
+     */
+    public static ContractDateIndex of(Collection<IndexedContract> contracts) {
+        if (contracts.isEmpty()) {
+            return EMPTY;
+        }
+        IndexedContract[] sorted = contracts.toArray(new IndexedContract[0]);
+        Arrays.sort(sorted, Comparator.comparing(indexed -> indexed.getContract().getStartDate()));
+        return new ContractDateIndex(sorted);
+    }
+
+    /**
+     * Returns an index that contains no contracts.
+     *
+     * @return the empty index.
+     */
+    public static ContractDateIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Finds all contracts that start on or before the check-in date and end on or after the check-out date.
+     * This is the same predicate as {@code ContractRepository.findContractsByDateRange}.
+     *
+     * @param checkInDate  The check-in date.
+     * @param checkOutDate The check-out date.
+     * @return The covering contracts ordered by contract ID, as the database would return them.
+     */
+    public List<IndexedContract> findCovering(LocalDate checkInDate, LocalDate checkOutDate) {
+        int candidates = upperBound((int) checkInDate.toEpochDay());
+        List<IndexedContract> result = new ArrayList<>();
+        if (candidates > 0) {
+            collect(1, 0, contracts.length, candidates, (int) checkOutDate.toEpochDay(), result);
+            result.sort(Comparator.comparing(indexed -> indexed.getContract().getContractId()));
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of contracts in the index.
+     */
+    public int size() {
+        return contracts.length;
+    }
+
+    private int build(int node, int from, int to) {
+        if (to - from == 1) {
+            maxEndDays[node] = (int) contracts[from].getContract().getEndDate().toEpochDay();
+        } else {
+            int mid = (from + to) >>> 1;
+            maxEndDays[node] = Math.max(build(2 * node, from, mid), build(2 * node + 1, mid, to));
+        }
+        return maxEndDays[node];
+    }
+
+    /**
+     * Reports every contract in positions [from, min(to, limit)) whose end date is on or after the given day.
+     */
+    private void collect(int node, int from, int to, int limit, int checkOutDay, List<IndexedContract> result) {
+        if (from >= limit || maxEndDays[node] < checkOutDay) {
+            return;
+        }
+        if (to - from == 1) {
+            result.add(contracts[from]);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        collect(2 * node, from, mid, limit, checkOutDay, result);
+        collect(2 * node + 1, mid, to, limit, checkOutDay, result);
+    }
+
+    /**
+     * @return The number of contracts whose start day is on or before the given day.
+     */
+    private int upperBound(int day) {
+        int low = 0;
+        int high = startDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startDays[mid] <= day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
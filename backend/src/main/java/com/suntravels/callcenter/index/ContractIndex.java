@@ -0,0 +1,255 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.repository.ContractRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory view of all committed contracts used by the availability search.
+ * <p>
+ * The index is loaded from the database on first use and is then kept current by
+ * {@link ContractIndexEventListener}, which applies every committed insert, update and delete of a
+ * {@link Contract} (including those made by {@code addContract}/{@code deleteContract}).
+ * Readers always see an immutable snapshot: a {@link ContractDateIndex} for date-range lookups, a
+ * {@link HotelNameIndex} for hotel-name searches and a {@link HotelNameTrie} for name suggestions.
+ * Changes only mark the snapshot as stale, and the next lookup rebuilds it once, so a burst of commits
+ * such as a bulk import costs a single rebuild.
+ * <p>
+ * A transaction that has written contracts but not yet committed cannot be answered from the index,
+ * so lookups inside such a transaction fall back to the database.
+ * <p>
+ * Every applied change is announced to the registered {@link ContractChangeListener}s, after the new
+ * snapshot has been published.
+ */
+@Component
+public class ContractIndex {
+
+    private final ContractRepository contractRepository;
+    private final List<ContractChangeListener> changeListeners;
+
+    /**
+     * Transaction resource key marking that the current transaction has uncommitted contract writes.
+     */
+    private final Object pendingWritesKey = new Object();
+
+    /**
+     * All indexed contracts by ID. Null until the index has been loaded; guarded by {@code this}.
+     */
+    private Map<Integer, IndexedContract> contracts;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Set when {@link #contracts} has changed since {@link #snapshot} was built.
+     */
+    private volatile boolean stale;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ContractIndex(ContractRepository contractRepository, List<ContractChangeListener> changeListeners) {
+        this.contractRepository = contractRepository;
+        this.changeListeners = changeListeners;
+    }
+
+    /**
+     * Finds all contracts that start on or before the check-in date and end on or after the check-out date.
+     *
+     * @param checkInDate  The check-in date.
+     * @param checkOutDate The check-out date.
+     * @return The covering contracts, with their room buckets, ordered by contract ID.
+     */
+    public List<IndexedContract> findContractsByDateRange(LocalDate checkInDate, LocalDate checkOutDate) {
+        flushQueuedWrites();
+        if (hasPendingWrites()) {
+            return contractRepository.findContractsByDateRange(checkInDate, checkOutDate).stream()
+                    .map(IndexedContract::of)
+                    .toList();
+        }
+        return snapshot().dateIndex().findCovering(checkInDate, checkOutDate);
+    }
+
+    /**
+     * Finds all contracts whose hotel name contains the given text, ignoring case.
+     *
+     * @param hotelName The text to search for.
+     * @return The matching contracts, ordered by contract ID.
+     */
+    public List<Contract> findContractsByHotelName(String hotelName) {
+        flushQueuedWrites();
+        if (hasPendingWrites()) {
+            return contractRepository.findByHotelName(hotelName);
+        }
+        return snapshot().nameIndex().findContaining(hotelName);
+    }
+
+    /**
+     * Suggests the names of hotels with committed contracts that start with the given prefix.
+     *
+     * @param prefix The text typed so far, compared ignoring case.
+     * @param limit  The maximum number of suggestions, at most {@link HotelNameTrie#TOP_K}.
+     * @return The hotel names, those with the most contracts first.
+     */
+    public List<String> suggestHotelNames(String prefix, int limit) {
+        return snapshot().nameTrie().suggest(prefix, limit);
+    }
+
+    /**
+     * Adds or replaces a committed contract in the index.
+     *
+     * @param contract the contract that was committed.
+     */
+    public synchronized void put(Contract contract) {
+        if (contracts == null) {
+            return;  // Not loaded yet; the initial load will read it from the database
+        }
+        IndexedContract previous = contracts.put(contract.getContractId(), IndexedContract.of(contract));
+        stale = true;
+        notifyListeners(previous != null ? previous.getContract() : null, contract);
+    }
+
+    /**
+     * Removes a committed contract deletion from the index.
+     *
+     * @param contractId the ID of the deleted contract.
+     */
+    public synchronized void remove(Integer contractId) {
+        IndexedContract previous = contracts != null ? contracts.remove(contractId) : null;
+        if (previous == null) {
+            return;
+        }
+        stale = true;
+        notifyListeners(previous.getContract(), null);
+    }
+
+    /**
+     * Applies committed changes to the room inventory of a contract, such as a reservation.
+     * <p>
+     * The new ledgers are published to the indexed contract in place, without rebuilding the snapshot,
+     * and the change is announced to the listeners as an update of the contract.
+     *
+     * @param contract the contract whose rooms were booked or released.
+     * @param ledgers  the new {@link com.suntravels.callcenter.model.RoomInventory} ledgers by room detail ID.
+     */
+    public void updateInventory(Contract contract, Map<Integer, byte[]> ledgers) {
+        IndexedContract indexed;
+        synchronized (this) {
+            // Waits for a load in progress, which may have read the ledgers before they were committed
+            indexed = contracts != null ? contracts.get(contract.getContractId()) : null;
+        }
+        if (indexed != null) {
+            ledgers.forEach(indexed::updateLedger);
+        }
+        notifyListeners(contract, contract);
+    }
+
+    /**
+     * Checks whether the contracts have been loaded, so that lookups outside a transaction are answered
+     * from memory without reading the database.
+     *
+     * @return false until the first lookup or {@link #load} has read the contracts.
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Loads the contracts from the database if that has not been done yet, e.g. ahead of the first lookup.
+     */
+    public void load() {
+        snapshot();
+    }
+
+    /**
+     * Records that the current transaction has written contracts that are not yet visible in the index.
+     * Lookups made later in the same transaction are answered by the database instead.
+     */
+    public void markPendingWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(pendingWritesKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(pendingWritesKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(pendingWritesKey);
+            }
+        });
+    }
+
+    /**
+     * Checks whether the current transaction has contract writes that the index does not reflect yet.
+     *
+     * @return true if lookups in this transaction must be answered by the database.
+     */
+    public boolean hasPendingWrites() {
+        return TransactionSynchronizationManager.hasResource(pendingWritesKey);
+    }
+
+    /**
+     * Checks whether lookups in the current transaction can be answered from the index, after flushing any
+     * contract writes it has queued.
+     *
+     * @return false if the transaction has contract writes that the index does not reflect yet.
+     */
+    public boolean isUpToDate() {
+        flushQueuedWrites();
+        return !hasPendingWrites();
+    }
+
+    /**
+     * Flushes writes that the current transaction has queued but not sent yet, so that they are seen by
+     * the pending write check. Contract IDs come from a sequence, so an insert is only sent on flush.
+     */
+    private void flushQueuedWrites() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !hasPendingWrites()) {
+            entityManager.flush();
+        }
+    }
+
+    private void notifyListeners(Contract previous, Contract current) {
+        for (ContractChangeListener listener : changeListeners) {
+            listener.contractChanged(previous, current);
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null && !stale ? current : refresh();
+    }
+
+    private synchronized Snapshot refresh() {
+        if (contracts == null) {
+            Map<Integer, IndexedContract> loaded = new HashMap<>();
+            for (Contract contract : contractRepository.findAll()) {
+                loaded.put(contract.getContractId(), IndexedContract.of(contract));
+            }
+            contracts = loaded;
+            stale = true;
+        }
+        if (stale) {
+            List<Contract> all = contracts.values().stream().map(IndexedContract::getContract).toList();
+            snapshot = new Snapshot(ContractDateIndex.of(contracts.values()), HotelNameIndex.of(all),
+                    HotelNameTrie.of(all));
+            stale = false;
+        }
+        return snapshot;
+    }
+
+    private record Snapshot(ContractDateIndex dateIndex, HotelNameIndex nameIndex, HotelNameTrie nameTrie) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.model.Contract;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate event listener that keeps the {@link ContractIndex} in sync with the database.
+ * <p>
+ * Committed inserts, updates and deletes of contracts are applied to the index, while rolled back
+ * ones are ignored. Writes that are flushed but not yet committed mark the running transaction so its
+ * own searches read from the database.
+ */
+@Component
+public class ContractIndexEventListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ContractIndex contractIndex;
+
+    @Autowired
+    public ContractIndexEventListener(EntityManagerFactory entityManagerFactory, ContractIndex contractIndex) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.contractIndex = contractIndex;
+    }
+
+    /**
+     * Registers this listener for committed contract changes, and a companion listener for flushed ones.
+     */
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        PendingWriteListener pendingWriteListener = new PendingWriteListener();
+        registry.appendListeners(EventType.POST_INSERT, pendingWriteListener);
+        registry.appendListeners(EventType.POST_UPDATE, pendingWriteListener);
+        registry.appendListeners(EventType.POST_DELETE, pendingWriteListener);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (isContract(event.getPersister())) {
+            contractIndex.put((Contract) event.getEntity());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (isContract(event.getPersister())) {
+            contractIndex.put((Contract) event.getEntity());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (isContract(event.getPersister())) {
+            contractIndex.remove((Integer) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rolled back, nothing was applied to the index
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back, nothing was applied to the index
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rolled back, nothing was applied to the index
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return isContract(persister);
+    }
+
+    private static boolean isContract(EntityPersister persister) {
+        return Contract.class.equals(persister.getMappedClass());
+    }
+
+    /**
+     * Marks the running transaction as soon as a contract write is flushed to the database.
+     */
+    private class PendingWriteListener implements PostInsertEventListener, PostUpdateEventListener,
+            PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            markIfContract(event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            markIfContract(event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            markIfContract(event.getPersister());
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        private void markIfContract(EntityPersister persister) {
+            if (isContract(persister)) {
+                contractIndex.markPendingWrites();
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.model.Contract;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable trigram index over hotel names for substring search.
+ * <p>
+ * Every contract is assigned a position in contract ID order, and each trigram (three consecutive
+ * characters) of a normalized hotel name maps to the sorted positions of the contracts whose name
+ * contains it. A query of three or more characters intersects the posting lists of its trigrams,
+ * shortest first, and only checks the remaining candidates with {@link String#contains}. Shorter
+ * queries fall back to checking every name, which is still done in memory.
+ * <p>
+ * Names are compared case-insensitively, like the {@code LIKE} query on MySQL's default collation.
+ */
+public final class HotelNameIndex {
+
+    private static final HotelNameIndex EMPTY = new HotelNameIndex(new Contract[0]);
+
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final Contract[] contracts;
+    private final String[] names;
+    private final Map<Long, int[]> postings;
+
+    private HotelNameIndex(Contract[] contracts) {
+        this.contracts = contracts;
+        this.names = new String[contracts.length];
+
+        Map<Long, PostingList> building = new HashMap<>();
+        for (int position = 0; position < contracts.length; position++) {
+            names[position] = normalize(contracts[position].getHotelName());
+            String name = names[position];
+            for (int i = 0; i + 3 <= name.length(); i++) {
+                // Positions are added in increasing order, so a repeated trigram is always the last one added
+                building.computeIfAbsent(trigram(name, i), key -> new PostingList()).addOnce(position);
+            }
+        }
+
+        this.postings = new HashMap<>(building.size() * 4 / 3 + 1);
+        building.forEach((key, list) -> postings.put(key, list.toArray()));
+    }
+
+    /**
+     * Builds an index over the hotel names of the given contracts.
+     *
+     * @param contracts the contracts to index; each must have a hotel name.
+     * @return a new index containing all the given contracts.
+     */
+    public static HotelNameIndex of(Collection<Contract> contracts) {
+        if (contracts.isEmpty()) {
+            return EMPTY;
+        }
+        Contract[] sorted = contracts.toArray(new Contract[0]);
+        Arrays.sort(sorted, Comparator.comparing(Contract::getContractId));
+        return new HotelNameIndex(sorted);
+    }
+
+    /**
+     * Returns an index that contains no contracts.
+     *
+     * @return the empty index.
+     */
+    public static HotelNameIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Finds all contracts whose hotel name contains the given text, ignoring case.
+     *
+     * @param text The text to search for.
+     * @return The matching contracts, ordered by contract ID.
+     */
+    public List<Contract> findContaining(String text) {
+        String query = normalize(text);
+        List<Contract> result = new ArrayList<>();
+        if (query.length() < 3) {
+            for (int position = 0; position < contracts.length; position++) {
+                if (names[position].contains(query)) {
+                    result.add(contracts[position]);
+                }
+            }
+            return result;
+        }
+
+        for (int position : candidates(query)) {
+            if (names[position].contains(query)) {
+                result.add(contracts[position]);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return contracts.length;
+    }
+
+    /**
+     * Intersects the posting lists of all trigrams of the query.
+     *
+     * @return The positions of the contracts whose name contains every trigram of the query.
+     */
+    private int[] candidates(String query) {
+        int count = query.length() - 2;
+        int[][] lists = new int[count][];
+        for (int i = 0; i < count; i++) {
+            lists[i] = postings.getOrDefault(trigram(query, i), NO_POSTINGS);
+            if (lists[i].length == 0) {
+                return NO_POSTINGS;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        // Copied, as the intersection is written in place
+        int[] candidates = lists[0].clone();
+        int size = candidates.length;
+        for (int i = 1; i < count && size > 0; i++) {
+            size = intersect(candidates, size, lists[i]);
+        }
+        return Arrays.copyOf(candidates, size);
+    }
+
+    /**
+     * Keeps those of the first {@code size} candidates that also occur in {@code list}, moving them to
+     * the front of {@code candidates}. Both arrays are sorted. Each candidate is found with a galloping
+     * search from the previous match, so the cost grows with the number of candidates rather than
+     * with the length of the list.
+     *
+     * @return The number of candidates kept.
+     */
+    private static int intersect(int[] candidates, int size, int[] list) {
+        int kept = 0;
+        int from = 0;
+        for (int c = 0; c < size && from < list.length; c++) {
+            int candidate = candidates[c];
+            int step = 1;
+            int to = from;
+            while (to < list.length && list[to] < candidate) {
+                from = to + 1;
+                to += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(list, from, Math.min(to + 1, list.length), candidate);
+            if (found >= 0) {
+                candidates[kept++] = candidate;
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    private static long trigram(String name, int start) {
+        return ((long) name.charAt(start) << 32) | ((long) name.charAt(start + 1) << 16) | name.charAt(start + 2);
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Growable list of sorted, distinct contract positions.
+     */
+    private static final class PostingList {
+
+        private int[] positions = new int[4];
+        private int size;
+
+        void addOnce(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.model.Contract;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable radix tree of hotel names for prefix suggestions.
+ * <p>
+ * Names are normalized (lower case, surrounding whitespace removed, inner whitespace collapsed) and
+ * each distinct hotel is stored once. Chains of single-child nodes are merged into one edge, so the
+ * tree has at most two nodes per hotel. Every node keeps its {@link #TOP_K} best suggestions, ranked
+ * by the number of contracts of the hotel and then alphabetically, so a lookup only walks the prefix
+ * and returns a precomputed list.
+ */
+public final class HotelNameTrie {
+
+    /**
+     * The number of suggestions kept per node, and so the most a lookup can return.
+     */
+    public static final int TOP_K = 10;
+
+    private static final HotelNameTrie EMPTY = new HotelNameTrie(new Node(new char[0], new String[0], new Node[0], List.of()));
+
+    private static final Comparator<Hotel> RANKING =
+            Comparator.comparingInt(Hotel::contracts).reversed().thenComparing(Hotel::key);
+
+    private final Node root;
+
+    private HotelNameTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Builds a trie of the hotel names of the given contracts.
+     *
+     * @param contracts the contracts whose hotels to index.
+     * @return a new trie containing every distinct hotel name.
+     */
+    public static HotelNameTrie of(Collection<Contract> contracts) {
+        Map<String, Hotel> hotels = new HashMap<>();
+        for (Contract contract : contracts) {
+            String key = normalize(contract.getHotelName()).strip();
+            if (key.isEmpty()) {
+                continue;
+            }
+            // The hotel is shown as spelled in its oldest contract
+            hotels.merge(key, new Hotel(key, contract.getHotelName().strip(), contract.getContractId(), 1),
+                    Hotel::merge);
+        }
+        if (hotels.isEmpty()) {
+            return EMPTY;
+        }
+        Hotel[] sorted = hotels.values().toArray(new Hotel[0]);
+        Arrays.sort(sorted, Comparator.comparing(Hotel::key));
+        return new HotelNameTrie(build(sorted, 0, sorted.length, 0));
+    }
+
+    /**
+     * Returns a trie that contains no hotels.
+     *
+     * @return the empty trie.
+     */
+    public static HotelNameTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Suggests hotel names starting with the given prefix, ignoring case and repeated whitespace.
+     *
+     * @param prefix The text typed so far; an empty prefix suggests the hotels with the most contracts.
+     * @param limit  The maximum number of suggestions, at most {@link #TOP_K}.
+     * @return The best matching hotel names, best first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix).stripLeading();
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            int child = Arrays.binarySearch(node.firstChars, key.charAt(matched));
+            if (child < 0) {
+                return List.of();
+            }
+            String label = node.labels[child];
+            int length = Math.min(label.length(), key.length() - matched);
+            if (!key.regionMatches(matched, label, 0, length)) {
+                return List.of();
+            }
+            matched += length;
+            node = node.children[child];
+        }
+        return node.top.size() <= limit ? node.top : node.top.subList(0, limit);
+    }
+
+    /**
+     * Builds the node for the hotels in {@code sorted[from, to)}, which share their first {@code depth}
+     * characters.
+     */
+    private static Node build(Hotel[] sorted, int from, int to, int depth) {
+        List<Hotel> candidates = new ArrayList<>();
+        if (sorted[from].key().length() == depth) {
+            candidates.add(sorted[from++]);
+        }
+
+        List<Character> firstChars = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+        List<List<Hotel>> childTops = new ArrayList<>();
+        while (from < to) {
+            char first = sorted[from].key().charAt(depth);
+            int end = from + 1;
+            while (end < to && sorted[end].key().charAt(depth) == first) {
+                end++;
+            }
+            // The keys are sorted, so the group's common prefix is that of its first and last key
+            int common = commonPrefix(sorted[from].key(), sorted[end - 1].key());
+            Node child = build(sorted, from, end, common);
+            firstChars.add(first);
+            labels.add(sorted[from].key().substring(depth, common));
+            children.add(child);
+            childTops.add(child.hotels);
+            from = end;
+        }
+
+        for (List<Hotel> top : childTops) {
+            candidates.addAll(top);
+        }
+        candidates.sort(RANKING);
+        List<Hotel> top = List.copyOf(candidates.subList(0, Math.min(TOP_K, candidates.size())));
+
+        char[] chars = new char[firstChars.size()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = firstChars.get(i);
+        }
+        return new Node(chars, labels.toArray(new String[0]), children.toArray(new Node[0]), top);
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * A distinct hotel: its normalized key, the name shown for it, and how many contracts it has.
+     */
+    private record Hotel(String key, String displayName, int oldestContractId, int contracts) {
+
+        Hotel merge(Hotel other) {
+            Hotel oldest = oldestContractId <= other.oldestContractId ? this : other;
+            return new Hotel(key, oldest.displayName, oldest.oldestContractId, contracts + other.contracts);
+        }
+    }
+
+    private static final class Node {
+
+        /**
+         * The first character of each edge label, in ascending order, for binary search.
+         */
+        final char[] firstChars;
+        final String[] labels;
+        final Node[] children;
+
+        /**
+         * The best hotels below this node, kept to build the parent's list.
+         */
+        final List<Hotel> hotels;
+        final List<String> top;
+
+        Node(char[] firstChars, String[] labels, Node[] children, List<Hotel> hotels) {
+            this.firstChars = firstChars;
+            this.labels = labels;
+            this.children = children;
+            this.hotels = hotels;
+            this.top = hotels.stream().map(Hotel::displayName).toList();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.model.RoomInventory;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A contract together with its room details grouped into capacity buckets.
+ * <p>
+ * Room details are grouped by {@code maxAdults}, and each bucket is sorted by {@code numberOfRooms}
+ * in descending order. The rooms that satisfy a requirement are therefore a prefix of a single bucket:
+ * finding them is a bucket lookup followed by a scan that stops at the first room with too few rooms.
+ * The buckets are built once, when the contract is loaded into or saved to the index.
+ * <p>
+ * {@code numberOfRooms} is the most a room type can offer on any night; the rooms actually free on the
+ * nights of a stay are checked against each room's {@link RoomInventory} ledger. The ledgers are held
+ * next to the buckets rather than read from the room details, so that a booking can publish a new ledger
+ * with {@link #updateLedger} without rebuilding the index.
+ */
+public final class IndexedContract {
+
+    private static final RoomDetail[] NO_ROOMS = new RoomDetail[0];
+    private static final AtomicReferenceArray<byte[]> NO_LEDGERS = new AtomicReferenceArray<>(0);
+
+    private final Contract contract;
+
+    /**
+     * Distinct room capacities in ascending order; {@code buckets[i]} holds the rooms for {@code capacities[i]}.
+     */
+    private final int[] capacities;
+    private final RoomDetail[][] buckets;
+
+    /**
+     * The current ledger of every room, in the positions of {@link #buckets}.
+     */
+    private final AtomicReferenceArray<byte[]>[] ledgers;
+
+    /**
+     * The contract's start date as an epoch day, the origin of its room inventory nights.
+     */
+    private final long startDay;
+
+    private IndexedContract(Contract contract) {
+        this.contract = contract;
+        this.startDay = contract.getStartDate() != null ? contract.getStartDate().toEpochDay() : 0;
+        List<RoomDetail> roomDetails = contract.getRoomDetails() != null ? contract.getRoomDetails() : List.of();
+
+        // Stable sort keeps the contract's own room order among rooms of equal availability
+        RoomDetail[] sorted = roomDetails.toArray(NO_ROOMS);
+        Arrays.sort(sorted, Comparator.comparingInt(RoomDetail::getMaxAdults)
+                .thenComparing(Comparator.comparingInt(RoomDetail::getNumberOfRooms).reversed()));
+
+        int bucketCount = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i].getMaxAdults() != sorted[i - 1].getMaxAdults()) {
+                bucketCount++;
+            }
+        }
+        this.capacities = new int[bucketCount];
+        this.buckets = new RoomDetail[bucketCount][];
+        @SuppressWarnings("unchecked")
+        AtomicReferenceArray<byte[]>[] bucketLedgers = new AtomicReferenceArray[bucketCount];
+        this.ledgers = bucketLedgers;
+        int bucket = 0;
+        int bucketStart = 0;
+        for (int i = 1; i <= sorted.length; i++) {
+            if (i == sorted.length || sorted[i].getMaxAdults() != sorted[bucketStart].getMaxAdults()) {
+                capacities[bucket] = sorted[bucketStart].getMaxAdults();
+                buckets[bucket] = Arrays.copyOfRange(sorted, bucketStart, i);
+                ledgers[bucket] = new AtomicReferenceArray<>(i - bucketStart);
+                for (int room = bucketStart; room < i; room++) {
+                    ledgers[bucket].set(room - bucketStart, sorted[room].getRemainingRooms());
+                }
+                bucket++;
+                bucketStart = i;
+            }
+        }
+    }
+
+    /**
+     * Builds the capacity buckets for the given contract.
+     *
+     * @param contract the contract to index.
+     * @return the indexed contract.
+     */
+    public static IndexedContract of(Contract contract) {
+        return new IndexedContract(contract);
+    }
+
+    /**
+     * @return The indexed contract entity.
+     */
+    public Contract getContract() {
+        return contract;
+    }
+
+    /**
+     * @param date A date within the contract.
+     * @return The night of the contract starting on that date, as used by {@link RoomInventory}.
+     */
+    public int nightOf(LocalDate date) {
+        return (int) (date.toEpochDay() - startDay);
+    }
+
+    /**
+     * Returns the rooms accommodating exactly the given number of adults, most available first.
+     * Every room able to provide {@code n} rooms comes before every room that cannot, so callers
+     * stop scanning at the first room whose {@code numberOfRooms} is below what they need.
+     * <p>
+     * The returned array is shared and must not be modified.
+     *
+     * @param maxAdults the number of adults per room.
+     * @return the bucket for that capacity, or an empty array if the contract has no such rooms.
+     */
+    public RoomDetail[] roomsFor(int maxAdults) {
+        int position = Arrays.binarySearch(capacities, maxAdults);
+        return position >= 0 ? buckets[position] : NO_ROOMS;
+    }
+
+    /**
+     * Returns the current {@link RoomInventory} ledgers of the rooms accommodating the given number of
+     * adults, in the order of {@link #roomsFor}.
+     *
+     * @param maxAdults the number of adults per room.
+     * @return the ledgers of that bucket, or an empty array if the contract has no such rooms.
+     */
+    public AtomicReferenceArray<byte[]> ledgersFor(int maxAdults) {
+        int position = Arrays.binarySearch(capacities, maxAdults);
+        return position >= 0 ? ledgers[position] : NO_LEDGERS;
+    }
+
+    /**
+     * Publishes the ledger of a room after rooms have been booked or released.
+     *
+     * @param roomDetailId the ID of the room detail.
+     * @param ledger       its new ledger.
+     * @return false if the contract has no such room.
+     */
+    public boolean updateLedger(Integer roomDetailId, byte[] ledger) {
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            for (int room = 0; room < buckets[bucket].length; room++) {
+                if (roomDetailId.equals(buckets[bucket][room].getRoomDetailId())) {
+                    ledgers[bucket].set(room, ledger);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
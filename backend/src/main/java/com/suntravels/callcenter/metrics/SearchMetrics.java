@@ -0,0 +1,98 @@
+package com.suntravels.callcenter.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters of the availability search.
+ * <p>
+ * Each search is broken down into the phases of {@link Phase}, timed by {@code callcenter.search.phase}
+ * with a {@code phase} tag. {@code callcenter.search.candidates} counts the contracts covering the stay
+ * that were examined, and {@code callcenter.search.results} those that could fulfil every requirement.
+ */
+@Component
+public class SearchMetrics {
+
+    /**
+     * The phases of an availability search.
+     */
+    public enum Phase {
+        /**
+         * Looking up the contracts that cover the stay, in the index or the database.
+         */
+        FETCH,
+        /**
+         * Matching the room requirements against each candidate contract and pricing the rooms.
+         */
+        EVALUATE,
+        /**
+         * Building the result DTOs of the available contracts.
+         */
+        BUILD,
+        /**
+         * Writing the result to the response as JSON.
+         */
+        SERIALIZE
+    }
+
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Counter candidates;
+    private final Counter results;
+
+    @Autowired
+    public SearchMetrics(MeterRegistry meterRegistry) {
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder("callcenter.search.phase")
+                    .description("Time spent in one phase of an availability search")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.candidates = Counter.builder("callcenter.search.candidates")
+                .description("Contracts covering the stay that were examined by availability searches")
+                .register(meterRegistry);
+        this.results = Counter.builder("callcenter.search.results")
+                .description("Contracts returned by availability searches")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs and times one phase of a search.
+     *
+     * @param phase The phase being run.
+     * @param work  The work of the phase.
+     * @return The result of the work.
+     */
+    public <T> T time(Phase phase, Supplier<T> work) {
+        return phaseTimers.get(phase).record(work);
+    }
+
+    /**
+     * Records the time of a phase that was measured by the caller, e.g. summed over several steps.
+     *
+     * @param phase The phase that was run.
+     * @param nanos The time spent in the phase, in nanoseconds.
+     */
+    public void record(Phase phase, long nanos) {
+        phaseTimers.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records how many contracts one search examined and how many it returned.
+     *
+     * @param examined The number of candidate contracts evaluated.
+     * @param returned The number of available contracts found.
+     */
+    public void recordCandidates(int examined, int returned) {
+        candidates.increment(examined);
+        results.increment(returned);
+    }
+}
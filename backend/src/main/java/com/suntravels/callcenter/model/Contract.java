@@ -1,32 +1,53 @@
 package com.suntravels.callcenter.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Entity representing a contract.
  * This class maps to a database table and is used to persist contract data.
+ * Contracts and their room detail lists are kept in the second-level cache, see {@code EntityCacheConfig}.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contract")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Contract {
 
+    /**
+     * Generated from a pooled sequence so that Hibernate can batch inserts;
+     * each sequence call reserves a block of 50 IDs.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contract_seq")
+    @SequenceGenerator(name = "contract_seq", sequenceName = "contract_seq", allocationSize = 50)
     private Integer contractId;
 
     @Column(nullable = false)
     private String hotelName;
 
+    /**
+     * The hotel name in lower case, for case-insensitive name lookups that do not lower every stored name.
+     * Derived from {@link #hotelName} whenever the contract is saved.
+     */
+    @JsonIgnore
+    @Column(nullable = false)
+    private String hotelNameNormalized;
+
     @Column(nullable = false)
     private LocalDate startDate;
 
@@ -41,9 +62,17 @@ public class Contract {
      * Each room detail is mapped to the contract and is loaded eagerly.
      * CascadeType.ALL ensures that operations on the contract (like saving or deleting)
      * are propagated to the associated room details.
+     * Repository queries fetch them with a join; any other query loads them for up to 50 contracts at a time.
      */
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contract.room-details")
     @JoinColumn(name= "contract_id" , referencedColumnName = "contractId")
     private List<RoomDetail> roomDetails;
 
+    @PrePersist
+    @PreUpdate
+    void normalizeHotelName() {
+        hotelNameNormalized = hotelName == null ? null : hotelName.toLowerCase(Locale.ROOT);
+    }
 }
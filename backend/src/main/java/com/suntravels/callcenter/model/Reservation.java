@@ -0,0 +1,67 @@
+package com.suntravels.callcenter.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Entity representing a reservation of rooms of one contract for a stay.
+ * The hotel name and room types are copied from the contract, so a reservation stays readable after its
+ * contract has been deleted.
+ * <p>
+ * A reservation with a {@link #heldUntil} time is a hold: its rooms are taken, but they are given back
+ * when the hold expires unless it has been confirmed by then.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class Reservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservation_seq", allocationSize = 50)
+    private Integer reservationId;
+
+    @Column(nullable = false)
+    private Integer contractId;
+
+    @Column(nullable = false)
+    private String hotelName;
+
+    @Column(nullable = false)
+    private LocalDate checkInDate;
+
+    @Column(nullable = false)
+    private int noOfNights;
+
+    /**
+     * The price of all reserved rooms for the whole stay, including the contract's markup.
+     */
+    @Column(nullable = false)
+    private double totalPrice;
+
+    /**
+     * The time at which an unconfirmed hold expires; null once the reservation is confirmed.
+     */
+    private Instant heldUntil;
+
+    /**
+     * Compared and incremented when a hold is confirmed or expires, so that only one of them succeeds.
+     */
+    @JsonIgnore
+    @Version
+    private Integer version;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "reservation_room", joinColumns = @JoinColumn(name = "reservation_id"))
+    private List<ReservedRoom> rooms;
+}
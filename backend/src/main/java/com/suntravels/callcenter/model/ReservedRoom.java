@@ -0,0 +1,34 @@
+package com.suntravels.callcenter.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The rooms of one room type taken by a {@link Reservation}.
+ */
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReservedRoom {
+
+    @Column(nullable = false)
+    private Integer roomDetailId;
+
+    @Column(nullable = false)
+    private String roomType;
+
+    @Column(nullable = false)
+    private int numberOfRooms;
+
+    /**
+     * The price of these rooms for the whole stay, including the contract's markup.
+     */
+    @Column(nullable = false)
+    private double totalPrice;
+}
@@ -1,24 +1,33 @@
 package com.suntravels.callcenter.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity representing room details for a contract.
  * This class maps to a database table and is used to persist room-specific data for contracts.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room-detail")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class RoomDetail {
 
+    /**
+     * Pooled sequence like {@link Contract#getContractId()}, so room details are batch inserted with their contract.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_detail_seq")
+    @SequenceGenerator(name = "room_detail_seq", sequenceName = "room_detail_seq", allocationSize = 50)
     private Integer roomDetailId;
 
     @Column(nullable = false)
@@ -33,4 +42,24 @@ public class RoomDetail {
     @Column(nullable = false)
     private int maxAdults;
 
+    /**
+     * The rooms still free on each night of the contract, encoded as described in {@link RoomInventory}.
+     * Null until a room of this type is first sold. A ledger is never modified in place, only replaced.
+     */
+    @JsonIgnore
+    @Column(length = RoomInventory.MAX_NIGHTS * 4)
+    private byte[] remainingRooms;
+
+    /**
+     * Incremented on every update, so that replacing {@link #remainingRooms} is a compare-and-set: a
+     * ledger changed by another application instance since it was read fails the update.
+     */
+    @JsonIgnore
+    @Version
+    private Integer version;
+
+    public RoomDetail(Integer roomDetailId, String roomType, double pricePerPerson, int numberOfRooms, int maxAdults) {
+        this(roomDetailId, roomType, pricePerPerson, numberOfRooms, maxAdults, null, null);
+    }
+
 }
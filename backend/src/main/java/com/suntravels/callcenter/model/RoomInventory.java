@@ -0,0 +1,119 @@
+package com.suntravels.callcenter.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+
+/**
+ * The per-night inventory of one room type, as stored in {@link RoomDetail#getRemainingRooms()}.
+ * <p>
+ * The ledger holds the number of rooms still free on each night of the contract, as one 4-byte count per
+ * night, night 0 being the contract's start date. A null ledger means no room has been sold yet, so all
+ * {@code numberOfRooms} are free on every night. Counts are read in place, without decoding the ledger,
+ * so checking a stay is a scan over a contiguous slice that allocates nothing.
+ * <p>
+ * Ledgers are never modified once built: {@link #take} returns a new one. A reader holding a ledger
+ * therefore always sees a consistent inventory.
+ */
+public final class RoomInventory {
+
+    /**
+     * The longest contract, in nights, whose ledger fits in the {@code remaining_rooms} column.
+     */
+    public static final int MAX_NIGHTS = 4096;
+
+    private static final VarHandle NIGHTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private RoomInventory() {
+    }
+
+    /**
+     * @return The night of the contract that starts on the given date, counting the contract's start date as 0.
+     */
+    public static int night(LocalDate contractStartDate, LocalDate date) {
+        return (int) (date.toEpochDay() - contractStartDate.toEpochDay());
+    }
+
+    /**
+     * Finds the number of rooms free on every night of a stay.
+     *
+     * @param ledger        The ledger, or null if no room has been sold.
+     * @param numberOfRooms The number of rooms of the type.
+     * @param firstNight    The first night of the stay, see {@link #night}.
+     * @param nights        The number of nights of the stay.
+     * @return The smallest number of free rooms over the nights of the stay.
+     */
+    public static int remaining(byte[] ledger, int numberOfRooms, int firstNight, int nights) {
+        if (ledger == null) {
+            return numberOfRooms;
+        }
+        int remaining = numberOfRooms;
+        for (int offset = firstNight << 2, end = (firstNight + nights) << 2; offset < end; offset += 4) {
+            remaining = Math.min(remaining, (int) NIGHTS.get(ledger, offset));
+        }
+        return remaining;
+    }
+
+    /**
+     * Checks whether the given number of rooms is free on every night of a stay, stopping at the first
+     * night that is short.
+     *
+     * @param ledger        The ledger, or null if no room has been sold.
+     * @param numberOfRooms The number of rooms of the type.
+     * @param firstNight    The first night of the stay, see {@link #night}.
+     * @param nights        The number of nights of the stay.
+     * @param rooms         The number of rooms needed.
+     * @return true if every night of the stay has at least {@code rooms} rooms free.
+     */
+    public static boolean hasRooms(byte[] ledger, int numberOfRooms, int firstNight, int nights, int rooms) {
+        if (ledger == null) {
+            return numberOfRooms >= rooms;
+        }
+        for (int offset = firstNight << 2, end = (firstNight + nights) << 2; offset < end; offset += 4) {
+            if ((int) NIGHTS.get(ledger, offset) < rooms) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes rooms out of the inventory for every night of a stay.
+     *
+     * @param ledger         The current ledger, or null if no room has been sold.
+     * @param numberOfRooms  The number of rooms of the type.
+     * @param contractNights The number of nights of the contract, at most {@link #MAX_NIGHTS}.
+     * @param firstNight     The first night of the stay, see {@link #night}.
+     * @param nights         The number of nights of the stay.
+     * @param rooms          The number of rooms to take; negative to give rooms back.
+     * @return The new ledger, or null if some night of the stay has fewer than {@code rooms} rooms free.
+     * @throws IllegalArgumentException if the stay is not within the contract, or the contract is too long.
+     */
+    public static byte[] take(byte[] ledger, int numberOfRooms, int contractNights, int firstNight, int nights,
+                              int rooms) {
+        if (contractNights > MAX_NIGHTS) {
+            throw new IllegalArgumentException("Contracts of more than " + MAX_NIGHTS + " nights have no inventory");
+        }
+        if (firstNight < 0 || nights <= 0 || firstNight + nights > contractNights) {
+            throw new IllegalArgumentException("Nights " + firstNight + " to " + (firstNight + nights)
+                    + " are not within a contract of " + contractNights + " nights");
+        }
+        if (!hasRooms(ledger, numberOfRooms, firstNight, nights, rooms)) {
+            return null;
+        }
+        byte[] taken;
+        if (ledger != null) {
+            taken = ledger.clone();
+        } else {
+            taken = new byte[contractNights << 2];
+            for (int offset = 0; offset < taken.length; offset += 4) {
+                NIGHTS.set(taken, offset, numberOfRooms);
+            }
+        }
+        for (int offset = firstNight << 2, end = (firstNight + nights) << 2; offset < end; offset += 4) {
+            NIGHTS.set(taken, offset, Math.min((int) NIGHTS.get(taken, offset) - rooms, numberOfRooms));
+        }
+        return taken;
+    }
+}
@@ -0,0 +1,33 @@
+package com.suntravels.callcenter.repository;
+
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Availability search evaluated by the database, mixed into {@link ContractRepository}.
+ */
+public interface AvailabilityRepository {
+
+    /**
+     * Finds the rooms of the contracts that cover the stay and can fulfil every room requirement.
+     * <p>
+     * A contract qualifies if, for each requirement, it has a room type for exactly the required number of
+     * adults with at least the required number of rooms. Only the room types that fulfil some requirement
+     * are returned, so contracts and rooms that cannot be booked never leave the database.
+     * <p>
+     * The number of rooms compared is a room type's total; the rooms already sold on the nights of the stay
+     * are in each room's {@link com.suntravels.callcenter.model.RoomInventory} ledger, which the caller
+     * checks.
+     *
+     * @param checkInDate      The check-in date.
+     * @param checkOutDate     The check-out date.
+     * @param roomRequirements The room requirements of the search; must not be empty.
+     * @return The qualifying rooms, ordered by contract ID and then by number of rooms, most first.
+     */
+    @Transactional(readOnly = true)
+    List<AvailableRoomView> findAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate,
+                                               List<RoomRequirementDTO> roomRequirements);
+}
@@ -0,0 +1,81 @@
+package com.suntravels.callcenter.repository;
+
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria implementation of {@link AvailabilityRepository}.
+ * <p>
+ * The number of requirements varies per search, so the query is built with one {@code EXISTS} subquery
+ * per distinct requirement, correlated to the outer contract:
+ * <pre>
+ * SELECT c.contractId, c.hotelName, c.markUpRate, c.startDate, r.roomType, r.pricePerPerson, r.numberOfRooms,
+ *        r.maxAdults, r.remainingRooms
+ * FROM Contract c JOIN c.roomDetails r
+ * WHERE c.startDate &lt;= :checkIn AND c.endDate &gt;= :checkOut
+ *   AND EXISTS (SELECT 1 FROM c.roomDetails r1 WHERE r1.maxAdults = :adults1 AND r1.numberOfRooms &gt;= :rooms1)
+ *   AND ...
+ *   AND ((r.maxAdults = :adults1 AND r.numberOfRooms &gt;= :rooms1) OR ...)
+ * ORDER BY c.contractId, r.numberOfRooms DESC, r.roomDetailId
+ * </pre>
+ */
+public class AvailabilityRepositoryImpl implements AvailabilityRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AvailableRoomView> findAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate,
+                                                      List<RoomRequirementDTO> roomRequirements) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AvailableRoomView> query = cb.createQuery(AvailableRoomView.class);
+        Root<Contract> contract = query.from(Contract.class);
+        Join<Contract, RoomDetail> room = contract.join("roomDetails");
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.lessThanOrEqualTo(contract.get("startDate"), checkInDate));
+        where.add(cb.greaterThanOrEqualTo(contract.get("endDate"), checkOutDate));
+
+        // Requirements asking for the same rooms need to be checked only once
+        Set<RoomRequirementDTO> distinct = new LinkedHashSet<>(roomRequirements);
+        List<Predicate> fulfilsSome = new ArrayList<>(distinct.size());
+        for (RoomRequirementDTO requirement : distinct) {
+            Subquery<Integer> fulfilling = query.subquery(Integer.class);
+            Join<Contract, RoomDetail> candidate = fulfilling.correlate(contract).join("roomDetails");
+            fulfilling.select(candidate.get("roomDetailId")).where(fulfils(cb, candidate, requirement));
+            where.add(cb.exists(fulfilling));
+            fulfilsSome.add(fulfils(cb, room, requirement));
+        }
+        where.add(cb.or(fulfilsSome.toArray(new Predicate[0])));
+
+        query.select(cb.construct(AvailableRoomView.class,
+                        contract.get("contractId"), contract.get("hotelName"), contract.get("markUpRate"),
+                        contract.get("startDate"), room.get("roomType"), room.get("pricePerPerson"),
+                        room.get("numberOfRooms"), room.get("maxAdults"), room.get("remainingRooms")))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.asc(contract.get("contractId")), cb.desc(room.get("numberOfRooms")),
+                        cb.asc(room.get("roomDetailId")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static Predicate fulfils(CriteriaBuilder cb, From<?, RoomDetail> room, RoomRequirementDTO requirement) {
+        return cb.and(cb.equal(room.get("maxAdults"), requirement.getMaxAdults()),
+                cb.greaterThanOrEqualTo(room.get("numberOfRooms"), requirement.getNumberOfRooms()));
+    }
+}
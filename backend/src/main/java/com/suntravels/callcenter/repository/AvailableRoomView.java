@@ -0,0 +1,23 @@
+package com.suntravels.callcenter.repository;
+
+import com.suntravels.callcenter.model.RoomInventory;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of one room of a contract, with just the columns the availability search needs.
+ *
+ * @param contractId     The ID of the contract offering the room.
+ * @param hotelName      The hotel of the contract.
+ * @param markUpRate     The markup of the contract, in percent.
+ * @param startDate      The start date of the contract, the first night of the room's inventory.
+ * @param roomType       The room type.
+ * @param pricePerPerson The price per adult and night.
+ * @param numberOfRooms  The number of rooms of this type.
+ * @param maxAdults      The number of adults a room accommodates.
+ * @param remainingRooms The rooms free on each night, see {@link RoomInventory}; null if none was sold.
+ */
+public record AvailableRoomView(Integer contractId, String hotelName, Double markUpRate, LocalDate startDate,
+                                String roomType, double pricePerPerson, int numberOfRooms, int maxAdults,
+                                byte[] remainingRooms) {
+}
@@ -1,29 +1,83 @@
 package com.suntravels.callcenter.repository;
 
 import com.suntravels.callcenter.model.Contract;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing and manipulating Contract entities in the database.
- * Extends JpaRepository to provide CRUD operations and custom query methods.
+ * <p>
+ * Every query returning contracts fetches their room details in the same statement, through an entity
+ * graph or a join fetch; otherwise the eager collection is loaded with one extra query per contract.
+ * Extends JpaRepository to provide CRUD operations and custom query methods,
+ * {@link AvailabilityRepository} for the availability search evaluated in SQL, and
+ * {@link ContractViewRepository} for reading contracts without hydrating entities.
+ * <p>
+ * The name and date range queries are cacheable: their results are kept in the query cache as contract
+ * IDs, whose contracts then come from the second-level cache. Any write to the contract or room detail
+ * tables through Hibernate invalidates them.
  */
 @Repository
-public interface ContractRepository extends JpaRepository<Contract,Integer> {
+public interface ContractRepository extends JpaRepository<Contract,Integer>, AvailabilityRepository,
+        ContractViewRepository {
 
-    @Query("SELECT c FROM Contract c WHERE c.hotelName LIKE %:hotelName%")
-    List<Contract> findByHotelName(@Param("hotelName") String hotelName);
+    /**
+     * Fetches all contracts with their room details in a single query.
+     *
+     * @return all contracts.
+     */
+    @Override
+    @EntityGraph(attributePaths = "roomDetails")
+    List<Contract> findAll();
 
+    /**
+     * Finds the contracts whose hotel name contains the given text, ignoring case.
+     *
+     * @param hotelName the text to search for.
+     * @return the matching contracts with their room details.
+     */
+    @EntityGraph(attributePaths = "roomDetails")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Contract c WHERE c.hotelNameNormalized LIKE CONCAT('%', LOWER(:hotelName), '%')")
+    List<Contract> findByHotelName(@Param("hotelName") String hotelName);
 
-    @Query("SELECT c FROM Contract c WHERE c.startDate <= :checkInDate AND c.endDate >= :checkOutDate")
+    /**
+     * Finds the contracts covering the whole stay.
+     *
+     * @param checkInDate  the first night of the stay.
+     * @param checkOutDate the day the stay ends.
+     * @return the contracts starting on or before check-in and ending on or after check-out, with their room
+     * details, ordered by contract ID.
+     */
+    @EntityGraph(attributePaths = "roomDetails")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Contract c WHERE c.startDate <= :checkInDate AND c.endDate >= :checkOutDate ORDER BY c.contractId")
     List<Contract> findContractsByDateRange(@Param("checkInDate") LocalDate checkInDate,
                                             @Param("checkOutDate") LocalDate checkOutDate);
 
-
+    /**
+     * Streams all contracts with their room details from a database cursor, in contract ID order.
+     * Must be consumed inside a transaction, and the stream must be closed afterwards.
+     * The contracts bypass the second-level cache, which a full scan would only flush.
+     *
+     * @return a stream over all contracts.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT c FROM Contract c LEFT JOIN FETCH c.roomDetails ORDER BY c.contractId")
+    Stream<Contract> streamAll();
 
 }
@@ -0,0 +1,42 @@
+package com.suntravels.callcenter.repository;
+
+import com.suntravels.callcenter.dto.ContractView;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Read-side queries returning {@link ContractView} records, mixed into {@link ContractRepository}.
+ * <p>
+ * Contracts and their room details are read as plain column values, so no entity is hydrated, tracked
+ * by the persistence context or dirty-checked.
+ */
+public interface ContractViewRepository {
+
+    /**
+     * Reads all contracts.
+     *
+     * @return all contracts with their room details, in contract ID order.
+     */
+    @Transactional(readOnly = true)
+    List<ContractView> findAllViews();
+
+    /**
+     * Reads the next page of contracts in contract ID order (keyset pagination).
+     *
+     * @param afterId the last contract ID of the previous page; 0 for the first page.
+     * @param limit   the maximum number of contracts to return.
+     * @return the contracts with an ID greater than {@code afterId}, in ascending ID order.
+     */
+    @Transactional(readOnly = true)
+    List<ContractView> findViewPageAfter(int afterId, int limit);
+
+    /**
+     * Reads the contracts whose hotel name contains the given text, ignoring case.
+     *
+     * @param hotelName the text to search for.
+     * @return the matching contracts, in contract ID order.
+     */
+    @Transactional(readOnly = true)
+    List<ContractView> findViewsByHotelName(String hotelName);
+}
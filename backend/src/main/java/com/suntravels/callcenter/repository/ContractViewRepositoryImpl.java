@@ -0,0 +1,92 @@
+package com.suntravels.callcenter.repository;
+
+import com.suntravels.callcenter.dto.ContractView;
+import com.suntravels.callcenter.dto.RoomDetailView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tuple query implementation of {@link ContractViewRepository}.
+ * <p>
+ * Each query selects one row per room detail (or one row for a contract without any) in contract ID
+ * order, and consecutive rows of a contract are folded into one {@link ContractView}.
+ */
+public class ContractViewRepositoryImpl implements ContractViewRepository {
+
+    private static final String SELECT_ROWS = "SELECT c.contractId AS contractId, c.hotelName AS hotelName,"
+            + " c.startDate AS startDate, c.endDate AS endDate, c.markUpRate AS markUpRate,"
+            + " r.roomDetailId AS roomDetailId, r.roomType AS roomType, r.pricePerPerson AS pricePerPerson,"
+            + " r.numberOfRooms AS numberOfRooms, r.maxAdults AS maxAdults"
+            + " FROM Contract c LEFT JOIN c.roomDetails r";
+
+    private static final String ORDER = " ORDER BY c.contractId, r.roomDetailId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ContractView> findAllViews() {
+        return toViews(entityManager.createQuery(SELECT_ROWS + ORDER, Tuple.class));
+    }
+
+    @Override
+    public List<ContractView> findViewPageAfter(int afterId, int limit) {
+        // The limit applies to contracts, not rows, so the page is first bounded by its last contract ID
+        List<Integer> ids = entityManager.createQuery(
+                        "SELECT c.contractId FROM Contract c WHERE c.contractId > :afterId ORDER BY c.contractId",
+                        Integer.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return toViews(entityManager.createQuery(SELECT_ROWS
+                        + " WHERE c.contractId > :afterId AND c.contractId <= :lastId" + ORDER, Tuple.class)
+                .setParameter("afterId", afterId)
+                .setParameter("lastId", ids.get(ids.size() - 1)));
+    }
+
+    @Override
+    public List<ContractView> findViewsByHotelName(String hotelName) {
+        return toViews(entityManager.createQuery(SELECT_ROWS
+                        + " WHERE c.hotelNameNormalized LIKE CONCAT('%', LOWER(:hotelName), '%')" + ORDER, Tuple.class)
+                .setParameter("hotelName", hotelName));
+    }
+
+    private static List<ContractView> toViews(TypedQuery<Tuple> query) {
+        List<ContractView> views = new ArrayList<>();
+        Tuple contract = null;
+        List<RoomDetailView> roomDetails = null;
+        for (Tuple row : query.getResultList()) {
+            if (contract == null || !contract.get("contractId").equals(row.get("contractId"))) {
+                if (contract != null) {
+                    views.add(toView(contract, roomDetails));
+                }
+                contract = row;
+                roomDetails = new ArrayList<>();
+            }
+            if (row.get("roomDetailId") != null) {
+                roomDetails.add(new RoomDetailView(row.get("roomDetailId", Integer.class),
+                        row.get("roomType", String.class), row.get("pricePerPerson", Double.class),
+                        row.get("numberOfRooms", Integer.class), row.get("maxAdults", Integer.class)));
+            }
+        }
+        if (contract != null) {
+            views.add(toView(contract, roomDetails));
+        }
+        return views;
+    }
+
+    private static ContractView toView(Tuple row, List<RoomDetailView> roomDetails) {
+        return new ContractView(row.get("contractId", Integer.class), row.get("hotelName", String.class),
+                row.get("startDate", LocalDate.class), row.get("endDate", LocalDate.class),
+                row.get("markUpRate", Double.class), List.copyOf(roomDetails));
+    }
+}
@@ -0,0 +1,47 @@
+package com.suntravels.callcenter.repository;
+
+import com.suntravels.callcenter.model.Reservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for accessing and manipulating Reservation entities in the database.
+ * Extends JpaRepository to provide CRUD operations and custom query methods.
+ */
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Integer> {
+
+    /**
+     * Finds the reservations made for a contract.
+     *
+     * @param contractId the ID of the contract.
+     * @return the reservations with their rooms.
+     */
+    List<Reservation> findByContractId(Integer contractId);
+
+    /**
+     * Finds the holds that have been neither confirmed nor expired.
+     * Not read-only, so that the holds are read from the primary database even with read replicas.
+     *
+     * @return the holds with their rooms.
+     */
+    @Transactional
+    List<Reservation> findByHeldUntilIsNotNull();
+
+    /**
+     * Finds the holds that should have expired by now, whichever instance made them.
+     * Not read-only, so that the holds are read from the primary database even with read replicas.
+     *
+     * @param now the time the holds expired by.
+     * @return the IDs of the expired holds.
+     */
+    @Transactional
+    @Query("SELECT r.reservationId FROM Reservation r WHERE r.heldUntil < :now")
+    List<Integer> findIdsByHeldUntilBefore(@Param("now") Instant now);
+}
@@ -0,0 +1,217 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.BulkImportFailureDTO;
+import com.suntravels.callcenter.dto.BulkImportResultDTO;
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.exception.InvalidContractRecordException;
+import com.suntravels.callcenter.validator.DateValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for loading large numbers of contracts at once.
+ * <p>
+ * Contracts are validated one by one and persisted in batches of {@code callcenter.bulk.batch-size},
+ * one transaction per batch, so Hibernate sends them as JDBC batches. An invalid contract, or one the
+ * database rejects, is reported as a failure without aborting the rest of the load. Only the first
+ * {@code callcenter.bulk.max-reported-failures} failures by position are kept; the rest are only counted.
+ */
+@Service
+public class BulkContractService {
+
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedFailures;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public BulkContractService(TransactionTemplate transactionTemplate, Validator validator,
+                               @Value("${callcenter.bulk.batch-size:500}") int batchSize,
+                               @Value("${callcenter.bulk.max-reported-failures:1000}") int maxReportedFailures) {
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    /**
+     * Validates and imports the given contracts, reading them one at a time.
+     *
+     * @param contractDTOs The contracts to import; may be backed by a stream that is parsed lazily.
+     *                     A contract that cannot be read is reported as a failure.
+     * @return The number of contracts received, imported and failed, and the first failures by position.
+     */
+    public BulkImportResultDTO importContracts(Iterator<ContractDTO> contractDTOs) {
+        return importContracts(contractDTOs, new ImportProgress(null, null));
+    }
+
+    /**
+     * Validates and imports the given contracts, reporting progress as it goes.
+     * <p>
+     * If reading a contract throws {@link InvalidContractRecordException}, that contract is reported and
+     * reading continues; any other exception ends the input.
+     *
+     * @param contractDTOs The contracts to import; may be backed by a stream that is parsed lazily.
+     * @param progress     Updated after every contract read and every batch persisted.
+     * @return The number of contracts received, imported and failed, and the first failures by position.
+     */
+    public BulkImportResultDTO importContracts(Iterator<ContractDTO> contractDTOs, ImportProgress progress) {
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        List<ContractDTO> batch = new ArrayList<>(batchSize);
+        List<Integer> batchIndexes = new ArrayList<>(batchSize);
+
+        int index = 0;
+        while (true) {
+            ContractDTO contractDTO;
+            try {
+                if (!contractDTOs.hasNext()) {
+                    break;
+                }
+                contractDTO = contractDTOs.next();
+            } catch (InvalidContractRecordException e) {
+                progress.contractReceived();
+                addFailure(result, progress, failure(index++, e.getHotelName(), Map.of("contract", e.getMessage())));
+                continue;
+            } catch (RuntimeException e) {
+                // The input itself is unreadable from here on
+                addFailure(result, progress, failure(index++, null, Map.of("contract", rootMessage(e))));
+                break;
+            }
+            progress.contractReceived();
+
+            Map<String, String> errors = validate(contractDTO);
+            if (errors.isEmpty()) {
+                batch.add(contractDTO);
+                batchIndexes.add(index);
+            } else {
+                addFailure(result, progress, failure(index, contractDTO.getHotelName(), errors));
+            }
+            index++;
+
+            if (batch.size() == batchSize) {
+                persistBatch(batch, batchIndexes, result, progress);
+            }
+        }
+        persistBatch(batch, batchIndexes, result, progress);
+
+        trimFailures(result);
+        result.setReceived(index);
+        return result;
+    }
+
+    /**
+     * Runs bean validation and date validation on one contract.
+     *
+     * @return Error messages by field name; empty if the contract is valid.
+     */
+    private Map<String, String> validate(ContractDTO contractDTO) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<ContractDTO> violation : validator.validate(contractDTO)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (contractDTO.getStartDate() != null && contractDTO.getEndDate() != null) {
+            try {
+                DateValidator.validateDates(contractDTO.getStartDate(), contractDTO.getEndDate());
+            } catch (IllegalStateException e) {
+                errors.put("endDate", e.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Persists a batch in one transaction. If the database rejects it, the batch is retried one contract
+     * per transaction so that only the offending contracts are reported. The batch is cleared afterwards.
+     */
+    private void persistBatch(List<ContractDTO> batch, List<Integer> batchIndexes, BulkImportResultDTO result,
+                              ImportProgress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            persist(batch);
+            result.setImported(result.getImported() + batch.size());
+            progress.contractsImported(batch.size());
+        } catch (RuntimeException batchFailure) {
+            for (int i = 0; i < batch.size(); i++) {
+                ContractDTO contractDTO = batch.get(i);
+                try {
+                    persist(List.of(contractDTO));
+                    result.setImported(result.getImported() + 1);
+                    progress.contractsImported(1);
+                } catch (RuntimeException e) {
+                    addFailure(result, progress, failure(batchIndexes.get(i), contractDTO.getHotelName(),
+                            Map.of("contract", rootMessage(e))));
+                }
+            }
+        }
+        batch.clear();
+        batchIndexes.clear();
+    }
+
+    private void persist(List<ContractDTO> contractDTOs) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Imported contracts are not put in the second-level cache, which a large import would flush
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            for (ContractDTO contractDTO : contractDTOs) {
+                entityManager.persist(ContractService.toContract(contractDTO));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private void addFailure(BulkImportResultDTO result, ImportProgress progress, BulkImportFailureDTO failure) {
+        result.setFailed(result.getFailed() + 1);
+        result.getFailures().add(failure);
+        if (result.getFailures().size() >= 2 * maxReportedFailures) {
+            trimFailures(result);
+        }
+        progress.contractFailed();
+    }
+
+    /**
+     * Sorts the failures by position and keeps the first {@code maxReportedFailures}.
+     * Database failures of a batch are found after the validation failures that follow it, so a failure
+     * is only dropped once enough failures ahead of it are known.
+     */
+    private void trimFailures(BulkImportResultDTO result) {
+        List<BulkImportFailureDTO> failures = result.getFailures();
+        failures.sort(Comparator.comparingInt(BulkImportFailureDTO::getIndex));
+        if (failures.size() > maxReportedFailures) {
+            failures.subList(maxReportedFailures, failures.size()).clear();
+        }
+    }
+
+    private static BulkImportFailureDTO failure(int index, String hotelName, Map<String, String> errors) {
+        return BulkImportFailureDTO.builder()
+                .index(index)
+                .hotelName(hotelName)
+                .errors(errors)
+                .build();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
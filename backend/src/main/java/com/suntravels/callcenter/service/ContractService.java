@@ -3,37 +3,130 @@ package com.suntravels.callcenter.service;
 
 import com.suntravels.callcenter.dto.*;
 import com.suntravels.callcenter.exception.NoContractsFoundException;
+import com.suntravels.callcenter.index.ContractIndex;
+import com.suntravels.callcenter.index.HotelNameTrie;
+import com.suntravels.callcenter.index.IndexedContract;
+import com.suntravels.callcenter.metrics.SearchMetrics;
+import com.suntravels.callcenter.metrics.SearchMetrics.Phase;
 import com.suntravels.callcenter.model.Contract;
 import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.model.RoomInventory;
+import com.suntravels.callcenter.repository.AvailableRoomView;
 import com.suntravels.callcenter.repository.ContractRepository;
 import com.suntravels.callcenter.validator.DateValidator;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed("callcenter.contract.service")
 public class ContractService {
 
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Largest page size a client can ask for; larger requests are capped to it.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final Comparator<ContractMatch> BY_TOTAL_PRICE = Comparator
+            .comparingDouble(ContractMatch::totalPrice)
+            .thenComparing(ContractMatch::hotelName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(ContractMatch::contractId);
+
+    private static final Comparator<ContractMatch> BY_HOTEL_NAME = Comparator
+            .comparing(ContractMatch::hotelName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingDouble(ContractMatch::totalPrice)
+            .thenComparing(ContractMatch::contractId);
+
     private final ContractRepository contractRepository;
+    private final ContractIndex contractIndex;
+    private final SearchResultCache searchResultCache;
+    private final ParallelContractEvaluator contractEvaluator;
+    private final SearchMetrics searchMetrics;
+
+    /**
+     * Whether availability searches are answered from the in-memory index rather than by the database.
+     */
+    private final boolean inMemoryIndex;
 
     @Autowired
-    public ContractService(ContractRepository contractRepository) {
+    public ContractService(ContractRepository contractRepository, ContractIndex contractIndex,
+                           SearchResultCache searchResultCache, ParallelContractEvaluator contractEvaluator,
+                           SearchMetrics searchMetrics,
+                           @Value("${callcenter.search.in-memory-index:true}") boolean inMemoryIndex) {
         this.contractRepository = contractRepository;
+        this.contractIndex = contractIndex;
+        this.searchResultCache = searchResultCache;
+        this.contractEvaluator = contractEvaluator;
+        this.searchMetrics = searchMetrics;
+        this.inMemoryIndex = inMemoryIndex;
     }
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Fetches all contracts from the database.
      *
-     * @return A list of all Contract objects.
+     * @return A list of all contracts, as read-only views.
      */
-    public List<Contract> getAllContracts() {
-        return contractRepository.findAll();
+    public List<ContractView> getAllContracts() {
+        return contractRepository.findAllViews();
+    }
+
+    /**
+     * Fetches one page of contracts in contract ID order, using the last ID of the previous page as cursor.
+     * The contracts are read as views in a read-only transaction, without hydrating entities.
+     *
+     * @param afterId The cursor returned with the previous page, or null for the first page.
+     * @param size    The requested page size, or null for the default; capped at {@link #MAX_PAGE_SIZE}.
+     * @return The page of contracts and the cursor for the next page.
+     */
+    public ContractPageDTO getContracts(Integer afterId, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // Fetch one extra contract to know whether another page follows
+        List<ContractView> contracts = contractRepository.findViewPageAfter(afterId == null ? 0 : afterId, pageSize + 1);
+        if (contracts.size() <= pageSize) {
+            return new ContractPageDTO(contracts, null);
+        }
+        List<ContractView> page = contracts.subList(0, pageSize);
+        return new ContractPageDTO(page, page.get(pageSize - 1).contractId());
+    }
+
+    /**
+     * Streams every contract to the given action, reading them from a database cursor.
+     * Each contract is detached once the action has handled it, so memory use does not grow
+     * with the number of contracts.
+     *
+     * @param action The action to perform for each contract, in contract ID order.
+     */
+    @Transactional(readOnly = true)
+    public void forEachContract(Consumer<Contract> action) {
+        try (Stream<Contract> contracts = contractRepository.streamAll()) {
+            contracts.forEach(contract -> {
+                action.accept(contract);
+                entityManager.detach(contract);
+            });
+        }
     }
 
     /**
@@ -49,7 +142,19 @@ public class ContractService {
         DateValidator.validateDates(contractDTO.getStartDate(), contractDTO.getEndDate());
 
         //Create a contract Object and save it
-        Contract contract = Contract.builder()
+        Contract contract = toContract(contractDTO);
+        contractRepository.save(contract);
+        return contract;
+    }
+
+    /**
+     * Maps a contract DTO, including its room details, to a new Contract entity.
+     *
+     * @param contractDTO The contract data transfer object containing contract details.
+     * @return The unsaved Contract object.
+     */
+    static Contract toContract(ContractDTO contractDTO) {
+        return Contract.builder()
                 .hotelName(contractDTO.getHotelName())
                 .startDate(contractDTO.getStartDate())
                 .endDate(contractDTO.getEndDate())
@@ -64,35 +169,53 @@ public class ContractService {
                                         .build()
                         ).toList())
                 .build();
-        contractRepository.save(contract);
-        return contract;
     }
 
 
     /**
      * Searches for contracts by the specified hotel name.
      * <p>
-     * This method retrieves a list of contracts that match the provided hotel name.
+     * This method retrieves a list of contracts whose hotel name contains the provided text, ignoring case.
+     * The search is answered by the trigram index in {@link ContractIndex} rather than a {@code LIKE} scan,
+     * unless the current transaction has contract writes the index does not reflect yet.
      * If no contracts are found, it throws a {@link NoContractsFoundException}.
      *
      * @param hotelName the name of the hotel to search for; must not be null or empty
-     * @return a list of contracts matching the given hotel name
+     * @return a list of contracts matching the given hotel name, as read-only views
      * @throws NoContractsFoundException if no contracts are found for the specified hotel name
      */
-    public List<Contract> searchByName(String hotelName) {
-        List<Contract> filteredContracts = contractRepository.findByHotelName(hotelName);
+    public List<ContractView> searchByName(String hotelName) {
+        List<ContractView> filteredContracts = contractIndex.isUpToDate()
+                ? contractIndex.findContractsByHotelName(hotelName).stream().map(ContractView::of).toList()
+                : contractRepository.findViewsByHotelName(hotelName);
         if (filteredContracts.isEmpty()) {
             throw new NoContractsFoundException("No Contracts Found");
         }
         return filteredContracts;
     }
 
+    /**
+     * Suggests hotel names for autocompletion.
+     * <p>
+     * Suggestions come from the in-memory trie in {@link ContractIndex}, so this is cheap enough to call on
+     * every keystroke. Unlike {@link #searchByName}, an unknown prefix gives an empty list, not an exception.
+     *
+     * @param prefix the text typed so far; compared ignoring case and repeated whitespace
+     * @param limit  the maximum number of suggestions, or null for the default; capped at {@link HotelNameTrie#TOP_K}
+     * @return the hotel names starting with the prefix, those with the most contracts first
+     */
+    public List<String> suggestHotelNames(String prefix, Integer limit) {
+        int suggestions = limit == null ? HotelNameTrie.TOP_K : Math.max(1, Math.min(limit, HotelNameTrie.TOP_K));
+        return contractIndex.suggestHotelNames(prefix, suggestions);
+    }
+
     /**
      * Deletes the contract with the specified ID.
      *
      * @param contractId the ID of the contract to be deleted.
      * @throws NoContractsFoundException if no contract with the given ID exists.
      */
+    @Transactional
     public void deleteContract(Integer contractId) {
         if (!contractRepository.existsById(contractId)) {
             throw new NoContractsFoundException("Contract doesn't exit by this Id");
@@ -103,6 +226,8 @@ public class ContractService {
 
     /**
      * Searches for contracts based on the provided search criteria.
+     * Results are served from the {@link SearchResultCache} unless the current transaction has
+     * uncommitted contract changes.
      *
      * @param searchDTO The search data transfer object containing search parameters.
      * @return A list of available contracts that meet the search criteria.
@@ -110,81 +235,523 @@ public class ContractService {
      */
     public List<AvailableContractDTO> searchAvailability(@Valid SearchDTO searchDTO) {
 
+        List<AvailableContractDTO> availableContracts = contractIndex.hasPendingWrites()
+                ? findAvailableContracts(searchDTO)
+                : searchResultCache.get(searchDTO, this::findAvailableContracts);
+
+        if (availableContracts.isEmpty()) {
+            throw new NoContractsFoundException("No Available Contracts Found");
+        }
+        return availableContracts;
+    }
+
+    /**
+     * Answers several searches at once, e.g. the room mixes and stays a customer is choosing between.
+     * <p>
+     * Searches found in the {@link SearchResultCache} are served from it, unless the current transaction has
+     * contract writes the index does not reflect yet; the others are evaluated together,
+     * fetching the contracts that cover their stays once and evaluating each contract against all of them
+     * in a single pass.
+     *
+     * @param searchDTOs The searches to answer, already validated by the caller.
+     * @return The available contracts of each search, in the order of the searches; empty for a search
+     * that finds none.
+     */
+    public List<List<AvailableContractDTO>> searchAvailabilityBatch(List<SearchDTO> searchDTOs) {
+        return contractIndex.isUpToDate()
+                ? searchResultCache.getAll(searchDTOs, this::findAvailableContracts)
+                : findAvailableContracts(searchDTOs);
+    }
+
+    /**
+     * Searches for contracts based on the provided search criteria, handing each available contract
+     * to the given action as soon as it qualifies instead of collecting the whole result first.
+     * A cached result is replayed if there is one; streamed results are not added to the cache.
+     * Unlike {@link #searchAvailability}, finding no contracts is not an error.
+     *
+     * @param searchDTO The search data transfer object containing search parameters.
+     * @param action    The action to perform for each available contract, in the order asked for by the
+     *                  search. Ranked searches are evaluated completely before the first contract is passed on.
+     */
+    public void streamAvailability(@Valid SearchDTO searchDTO, Consumer<AvailableContractDTO> action) {
+        List<AvailableContractDTO> cached = contractIndex.hasPendingWrites() ? null : searchResultCache.getIfPresent(searchDTO);
+        if (cached != null) {
+            cached.forEach(action);
+        } else {
+            findAvailableContracts(searchDTO, action);
+        }
+    }
+
+    /**
+     * Evaluates contracts fetched by the caller against the room requirements of the search, with the same
+     * matching and ranking as {@link #searchAvailability}, e.g. for contracts read without blocking by the
+     * reactive stack. The result cache is not used.
+     *
+     * @param searchDTO The search data transfer object containing search parameters.
+     * @param contracts The contracts covering the stay, in contract ID order.
+     * @return The available contracts in the order of the search, possibly empty.
+     */
+    public List<AvailableContractDTO> evaluateAvailability(@Valid SearchDTO searchDTO, List<IndexedContract> contracts) {
+        List<ContractMatch> matches = match(contracts, searchDTO, ranking(searchDTO));
+        return searchMetrics.time(Phase.BUILD, () -> build(matches));
+    }
+
+    /**
+     * Returns the cache statistics of the availability search.
+     *
+     * @return The hit, miss and eviction counters of the search result cache.
+     */
+    public SearchCacheStatsDTO getSearchCacheStats() {
+        return searchResultCache.stats();
+    }
+
+    /**
+     * Evaluates every contract covering the stay against the room requirements of the search.
+     *
+     * @param searchDTO The search data transfer object containing search parameters.
+     * @return The available contracts, possibly empty.
+     */
+    private List<AvailableContractDTO> findAvailableContracts(SearchDTO searchDTO) {
+        List<AvailableContractDTO> availableContracts = new ArrayList<>();
+        findAvailableContracts(searchDTO, availableContracts::add);
+        return availableContracts;
+    }
+
+    /**
+     * Evaluates every contract covering the stay against the room requirements of the search.
+     * <p>
+     * The search is answered from the in-memory {@link ContractIndex} when it is enabled and reflects the
+     * current transaction; otherwise the database evaluates the requirements, see
+     * {@link #matchInDatabase}. Either way the action is called for the available contracts in contract
+     * ID order, each as soon as it has been evaluated, unless the search asks for another order or a
+     * limit: then only the best contracts are kept in a {@link TopK} while evaluating, and passed on best
+     * first once every contract has been evaluated. The fetch, evaluation and DTO building phases are
+     * timed by {@link SearchMetrics}.
+     *
+     * @param searchDTO The search data transfer object containing search parameters.
+     * @param action    The action to perform for each available contract, in the order of the search.
+     */
+    private void findAvailableContracts(SearchDTO searchDTO, Consumer<AvailableContractDTO> action) {
+
         // Calculate the checkout date based on the check-in date and the number of nights.
         LocalDate checkOutDate = searchDTO.getCheckInDate().plusDays(searchDTO.getNoOfNights());
 
-        // Fetch contracts within the date range
-        List<Contract> contracts = contractRepository.findContractsByDateRange(searchDTO.getCheckInDate(), checkOutDate);
-        List<AvailableContractDTO> availableContracts = new ArrayList<>();
+        boolean fromIndex = inMemoryIndex && contractIndex.isUpToDate();
+        TopK<ContractMatch> ranking = ranking(searchDTO);
+        if (ranking == null) {
+            streamMatches(searchDTO, checkOutDate, fromIndex, action);
+            return;
+        }
+        List<ContractMatch> matches = fromIndex
+                ? matchFromIndex(searchDTO, checkOutDate, ranking)
+                : matchInDatabase(searchDTO, checkOutDate, ranking);
+
+        List<AvailableContractDTO> availableContracts = searchMetrics.time(Phase.BUILD, () -> build(matches));
+        availableContracts.forEach(action);
+    }
+
+    /**
+     * Finds the available contracts of a search without ranking, in the index or the database, and passes
+     * each one on as soon as it has been evaluated, in contract ID order.
+     * <p>
+     * Evaluation, DTO building and the action are interleaved, so the evaluation and building times are
+     * summed over the contracts, leaving out the time spent in the action.
+     */
+    private void streamMatches(SearchDTO searchDTO, LocalDate checkOutDate, boolean fromIndex,
+                               Consumer<AvailableContractDTO> action) {
+        long[] buildNanos = new long[1];
+        long[] actionNanos = new long[1];
+        int[] returned = new int[1];
+        Consumer<ContractMatch> handOn = match -> {
+            long start = System.nanoTime();
+            AvailableContractDTO availableContract = build(match);
+            long built = System.nanoTime();
+            action.accept(availableContract);
+            buildNanos[0] += built - start;
+            actionNanos[0] += System.nanoTime() - built;
+            returned[0]++;
+        };
+
+        long start;
+        int examined;
+        if (fromIndex) {
+            List<IndexedContract> contracts = searchMetrics.time(Phase.FETCH,
+                    () -> contractIndex.findContractsByDateRange(searchDTO.getCheckInDate(), checkOutDate));
+            start = System.nanoTime();
+            contractEvaluator.evaluate(contracts, contract -> evaluateContract(contract, searchDTO, null), handOn);
+            examined = contracts.size();
+        } else {
+            List<AvailableRoomView> rooms = searchMetrics.time(Phase.FETCH, () -> contractRepository.findAvailableRooms(
+                    searchDTO.getCheckInDate(), checkOutDate, searchDTO.getRoomRequirements()));
+            start = System.nanoTime();
+            examined = matchRooms(rooms, searchDTO, handOn);
+        }
+        searchMetrics.record(Phase.EVALUATE, System.nanoTime() - start - buildNanos[0] - actionNanos[0]);
+        searchMetrics.record(Phase.BUILD, buildNanos[0]);
+        searchMetrics.recordCandidates(examined, returned[0]);
+    }
 
+    /**
+     * Answers several searches with one pass over the contracts.
+     * <p>
+     * The contracts covering any of the stays are fetched once, as those starting by the latest check-in
+     * and ending on or after the earliest check-out, from the index or with a single query; as for a single
+     * search, the index is only used when it reflects the current transaction. Each contract
+     * is then evaluated against every search whose stay it covers.
+     *
+     * @param searchDTOs The searches, in canonical form.
+     * @return The available contracts of each search, in the order of the searches.
+     */
+    private List<List<AvailableContractDTO>> findAvailableContracts(List<SearchDTO> searchDTOs) {
+        int searches = searchDTOs.size();
+        LocalDate[] checkOutDates = new LocalDate[searches];
+        LocalDate latestCheckIn = null;
+        LocalDate earliestCheckOut = null;
+        List<TopK<ContractMatch>> rankings = new ArrayList<>(searches);
+        for (int i = 0; i < searches; i++) {
+            SearchDTO searchDTO = searchDTOs.get(i);
+            checkOutDates[i] = searchDTO.getCheckInDate().plusDays(searchDTO.getNoOfNights());
+            if (latestCheckIn == null || searchDTO.getCheckInDate().isAfter(latestCheckIn)) {
+                latestCheckIn = searchDTO.getCheckInDate();
+            }
+            if (earliestCheckOut == null || checkOutDates[i].isBefore(earliestCheckOut)) {
+                earliestCheckOut = checkOutDates[i];
+            }
+            rankings.add(ranking(searchDTO));
+        }
+
+        LocalDate checkIn = latestCheckIn;
+        LocalDate checkOut = earliestCheckOut;
+        boolean fromIndex = inMemoryIndex && contractIndex.isUpToDate();
+        List<IndexedContract> contracts = searchMetrics.time(Phase.FETCH, () -> fromIndex
+                ? contractIndex.findContractsByDateRange(checkIn, checkOut)
+                : contractRepository.findContractsByDateRange(checkIn, checkOut).stream().map(IndexedContract::of).toList());
+
+        List<List<ContractMatch>> matches = searchMetrics.time(Phase.EVALUATE, () -> {
+            List<ContractMatch[]> unranked = contractEvaluator.evaluate(contracts,
+                    contract -> evaluateContract(contract, searchDTOs, checkOutDates, rankings));
+            List<List<ContractMatch>> perSearch = new ArrayList<>(searches);
+            for (int i = 0; i < searches; i++) {
+                if (rankings.get(i) != null) {
+                    perSearch.add(rankings.get(i).toSortedList());
+                    continue;
+                }
+                List<ContractMatch> matched = new ArrayList<>();
+                for (ContractMatch[] contractMatches : unranked) {
+                    if (contractMatches[i] != null) {
+                        matched.add(contractMatches[i]);
+                    }
+                }
+                perSearch.add(matched);
+            }
+            return perSearch;
+        });
+        searchMetrics.recordCandidates(contracts.size(), matches.stream().mapToInt(List::size).sum());
+
+        return searchMetrics.time(Phase.BUILD, () -> matches.stream().map(ContractService::build).toList());
+    }
+
+    private static List<AvailableContractDTO> build(List<ContractMatch> matches) {
+        List<AvailableContractDTO> built = new ArrayList<>(matches.size());
+        for (ContractMatch match : matches) {
+            built.add(build(match));
+        }
+        return built;
+    }
+
+    private static AvailableContractDTO build(ContractMatch match) {
+        return AvailableContractDTO.builder()
+                .contractId(match.contractId())
+                .hotelName(match.hotelName())
+                .totalPrice(match.totalPrice())
+                .availableRooms(match.availableRooms())
+                .build();
+    }
+
+    /**
+     * Creates the ranking that keeps the best contracts of the search.
+     *
+     * @return The ranking, or null if the search returns every contract in contract ID order.
+     */
+    private static TopK<ContractMatch> ranking(SearchDTO searchDTO) {
+        SortBy sortBy = searchDTO.effectiveSortBy();
+        if (sortBy == null) {
+            return null;
+        }
+        return new TopK<>(searchDTO.getLimit() != null ? searchDTO.getLimit() : Integer.MAX_VALUE,
+                sortBy == SortBy.TOTAL_PRICE ? BY_TOTAL_PRICE : BY_HOTEL_NAME);
+    }
+
+    /**
+     * Finds the available contracts in the in-memory index.
+     * <p>
+     * When many contracts cover the stay they are evaluated in parallel by the
+     * {@link ParallelContractEvaluator}, keeping contract ID order. With a ranking, the contracts are
+     * offered to it instead, and those that cannot beat its current worst are abandoned early.
+     */
+    private List<ContractMatch> matchFromIndex(SearchDTO searchDTO, LocalDate checkOutDate, TopK<ContractMatch> ranking) {
+        List<IndexedContract> contracts = searchMetrics.time(Phase.FETCH,
+                () -> contractIndex.findContractsByDateRange(searchDTO.getCheckInDate(), checkOutDate));
+        return match(contracts, searchDTO, ranking);
+    }
+
+    /**
+     * Evaluates the contracts covering the stay, in parallel when there are many, and records the
+     * candidates examined. See {@link #matchFromIndex}.
+     */
+    private List<ContractMatch> match(List<IndexedContract> contracts, SearchDTO searchDTO, TopK<ContractMatch> ranking) {
         //For each contract, check if room requirements are met
-        for (Contract contract : contracts) {
-            List<AvailableRoomDTO> availableRooms = new ArrayList<>();
-            boolean isContractValid = true;
-
-            //Check if the contract can fulfill all room requirements
-            for (int i = 0; i < searchDTO.getRoomRequirements().size(); i++) {
-                RoomRequirementDTO requirement = searchDTO.getRoomRequirements().get(i);
-
-                // Try to find a matching room for the current requirement.
-                List<AvailableRoomDTO> matchingRooms = findAvailableRoom(contract, requirement, i + 1, searchDTO.getNoOfNights());
-                if (!matchingRooms.isEmpty()) {
-                    availableRooms.addAll(matchingRooms);
-                } else {
-                    isContractValid = false;
-                    break;  // If one requirement isn't satisfied, no need to check further
+        List<ContractMatch> matches = searchMetrics.time(Phase.EVALUATE, () -> {
+            if (ranking == null) {
+                return contractEvaluator.evaluate(contracts, contract -> evaluateContract(contract, searchDTO, null));
+            }
+            // The ranking collects the results, so the evaluator is only used to spread the work
+            contractEvaluator.evaluate(contracts, contract -> {
+                ranking.offer(evaluateContract(contract, searchDTO, ranking));
+                return null;
+            });
+            return ranking.toSortedList();
+        });
+        searchMetrics.recordCandidates(contracts.size(), matches.size());
+        return matches;
+    }
+
+    /**
+     * Finds the available contracts with a single query that applies the room requirements in SQL
+     * ({@link ContractRepository#findAvailableRooms}), so only the qualifying rooms of qualifying contracts
+     * are read. The rooms are then assigned to the requirements they fulfil and priced, and the contracts
+     * offered to the ranking if there is one.
+     */
+    private List<ContractMatch> matchInDatabase(SearchDTO searchDTO, LocalDate checkOutDate, TopK<ContractMatch> ranking) {
+        List<AvailableRoomView> rooms = searchMetrics.time(Phase.FETCH, () -> contractRepository.findAvailableRooms(
+                searchDTO.getCheckInDate(), checkOutDate, searchDTO.getRoomRequirements()));
+
+        int[] contracts = new int[1];
+        List<ContractMatch> matches = searchMetrics.time(Phase.EVALUATE, () -> {
+            List<ContractMatch> matched = new ArrayList<>();
+            contracts[0] = matchRooms(rooms, searchDTO, ranking == null ? matched::add : ranking::offer);
+            return ranking == null ? matched : ranking.toSortedList();
+        });
+        // The database has already discarded the contracts that do not qualify on their total rooms
+        searchMetrics.recordCandidates(contracts[0], matches.size());
+        return matches;
+    }
+
+    /**
+     * Turns the qualifying rooms read by {@link ContractRepository#findAvailableRooms} into contract matches.
+     *
+     * @param rooms     The rooms, those of one contract adjacent, in contract ID order.
+     * @param searchDTO The search data transfer object containing search parameters.
+     * @param action    The action to perform for each contract that can fulfil every requirement.
+     * @return The number of contracts examined.
+     */
+    private static int matchRooms(List<AvailableRoomView> rooms, SearchDTO searchDTO, Consumer<ContractMatch> action) {
+        int contracts = 0;
+        int from = 0;
+        while (from < rooms.size()) {
+            // The rooms of one contract are adjacent, most available first
+            int to = from + 1;
+            while (to < rooms.size() && rooms.get(to).contractId().equals(rooms.get(from).contractId())) {
+                to++;
+            }
+            ContractMatch match = toMatch(rooms.subList(from, to), searchDTO);
+            if (match != null) {
+                action.accept(match);
+            }
+            contracts++;
+            from = to;
+        }
+        return contracts;
+    }
+
+    /**
+     * Assigns the qualifying rooms of one contract to the requirements they fulfil, in requirement order.
+     *
+     * @return The contract with its rooms, or null if the rooms free on every night of the stay cannot
+     * fulfil some requirement.
+     */
+    private static ContractMatch toMatch(List<AvailableRoomView> rooms, SearchDTO searchDTO) {
+        AvailableRoomView first = rooms.get(0);
+        int firstNight = RoomInventory.night(first.startDate(), searchDTO.getCheckInDate());
+        List<AvailableRoomDTO> availableRooms = new ArrayList<>();
+        double totalPrice = 0;
+        for (int i = 0; i < searchDTO.getRoomRequirements().size(); i++) {
+            RoomRequirementDTO requirement = searchDTO.getRoomRequirements().get(i);
+            int from = availableRooms.size();
+            for (AvailableRoomView room : rooms) {
+                if (room.maxAdults() == requirement.getMaxAdults()
+                        && RoomInventory.hasRooms(room.remainingRooms(), room.numberOfRooms(), firstNight,
+                        searchDTO.getNoOfNights(), requirement.getNumberOfRooms())) {
+                    availableRooms.add(AvailableRoomDTO.builder()
+                            .requirementId(i + 1)
+                            .roomType(room.roomType())
+                            .totalPrice(markUpPrice(room.pricePerPerson(), room.maxAdults(), searchDTO.getNoOfNights(),
+                                    requirement.getNumberOfRooms(), first.markUpRate()))
+                            .build());
                 }
             }
+            if (availableRooms.size() == from) {
+                return null;
+            }
+            totalPrice += cheapest(availableRooms, from);
+        }
+        return new ContractMatch(first.contractId(), first.hotelName(), totalPrice, availableRooms);
+    }
 
-            // If all room requirements are satisfied, add the contract to the result
-            if (isContractValid) {
-                System.out.println("Adding valid contract: " + contract);
-                AvailableContractDTO availableContract = AvailableContractDTO.builder()
-                        .hotelName(contract.getHotelName())
-                        .availableRooms(availableRooms)
-                        .build();
-                availableContracts.add(availableContract);
+    /**
+     * Checks whether one contract can fulfil all room requirements of the search.
+     * <p>
+     * With a full ranking, a contract that cannot beat the worst one kept is abandoned as soon as that is
+     * certain: before evaluating it when ranking by hotel name, and once its partial price exceeds the
+     * worst total price when ranking by price, since prices are never negative.
+     *
+     * @param indexedContract The contract to evaluate, with its rooms grouped by capacity.
+     * @param searchDTO       The search data transfer object containing search parameters.
+     * @param ranking         The ranking the contract will be offered to, or null.
+     * @return The contract with its matching rooms, or null if a requirement cannot be met or the contract
+     * cannot make the ranking.
+     */
+    private ContractMatch evaluateContract(IndexedContract indexedContract, SearchDTO searchDTO,
+                                           TopK<ContractMatch> ranking) {
+        Contract contract = indexedContract.getContract();
+        boolean byPrice = ranking != null && searchDTO.effectiveSortBy() == SortBy.TOTAL_PRICE;
+        if (ranking != null && !byPrice && ranking.worst() != null
+                && String.CASE_INSENSITIVE_ORDER.compare(contract.getHotelName(), ranking.worst().hotelName()) > 0) {
+            return null;
+        }
+        List<AvailableRoomDTO> availableRooms = new ArrayList<>();
+        double totalPrice = 0;
+        int firstNight = indexedContract.nightOf(searchDTO.getCheckInDate());
+
+        //Check if the contract can fulfill all room requirements
+        for (int i = 0; i < searchDTO.getRoomRequirements().size(); i++) {
+            RoomRequirementDTO requirement = searchDTO.getRoomRequirements().get(i);
+
+            // Try to find matching rooms for the current requirement.
+            int from = availableRooms.size();
+            if (!findAvailableRoom(indexedContract, requirement, i + 1, firstNight, searchDTO.getNoOfNights(), availableRooms)) {
+                return null;  // If one requirement isn't satisfied, no need to check further
+            }
+            totalPrice += cheapest(availableRooms, from);
+
+            ContractMatch worst = byPrice ? ranking.worst() : null;
+            if (worst != null && totalPrice > worst.totalPrice()) {
+                return null;
             }
         }
+        return new ContractMatch(contract.getContractId(), contract.getHotelName(), totalPrice, availableRooms);
+    }
 
-        if (availableContracts.isEmpty()) {
-            throw new NoContractsFoundException("No Available Contracts Found");
+    /**
+     * Evaluates one contract against every search of a batch whose stay it covers. Matches of ranked
+     * searches are offered to their ranking; the others are returned.
+     *
+     * @return The contract's matches of the unranked searches, by search position, or null if there are none.
+     */
+    private ContractMatch[] evaluateContract(IndexedContract indexedContract, List<SearchDTO> searchDTOs,
+                                             LocalDate[] checkOutDates, List<TopK<ContractMatch>> rankings) {
+        Contract contract = indexedContract.getContract();
+        ContractMatch[] matches = null;
+        for (int i = 0; i < searchDTOs.size(); i++) {
+            SearchDTO searchDTO = searchDTOs.get(i);
+            if (contract.getStartDate().isAfter(searchDTO.getCheckInDate()) || contract.getEndDate().isBefore(checkOutDates[i])) {
+                continue;
+            }
+            ContractMatch match = evaluateContract(indexedContract, searchDTO, rankings.get(i));
+            if (match == null) {
+                continue;
+            }
+            if (rankings.get(i) != null) {
+                rankings.get(i).offer(match);
+            } else {
+                if (matches == null) {
+                    matches = new ContractMatch[searchDTOs.size()];
+                }
+                matches[i] = match;
+            }
         }
-        return availableContracts;
+        return matches;
+    }
+
+    /**
+     * @return The lowest price among the rooms from index {@code from} on.
+     */
+    private static double cheapest(List<AvailableRoomDTO> rooms, int from) {
+        double cheapest = Double.MAX_VALUE;
+        for (int i = from; i < rooms.size(); i++) {
+            cheapest = Math.min(cheapest, rooms.get(i).getTotalPrice());
+        }
+        return cheapest;
     }
 
     /**
-     * Finds a room in the contract that satisfies the given room requirement.
+     * Finds the rooms in the contract that satisfy the given room requirement.
+     * <p>
+     * Only the contract's bucket for the required number of adults is scanned. Because the bucket is
+     * sorted by number of rooms in descending order, the scan stops at the first room that has too few rooms.
+     * Rooms with enough rooms in total but not on every night of the stay, according to their
+     * {@link RoomInventory}, are skipped.
      *
-     * @param contract      The contract to search within.
-     * @param requirement   The room requirement to satisfy.
-     * @param requirementId The ID of the requirement (for tracking purposes).
-     * @param noOfNights    The number of nights for which the room is required.
-     * @return An AvailableRoomDTO if a matching room is found, or null if no match is found.
+     * @param indexedContract The contract to search within, with its rooms grouped by capacity.
+     * @param requirement     The room requirement to satisfy.
+     * @param requirementId   The ID of the requirement (for tracking purposes).
+     * @param firstNight      The night of the contract the stay starts on, see {@link IndexedContract#nightOf}.
+     * @param noOfNights      The number of nights for which the room is required.
+     * @param availableRooms  The list the matching rooms are appended to, as AvailableRoomDTOs.
+     * @return true if at least one matching room was found, false otherwise.
      */
-    private List<AvailableRoomDTO> findAvailableRoom(Contract contract, RoomRequirementDTO requirement, int requirementId, int noOfNights) {
+    boolean findAvailableRoom(IndexedContract indexedContract, RoomRequirementDTO requirement, int requirementId,
+                              int firstNight, int noOfNights, List<AvailableRoomDTO> availableRooms) {
 
-        List<AvailableRoomDTO> availableRooms = new ArrayList<>();
+        Contract contract = indexedContract.getContract();
+        RoomDetail[] validRooms = indexedContract.roomsFor(requirement.getMaxAdults());
+        AtomicReferenceArray<byte[]> ledgers = indexedContract.ledgersFor(requirement.getMaxAdults());
 
-        List<RoomDetail> validRooms = contract.getRoomDetails().stream()
-                .filter(roomDetail -> roomDetail.getMaxAdults() == requirement.getMaxAdults())
-                .toList();
-
-        for (RoomDetail roomDetail : validRooms) {
-            if (roomDetail.getNumberOfRooms() >= requirement.getNumberOfRooms()) {
-                // Calculate the price based on room details and markup.
-                double markUpPrice = roomDetail.getPricePerPerson() * noOfNights * roomDetail.getMaxAdults() * requirement.getNumberOfRooms() * (100 + contract.getMarkUpRate()) / 100;
-
-                // Return the matching room as an AvailableRoomDTO.
-                availableRooms.add(AvailableRoomDTO.builder()
-                        .requirementId(requirementId)
-                        .roomType(roomDetail.getRoomType())
-                        .totalPrice(markUpPrice)
-                        .build());
+        int matched = 0;
+        for (int i = 0; i < validRooms.length && validRooms[i].getNumberOfRooms() >= requirement.getNumberOfRooms(); i++) {
+            RoomDetail roomDetail = validRooms[i];
+            if (!RoomInventory.hasRooms(ledgers.get(i), roomDetail.getNumberOfRooms(), firstNight,
+                    noOfNights, requirement.getNumberOfRooms())) {
+                continue;
             }
+            matched++;
+
+            // Calculate the price based on room details and markup.
+            double markUpPrice = markUpPrice(roomDetail, noOfNights, requirement.getNumberOfRooms(), contract.getMarkUpRate());
+
+            // Add the matching room as an AvailableRoomDTO.
+            availableRooms.add(AvailableRoomDTO.builder()
+                    .requirementId(requirementId)
+                    .roomType(roomDetail.getRoomType())
+                    .totalPrice(markUpPrice)
+                    .build());
         }
-        return availableRooms;
+        return matched > 0;
+    }
+
+    /**
+     * Calculates the price of booking rooms of one type for a stay, including the contract's markup.
+     *
+     * @param roomDetail    The room type being booked.
+     * @param noOfNights    The number of nights of the stay.
+     * @param numberOfRooms The number of rooms booked.
+     * @param markUpRate    The markup of the contract, in percent.
+     * @return The total price for all adults, rooms and nights.
+     */
+    static double markUpPrice(RoomDetail roomDetail, int noOfNights, int numberOfRooms, double markUpRate) {
+        return markUpPrice(roomDetail.getPricePerPerson(), roomDetail.getMaxAdults(), noOfNights, numberOfRooms, markUpRate);
     }
-}
 
+    private static double markUpPrice(double pricePerPerson, int maxAdults, int noOfNights, int numberOfRooms,
+                                      double markUpRate) {
+        return pricePerPerson * noOfNights * maxAdults * numberOfRooms * (100 + markUpRate) / 100;
+    }
 
+    /**
+     * A contract that fulfils every requirement of a search, with the rooms that fulfil them and the
+     * cheapest total price of the search.
+     */
+    private record ContractMatch(Integer contractId, String hotelName, double totalPrice,
+                                 List<AvailableRoomDTO> availableRooms) {
+    }
+}
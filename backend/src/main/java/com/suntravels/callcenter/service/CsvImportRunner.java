@@ -0,0 +1,54 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.CsvImportResultDTO;
+import com.suntravels.callcenter.dto.ImportProgressDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Imports CSV supplier feeds from local files given on the command line, e.g.
+ * {@code java -jar callcenter.jar --import-csv=/data/feed.csv}. The option may be repeated.
+ * Without the option this runner does nothing.
+ */
+@Component
+public class CsvImportRunner implements ApplicationRunner {
+
+    static final String IMPORT_CSV_OPTION = "import-csv";
+
+    private static final Logger log = LoggerFactory.getLogger(CsvImportRunner.class);
+
+    private final CsvImportService csvImportService;
+
+    @Autowired
+    public CsvImportRunner(CsvImportService csvImportService) {
+        this.csvImportService = csvImportService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> paths = args.getOptionValues(IMPORT_CSV_OPTION);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            CsvImportResultDTO result = csvImportService.importCsv(Path.of(path));
+            ImportProgressDTO progress = result.getProgress();
+            log.info("Imported {} of {} contracts ({} rows) from {} in {} ms, {} rows/s",
+                    progress.getImported(), progress.getReceived(), progress.getRowsRead(), path,
+                    progress.getElapsedMillis(), Math.round(progress.getRowsPerSecond()));
+            result.getFailures().forEach(failure ->
+                    log.warn("Contract {} ({}) not imported: {}", failure.getIndex(), failure.getHotelName(),
+                            failure.getErrors()));
+            if (progress.getFailed() > result.getFailures().size()) {
+                log.warn("{} more contracts not imported", progress.getFailed() - result.getFailures().size());
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.csv.ContractCsvReader;
+import com.suntravels.callcenter.dto.BulkImportResultDTO;
+import com.suntravels.callcenter.dto.CsvImportResultDTO;
+import com.suntravels.callcenter.dto.ImportProgressDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for importing contracts from CSV supplier feeds.
+ * <p>
+ * The feed is parsed incrementally by {@link ContractCsvReader} and handed to {@link BulkContractService}
+ * in batches, so memory use does not grow with the size of the file. Imports in progress can be
+ * watched through {@link #getRunningImports()}.
+ */
+@Service
+public class CsvImportService {
+
+    private final BulkContractService bulkContractService;
+    private final Map<String, ImportProgress> runningImports = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CsvImportService(BulkContractService bulkContractService) {
+        this.bulkContractService = bulkContractService;
+    }
+
+    /**
+     * Imports contracts from a CSV file on the local file system.
+     *
+     * @param path The path of the UTF-8 encoded CSV file.
+     * @return The final progress of the import and the contracts that could not be imported.
+     * @throws UncheckedIOException if the file cannot be opened.
+     */
+    public CsvImportResultDTO importCsv(Path path) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return importCsv(reader, path.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Imports contracts from CSV text.
+     *
+     * @param reader The CSV input; it is read to the end but not closed.
+     * @param source A description of where the input comes from, shown in the progress.
+     * @return The final progress of the import and the contracts that could not be imported.
+     */
+    public CsvImportResultDTO importCsv(Reader reader, String source) {
+        ImportProgress progress = new ImportProgress(UUID.randomUUID().toString(), source);
+        runningImports.put(progress.getId(), progress);
+        try {
+            ContractCsvReader contracts = new ContractCsvReader(reader, progress::rowRead);
+            BulkImportResultDTO result = bulkContractService.importContracts(contracts, progress);
+            progress.finish();
+            return CsvImportResultDTO.builder()
+                    .progress(progress.toDTO())
+                    .failures(result.getFailures())
+                    .build();
+        } finally {
+            runningImports.remove(progress.getId());
+        }
+    }
+
+    /**
+     * @return The progress of every CSV import that is currently running.
+     */
+    public List<ImportProgressDTO> getRunningImports() {
+        return runningImports.values().stream()
+                .map(ImportProgress::toDTO)
+                .toList();
+    }
+}
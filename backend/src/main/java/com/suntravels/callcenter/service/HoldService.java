@@ -0,0 +1,201 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.ReservationDTO;
+import com.suntravels.callcenter.exception.NoContractsFoundException;
+import com.suntravels.callcenter.model.Reservation;
+import com.suntravels.callcenter.repository.ReservationRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds rooms for a few minutes while an agent talks to a customer.
+ * <p>
+ * A hold takes its rooms out of the inventory like a reservation, see {@link ReservationService}, and
+ * gives them back when it expires after {@code callcenter.holds.duration} unless it has been confirmed
+ * or released. Expiry is driven by a {@link TimingWheel} advanced every {@code callcenter.holds.tick} by a
+ * single thread, so adding a hold and expiring it take constant time however many holds are outstanding,
+ * and the database is only touched for the holds that actually expire. Holds are saved as reservations
+ * with an expiry time, so those outstanding when the application stops are put back on the wheel when it
+ * starts again, and any that expired meanwhile are released on the first tick. Every
+ * {@code callcenter.holds.sweep-interval} the database is also searched for expired holds, which releases
+ * the holds of an instance that has stopped without waiting for it to start again.
+ */
+@Service
+@Timed("callcenter.hold.service")
+public class HoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldService.class);
+
+    private final ReservationService reservationService;
+    private final ReservationRepository reservationRepository;
+    private final Duration holdDuration;
+    private final Duration tick;
+    private final Duration sweepInterval;
+    private final Clock clock;
+    private final TimingWheel<Integer> wheel;
+
+    /**
+     * The waiting timeout of every hold scheduled by this instance, by reservation ID.
+     */
+    private final Map<Integer, TimingWheel.Timeout<Integer>> timeouts = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hold-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public HoldService(ReservationService reservationService, ReservationRepository reservationRepository,
+                       @Value("${callcenter.holds.duration:10m}") Duration holdDuration,
+                       @Value("${callcenter.holds.tick:1s}") Duration tick,
+                       @Value("${callcenter.holds.sweep-interval:1m}") Duration sweepInterval) {
+        this.reservationService = reservationService;
+        this.reservationRepository = reservationRepository;
+        this.holdDuration = holdDuration;
+        this.tick = tick;
+        this.sweepInterval = sweepInterval;
+        this.clock = Clock.systemUTC();
+        this.wheel = new TimingWheel<>(tick.toMillis(), clock.millis());
+    }
+
+    /**
+     * Holds rooms of a contract for a stay until the hold expires.
+     *
+     * @param reservationDTO The contract, stay and rooms to hold.
+     * @return The saved hold, with the time at which it expires.
+     */
+    public Reservation hold(@Valid ReservationDTO reservationDTO) {
+        Reservation hold = reservationService.reserve(reservationDTO, clock.instant().plus(holdDuration));
+        schedule(hold);
+        return hold;
+    }
+
+    /**
+     * Confirms a hold, turning it into a reservation that no longer expires.
+     *
+     * @param reservationId The ID of the hold.
+     * @return The confirmed reservation.
+     * @throws NoContractsFoundException if no hold with the given ID is waiting for confirmation.
+     */
+    public Reservation confirm(Integer reservationId) {
+        Reservation reservation = reservationService.confirmHold(reservationId, clock.instant());
+        cancelTimeout(reservationId);
+        return reservation;
+    }
+
+    /**
+     * Releases a hold before it expires, giving its rooms back.
+     *
+     * @param reservationId The ID of the hold.
+     * @throws NoContractsFoundException if no hold with the given ID is waiting for confirmation.
+     */
+    public void release(Integer reservationId) {
+        if (reservationService.releaseHold(reservationId, null) == null) {
+            throw new NoContractsFoundException("Hold doesn't exist by this Id or has expired");
+        }
+        cancelTimeout(reservationId);
+    }
+
+    /**
+     * @return The number of holds this instance is waiting to expire.
+     */
+    public int getOutstandingHolds() {
+        return wheel.size();
+    }
+
+    /**
+     * Puts the holds outstanding in the database on the wheel, starts advancing it and starts sweeping
+     * the database for expired holds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<Reservation> holds = reservationRepository.findByHeldUntilIsNotNull();
+        holds.forEach(this::schedule);
+        if (!holds.isEmpty()) {
+            log.info("Resumed {} outstanding holds", holds.size());
+        }
+        ticker.scheduleAtFixedRate(this::expireHolds, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+        ticker.scheduleAtFixedRate(this::sweepExpiredHolds, sweepInterval.toMillis(), sweepInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Releases the holds whose time has come. A hold that cannot be released now is tried again on the
+     * next tick.
+     */
+    void expireHolds() {
+        Instant now = clock.instant();
+        for (Integer reservationId : wheel.advance(now.toEpochMilli())) {
+            timeouts.remove(reservationId);
+            try {
+                reservationService.releaseHold(reservationId, now);
+            } catch (RuntimeException e) {
+                log.warn("Hold {} could not be released, retrying", reservationId, e);
+                timeouts.put(reservationId, wheel.schedule(reservationId, now.toEpochMilli()));
+            }
+        }
+    }
+
+    /**
+     * Releases the holds in the database that have expired, including those of other instances. A hold
+     * that cannot be released now is tried again on the next sweep.
+     */
+    void sweepExpiredHolds() {
+        Instant now = clock.instant();
+        List<Integer> expired;
+        try {
+            expired = reservationRepository.findIdsByHeldUntilBefore(now);
+        } catch (RuntimeException e) {
+            log.warn("Expired holds could not be looked up, retrying", e);
+            return;
+        }
+        for (Integer reservationId : expired) {
+            try {
+                reservationService.releaseHold(reservationId, now);
+                cancelTimeout(reservationId);
+            } catch (RuntimeException e) {
+                log.warn("Hold {} could not be released, retrying", reservationId, e);
+            }
+        }
+    }
+
+    private void schedule(Reservation hold) {
+        TimingWheel.Timeout<Integer> timeout =
+                wheel.schedule(hold.getReservationId(), hold.getHeldUntil().toEpochMilli());
+        TimingWheel.Timeout<Integer> previous = timeouts.put(hold.getReservationId(), timeout);
+        if (previous != null) {
+            wheel.cancel(previous);
+        }
+    }
+
+    private void cancelTimeout(Integer reservationId) {
+        TimingWheel.Timeout<Integer> timeout = timeouts.remove(reservationId);
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.ImportProgressDTO;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters of a running contract import.
+ * <p>
+ * The importing thread updates the counters while other threads may read them at any time through
+ * {@link #toDTO()}.
+ */
+public class ImportProgress {
+
+    private final String id;
+    private final String source;
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * The time the import finished, or 0 while it is running.
+     */
+    private volatile long finishNanos;
+
+    public ImportProgress(String id, String source) {
+        this.id = id;
+        this.source = source;
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void contractReceived() {
+        received.incrementAndGet();
+    }
+
+    public void contractsImported(int count) {
+        imported.addAndGet(count);
+    }
+
+    public void contractFailed() {
+        failed.incrementAndGet();
+    }
+
+    public void finish() {
+        finishNanos = System.nanoTime();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return A snapshot of the counters, with the average row throughput so far.
+     */
+    public ImportProgressDTO toDTO() {
+        long finish = finishNanos;
+        long elapsedNanos = Math.max((finish != 0 ? finish : System.nanoTime()) - startNanos, 1);
+        long rows = rowsRead.get();
+        return ImportProgressDTO.builder()
+                .id(id)
+                .source(source)
+                .rowsRead(rows)
+                .received(received.get())
+                .imported(imported.get())
+                .failed(failed.get())
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(rows * 1e9 / elapsedNanos)
+                .finished(finish != 0)
+                .build();
+    }
+}
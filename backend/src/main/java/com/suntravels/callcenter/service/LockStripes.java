@@ -0,0 +1,67 @@
+package com.suntravels.callcenter.service;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed number of locks that keys are spread over.
+ * <p>
+ * Work on the same key is serialized, while work on different keys only contends when their keys share a
+ * stripe, without keeping a lock per key. Callers holding several keys lock their stripes in ascending
+ * order, so two callers can never wait for each other.
+ */
+final class LockStripes {
+
+    private final ReentrantLock[] locks;
+
+    /**
+     * @param stripes The number of locks; rounded up to a power of two.
+     */
+    LockStripes(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        locks = new ReentrantLock[Math.max(size, 1)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs an action while holding the locks of all given keys.
+     *
+     * @param keys   The keys to lock.
+     * @param action The action to run.
+     * @return The result of the action.
+     */
+    <T> T withLocks(Collection<?> keys, Supplier<T> action) {
+        int[] stripes = keys.stream().mapToInt(this::stripe).sorted().distinct().toArray();
+        int locked = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * @return The number of locks.
+     */
+    int size() {
+        return locks.length;
+    }
+
+    int stripe(Object key) {
+        // Spread the hash over the low bits, so that keys with regular IDs do not share stripes
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (locks.length - 1);
+    }
+}
@@ -0,0 +1,160 @@
+package com.suntravels.callcenter.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Evaluates a list of candidates, in parallel when the list is large enough.
+ * <p>
+ * Lists shorter than {@code callcenter.search.parallel-threshold} are evaluated on the calling thread.
+ * Longer ones are split recursively on a dedicated fork-join pool of
+ * {@code callcenter.search.parallelism} threads until a piece is at most {@link #MIN_SPLIT} long. Each
+ * result is written to the slot of its candidate, so the results keep the order of the candidates no
+ * matter which thread produced them.
+ * <p>
+ * Results can also be handed on while the evaluation goes on: long lists are then evaluated in
+ * consecutive chunks of {@link #CHUNK_PIECES} pieces per thread, and the results of a chunk are passed on,
+ * in order, before the next chunk is evaluated.
+ */
+@Component
+public class ParallelContractEvaluator {
+
+    /**
+     * Pieces no longer than this are evaluated without further splitting.
+     */
+    static final int MIN_SPLIT = 256;
+
+    /**
+     * Pieces per thread in a chunk of streamed evaluation; more than one, so that threads finishing early
+     * can steal work instead of waiting for the slowest piece of the chunk.
+     */
+    static final int CHUNK_PIECES = 4;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    public ParallelContractEvaluator(@Value("${callcenter.search.parallel-threshold:2000}") int threshold,
+                                     @Value("${callcenter.search.parallelism:0}") int parallelism) {
+        this.threshold = threshold;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Applies the evaluator to every candidate.
+     *
+     * @param candidates The candidates to evaluate.
+     * @param evaluator  Produces the result for one candidate, or null if it yields none. It must be safe
+     *                   to call from several threads at once.
+     * @return The non-null results, in the order of their candidates.
+     */
+    public <C, R> List<R> evaluate(List<C> candidates, Function<C, R> evaluator) {
+        List<R> results = new ArrayList<>();
+        if (candidates.size() < threshold) {
+            for (C candidate : candidates) {
+                R result = evaluator.apply(candidate);
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            return results;
+        }
+
+        Object[] slots = new Object[candidates.size()];
+        pool.invoke(new EvaluationTask<>(candidates, evaluator, slots, 0, slots.length));
+        for (Object slot : slots) {
+            if (slot != null) {
+                @SuppressWarnings("unchecked")
+                R result = (R) slot;
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Applies the evaluator to every candidate, handing each result to the action as soon as the chunk of
+     * its candidate has been evaluated instead of collecting all results first.
+     *
+     * @param candidates The candidates to evaluate.
+     * @param evaluator  Produces the result for one candidate, or null if it yields none. It must be safe
+     *                   to call from several threads at once.
+     * @param action     The action to perform for each non-null result, in the order of their candidates.
+     *                   It is always called on the calling thread.
+     */
+    public <C, R> void evaluate(List<C> candidates, Function<C, R> evaluator, Consumer<R> action) {
+        if (candidates.size() < threshold) {
+            for (C candidate : candidates) {
+                R result = evaluator.apply(candidate);
+                if (result != null) {
+                    action.accept(result);
+                }
+            }
+            return;
+        }
+
+        int chunkSize = MIN_SPLIT * CHUNK_PIECES * pool.getParallelism();
+        Object[] slots = new Object[candidates.size()];
+        for (int from = 0; from < slots.length; from += chunkSize) {
+            int to = Math.min(from + chunkSize, slots.length);
+            pool.invoke(new EvaluationTask<>(candidates, evaluator, slots, from, to));
+            for (int i = from; i < to; i++) {
+                if (slots[i] != null) {
+                    @SuppressWarnings("unchecked")
+                    R result = (R) slots[i];
+                    slots[i] = null;
+                    action.accept(result);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of threads used for parallel evaluation.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static final class EvaluationTask<C, R> extends RecursiveAction {
+
+        private final List<C> candidates;
+        private final Function<C, R> evaluator;
+        private final Object[] slots;
+        private final int from;
+        private final int to;
+
+        EvaluationTask(List<C> candidates, Function<C, R> evaluator, Object[] slots, int from, int to) {
+            this.candidates = candidates;
+            this.evaluator = evaluator;
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MIN_SPLIT) {
+                for (int i = from; i < to; i++) {
+                    slots[i] = evaluator.apply(candidates.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvaluationTask<>(candidates, evaluator, slots, from, middle),
+                    new EvaluationTask<>(candidates, evaluator, slots, middle, to));
+        }
+    }
+}
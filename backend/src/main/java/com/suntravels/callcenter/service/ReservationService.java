@@ -0,0 +1,329 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.ReservationDTO;
+import com.suntravels.callcenter.dto.ReservedRoomDTO;
+import com.suntravels.callcenter.exception.NoContractsFoundException;
+import com.suntravels.callcenter.exception.RoomsUnavailableException;
+import com.suntravels.callcenter.index.ContractIndex;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.Reservation;
+import com.suntravels.callcenter.model.ReservedRoom;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.model.RoomInventory;
+import com.suntravels.callcenter.repository.ReservationRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.Valid;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Reserves rooms, taking them out of the per-night {@link RoomInventory} of their room types.
+ * <p>
+ * A reservation takes all its rooms on every night of the stay, or none. Reservations of the same room
+ * type are serialized by {@link LockStripes} keyed by room detail, so agents booking different hotels, or
+ * different room types of one hotel, never wait for each other, and those booking the same rooms queue in
+ * memory instead of on database row locks. Each reservation commits in its own short transaction that
+ * reads the current ledgers from the database and replaces them through the room detail's version, a
+ * compare-and-set that catches a concurrent booking by another application instance; such a conflict is
+ * retried with fresh ledgers. Once committed, the new ledgers are published to the {@link ContractIndex},
+ * which makes searches see them and drops the cached search results they affect.
+ * <p>
+ * Rooms can also be held, see {@link HoldService}: a hold takes its rooms like a reservation and gives
+ * them back the same way when it expires.
+ */
+@Service
+@Timed("callcenter.reservation.service")
+public class ReservationService {
+
+    /**
+     * Reads contracts and room details from the database rather than the second-level cache, which does not
+     * see writes made by other application instances.
+     */
+    private static final Map<String, Object> BYPASS_CACHE =
+            Map.of(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+
+    private final ReservationRepository reservationRepository;
+    private final ContractIndex contractIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final LockStripes lockStripes;
+    private final EntityManager entityManager;
+
+    /**
+     * How many times a reservation is tried when its ledgers keep being changed by other instances.
+     */
+    private final int maxAttempts;
+
+    @Autowired
+    public ReservationService(ReservationRepository reservationRepository, ContractIndex contractIndex, EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${callcenter.reservations.lock-stripes:256}") int lockStripes,
+                              @Value("${callcenter.reservations.max-attempts:5}") int maxAttempts) {
+        this.reservationRepository = reservationRepository;
+        this.contractIndex = contractIndex;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockStripes = new LockStripes(lockStripes);
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Reserves rooms of a contract for a stay.
+     *
+     * @param reservationDTO The contract, stay and rooms to reserve.
+     * @return The saved reservation, with the price of each room type.
+     * @throws NoContractsFoundException  if the contract or one of the room types does not exist.
+     * @throws RoomsUnavailableException  if the contract does not cover the stay, or some room type does not
+     *                                    have enough rooms free on every night of it.
+     * @throws OptimisticLockingFailureException if the rooms kept being booked by other application
+     *                                    instances for {@code callcenter.reservations.max-attempts} tries.
+     */
+    public Reservation reserve(@Valid ReservationDTO reservationDTO) {
+        return reserve(reservationDTO, null);
+    }
+
+    /**
+     * Reserves rooms of a contract for a stay, or holds them until the given time.
+     *
+     * @param reservationDTO The contract, stay and rooms to reserve.
+     * @param heldUntil      The time at which the hold expires, or null for a confirmed reservation.
+     * @return The saved reservation, with the price of each room type.
+     */
+    Reservation reserve(ReservationDTO reservationDTO, Instant heldUntil) {
+        // The room details to lock, read in a writing transaction from the primary rather than a replica
+        // that may not have the contract yet; the booking reads the contract again under the locks
+        Set<Integer> roomDetailIds = transactionTemplate.execute(status ->
+                requestedRooms(findContract(reservationDTO.getContractId()), reservationDTO).keySet());
+        return updateInventory(roomDetailIds, () -> book(reservationDTO, roomDetailIds, heldUntil));
+    }
+
+    /**
+     * Confirms a hold, so that it no longer expires.
+     *
+     * @param reservationId The ID of the hold.
+     * @param now           The current time; a hold that expired by then cannot be confirmed.
+     * @return The confirmed reservation.
+     * @throws NoContractsFoundException if no hold with the given ID is waiting for confirmation.
+     */
+    Reservation confirmHold(Integer reservationId, Instant now) {
+        return transactionTemplate.execute(status -> {
+            Reservation hold = entityManager.find(Reservation.class, reservationId);
+            if (hold == null || hold.getHeldUntil() == null || !hold.getHeldUntil().isAfter(now)) {
+                throw new NoContractsFoundException("Hold doesn't exist by this Id or has expired");
+            }
+            hold.setHeldUntil(null);
+            return hold;
+        });
+    }
+
+    /**
+     * Gives the rooms of a hold back and deletes it, unless it has been confirmed.
+     *
+     * @param reservationId The ID of the hold.
+     * @param expiredBy     Only release the hold if it expired by this time; null to release it anyway.
+     * @return The released hold, or null if there was no such hold to release.
+     */
+    Reservation releaseHold(Integer reservationId, Instant expiredBy) {
+        // Read in a writing transaction, from the primary rather than a replica that may lag behind it
+        Reservation hold = transactionTemplate.execute(status -> reservationRepository.findById(reservationId).orElse(null));
+        if (hold == null || hold.getHeldUntil() == null) {
+            return null;
+        }
+        List<Integer> roomDetailIds = hold.getRooms().stream().map(ReservedRoom::getRoomDetailId).toList();
+        return updateInventory(roomDetailIds, () -> unbook(reservationId, expiredBy));
+    }
+
+    /**
+     * Runs a change of room inventory in its own transaction while holding the stripes of its room details,
+     * and retries it when the ledgers were changed by another instance meanwhile. The committed ledgers are
+     * published to the index before the stripes are released, so those of the same rooms are published in
+     * commit order.
+     */
+    private Reservation updateInventory(Collection<Integer> roomDetailIds, Supplier<Booking> change) {
+        return lockStripes.withLocks(roomDetailIds, () -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    Booking booking = transactionTemplate.execute(status -> change.get());
+                    if (booking.contract() != null && !booking.ledgers().isEmpty()) {
+                        contractIndex.updateInventory(booking.contract(), booking.ledgers());
+                    }
+                    return booking.reservation();
+                } catch (OptimisticLockException | OptimisticLockingFailureException e) {
+                    if (attempt >= maxAttempts) {
+                        throw new OptimisticLockingFailureException("The rooms are being booked concurrently, try again", e);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Takes the requested rooms out of their current ledgers and saves the reservation, in the running
+     * transaction. The contract is read here, bypassing the second-level cache, so that the stay and the
+     * prices are checked against its current version.
+     *
+     * @param roomDetailIds The room details whose stripes are held.
+     */
+    private Booking book(ReservationDTO reservationDTO, Set<Integer> roomDetailIds, Instant heldUntil) {
+        Contract contract = findContract(reservationDTO.getContractId());
+        int nights = reservationDTO.getNoOfNights();
+        LocalDate checkOutDate = reservationDTO.getCheckInDate().plusDays(nights);
+        if (contract.getStartDate().isAfter(reservationDTO.getCheckInDate()) || contract.getEndDate().isBefore(checkOutDate)) {
+            throw new RoomsUnavailableException("The contract does not cover the stay");
+        }
+        Map<Integer, Integer> requested = requestedRooms(contract, reservationDTO);
+        if (!roomDetailIds.equals(requested.keySet())) {
+            throw new NoContractsFoundException("The room types of the contract have changed");
+        }
+
+        Map<Integer, byte[]> ledgers = new HashMap<>();
+        List<ReservedRoom> rooms = new ArrayList<>(requested.size());
+        double totalPrice = 0;
+        for (Map.Entry<Integer, Integer> entry : requested.entrySet()) {
+            RoomDetail roomDetail = entityManager.find(RoomDetail.class, entry.getKey(), BYPASS_CACHE);
+            if (roomDetail == null) {
+                throw new NoContractsFoundException("Room type doesn't exist by this Id");
+            }
+            if (!take(contract, roomDetail, reservationDTO.getCheckInDate(), nights, entry.getValue())) {
+                throw new RoomsUnavailableException("Not enough " + roomDetail.getRoomType()
+                        + " rooms are free on every night of the stay");
+            }
+            ledgers.put(roomDetail.getRoomDetailId(), roomDetail.getRemainingRooms());
+
+            double price = ContractService.markUpPrice(roomDetail, nights, entry.getValue(), contract.getMarkUpRate());
+            rooms.add(ReservedRoom.builder()
+                    .roomDetailId(roomDetail.getRoomDetailId())
+                    .roomType(roomDetail.getRoomType())
+                    .numberOfRooms(entry.getValue())
+                    .totalPrice(price)
+                    .build());
+            totalPrice += price;
+        }
+
+        Reservation reservation = reservationRepository.save(Reservation.builder()
+                .contractId(contract.getContractId())
+                .hotelName(contract.getHotelName())
+                .checkInDate(reservationDTO.getCheckInDate())
+                .noOfNights(nights)
+                .totalPrice(totalPrice)
+                .heldUntil(heldUntil)
+                .rooms(rooms)
+                .build());
+        // A ledger changed by another instance fails here, on its version, rather than at commit
+        entityManager.flush();
+        return new Booking(contract, reservation, ledgers);
+    }
+
+    /**
+     * Reads a contract with its room details in the running transaction, bypassing the second-level cache.
+     *
+     * @throws NoContractsFoundException if no contract with the given ID exists.
+     */
+    private Contract findContract(Integer contractId) {
+        Contract contract = entityManager.find(Contract.class, contractId, BYPASS_CACHE);
+        if (contract == null) {
+            throw new NoContractsFoundException("Contract doesn't exist by this Id");
+        }
+        return contract;
+    }
+
+    /**
+     * Resolves the requested room types to the room details of the contract.
+     *
+     * @return The number of rooms per room detail ID, adding up repeated room types.
+     * @throws NoContractsFoundException if the contract has no room of a requested type.
+     */
+    private static Map<Integer, Integer> requestedRooms(Contract contract, ReservationDTO reservationDTO) {
+        Map<Integer, Integer> requested = new LinkedHashMap<>();
+        for (ReservedRoomDTO room : reservationDTO.getRooms()) {
+            RoomDetail roomDetail = contract.getRoomDetails().stream()
+                    .filter(candidate -> candidate.getRoomType().equalsIgnoreCase(room.getRoomType()))
+                    .findFirst()
+                    .orElseThrow(() -> new NoContractsFoundException("The contract has no room type " + room.getRoomType()));
+            requested.merge(roomDetail.getRoomDetailId(), room.getNumberOfRooms(), Integer::sum);
+        }
+        return requested;
+    }
+
+    /**
+     * Deletes a hold that has not been confirmed and puts its rooms back into their current ledgers, in the
+     * running transaction.
+     */
+    private Booking unbook(Integer reservationId, Instant expiredBy) {
+        Reservation hold = entityManager.find(Reservation.class, reservationId);
+        if (hold == null || hold.getHeldUntil() == null
+                || (expiredBy != null && hold.getHeldUntil().isAfter(expiredBy))) {
+            return new Booking(null, null, Map.of());
+        }
+        Contract contract = entityManager.find(Contract.class, hold.getContractId());
+        Map<Integer, byte[]> ledgers = new HashMap<>();
+        // Rooms of a deleted contract have nowhere to go back to
+        if (contract != null) {
+            for (ReservedRoom room : hold.getRooms()) {
+                RoomDetail roomDetail = entityManager.find(RoomDetail.class, room.getRoomDetailId(), BYPASS_CACHE);
+                if (roomDetail != null) {
+                    take(contract, roomDetail, hold.getCheckInDate(), hold.getNoOfNights(), -room.getNumberOfRooms());
+                    ledgers.put(roomDetail.getRoomDetailId(), roomDetail.getRemainingRooms());
+                }
+            }
+        }
+        // Fails on the hold's version if it was confirmed or released meanwhile
+        entityManager.remove(hold);
+        entityManager.flush();
+        return new Booking(contract, hold, ledgers);
+    }
+
+    /**
+     * Takes rooms out of a room detail's ledger for a stay, or gives them back if negative.
+     *
+     * @return false if the rooms are not free on every night of the stay.
+     */
+    private static boolean take(Contract contract, RoomDetail roomDetail, LocalDate checkInDate, int nights, int rooms) {
+        byte[] ledger;
+        try {
+            ledger = RoomInventory.take(roomDetail.getRemainingRooms(), roomDetail.getNumberOfRooms(),
+                    RoomInventory.night(contract.getStartDate(), contract.getEndDate()),
+                    RoomInventory.night(contract.getStartDate(), checkInDate), nights, rooms);
+        } catch (IllegalArgumentException e) {
+            throw new RoomsUnavailableException(e.getMessage());
+        }
+        if (ledger == null) {
+            return false;
+        }
+        roomDetail.setRemainingRooms(ledger);
+        return true;
+    }
+
+    /**
+     * Finds a reservation by its ID.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return The reservation with its rooms.
+     * @throws NoContractsFoundException if no reservation with the given ID exists.
+     */
+    public Reservation getReservation(Integer reservationId) {
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new NoContractsFoundException("Reservation doesn't exist by this Id"));
+    }
+
+    private record Booking(Contract contract, Reservation reservation, Map<Integer, byte[]> ledgers) {
+    }
+}
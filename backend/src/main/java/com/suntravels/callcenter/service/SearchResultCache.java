@@ -0,0 +1,335 @@
+package com.suntravels.callcenter.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.suntravels.callcenter.dto.AvailableContractDTO;
+import com.suntravels.callcenter.dto.AvailableRoomDTO;
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.dto.SearchCacheStatsDTO;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.dto.SortBy;
+import com.suntravels.callcenter.index.ContractChangeListener;
+import com.suntravels.callcenter.model.Contract;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Bounded cache of availability search results, placed in front of {@link ContractService#searchAvailability}.
+ * <p>
+ * Searches are cached under a canonical key: the check-in date, the number of nights, the distinct
+ * room requirements in sorted order, and the order and limit of the result. Requirement order and
+ * repeated requirements do not change which contracts qualify, so every search with the same key shares
+ * one entry, and the result is re-labelled with the caller's own requirement IDs and priced for the
+ * caller's requirements on the way out. Ranked searches keep repeated requirements in their key, as each
+ * repetition adds to the total price that ranks the contracts. Eviction is Caffeine's W-TinyLFU policy.
+ * <p>
+ * When a contract is added, changed or deleted, only the entries whose stay that contract covers
+ * (before or after the change) are invalidated. The keys are indexed by check-in date, so a change only
+ * looks at the searches that check in within the contract, not at the whole cache.
+ */
+@Component
+public class SearchResultCache implements ContractChangeListener {
+
+    private static final Comparator<Requirement> REQUIREMENT_ORDER =
+            Comparator.comparingInt(Requirement::maxAdults).thenComparingInt(Requirement::numberOfRooms);
+
+    private final Cache<SearchKey, List<AvailableContractDTO>> cache;
+
+    /**
+     * The cached keys by check-in date. A key is added in the same atomic operation that caches it and
+     * removed in the one that evicts or invalidates it, so every cached key is found here.
+     */
+    private final Map<LocalDate, Set<SearchKey>> keysByCheckInDate = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented before every invalidation, so that a search computed concurrently with a contract
+     * change can detect it and drop its possibly stale result.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public SearchResultCache(@Value("${callcenter.search-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .evictionListener((SearchKey key, List<AvailableContractDTO> result, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached result for the search, computing and caching it on a miss.
+     *
+     * @param searchDTO The search to answer.
+     * @param loader    Computes the available contracts for a search; it is called with the canonical
+     *                  form of the search, whose requirement IDs refer to the canonical requirement order.
+     * @return The available contracts, with requirement IDs matching the given search.
+     */
+    public List<AvailableContractDTO> get(SearchDTO searchDTO, Function<SearchDTO, List<AvailableContractDTO>> loader) {
+        SearchKey key = SearchKey.of(searchDTO);
+        List<AvailableContractDTO> result = cache.getIfPresent(key);
+        if (result == null) {
+            long invalidationsBefore = invalidations.get();
+            result = loader.apply(key.toSearchDTO());
+            put(key, result);
+            if (invalidations.get() != invalidationsBefore) {
+                // A contract changed while computing; the result may predate it
+                invalidate(key);
+            }
+        }
+        return relabel(result, key, searchDTO.getRoomRequirements());
+    }
+
+    /**
+     * Returns the cached results for several searches, computing the missing ones together.
+     *
+     * @param searchDTOs The searches to answer.
+     * @param loader     Computes the available contracts of several searches at once; it is called at most
+     *                   once, with the canonical forms of the distinct searches that are not cached, and
+     *                   returns their results in the same order.
+     * @return The available contracts of each search, with requirement IDs matching that search.
+     */
+    public List<List<AvailableContractDTO>> getAll(List<SearchDTO> searchDTOs,
+                                                   Function<List<SearchDTO>, List<List<AvailableContractDTO>>> loader) {
+        List<SearchKey> keys = searchDTOs.stream().map(SearchKey::of).toList();
+        Map<SearchKey, List<AvailableContractDTO>> results = new HashMap<>();
+        Set<SearchKey> missing = new LinkedHashSet<>();
+        for (SearchKey key : keys) {
+            if (!results.containsKey(key) && !missing.contains(key)) {
+                List<AvailableContractDTO> result = cache.getIfPresent(key);
+                if (result != null) {
+                    results.put(key, result);
+                } else {
+                    missing.add(key);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long invalidationsBefore = invalidations.get();
+            List<SearchKey> loading = List.copyOf(missing);
+            List<List<AvailableContractDTO>> loaded = loader.apply(loading.stream().map(SearchKey::toSearchDTO).toList());
+            for (int i = 0; i < loading.size(); i++) {
+                results.put(loading.get(i), loaded.get(i));
+                put(loading.get(i), loaded.get(i));
+            }
+            if (invalidations.get() != invalidationsBefore) {
+                // A contract changed while computing; the results may predate it
+                loading.forEach(this::invalidate);
+            }
+        }
+
+        List<List<AvailableContractDTO>> relabelled = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            relabelled.add(relabel(results.get(keys.get(i)), keys.get(i), searchDTOs.get(i).getRoomRequirements()));
+        }
+        return relabelled;
+    }
+
+    /**
+     * Returns the cached result for the search without computing it on a miss.
+     *
+     * @param searchDTO The search to look up.
+     * @return The available contracts, with requirement IDs matching the given search, or null if not cached.
+     */
+    public List<AvailableContractDTO> getIfPresent(SearchDTO searchDTO) {
+        SearchKey key = SearchKey.of(searchDTO);
+        List<AvailableContractDTO> result = cache.getIfPresent(key);
+        return result != null ? relabel(result, key, searchDTO.getRoomRequirements()) : null;
+    }
+
+    /**
+     * @return The hit, miss and eviction counters of the cache.
+     */
+    public SearchCacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        return SearchCacheStatsDTO.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+
+    @Override
+    public void contractChanged(Contract previous, Contract current) {
+        invalidations.incrementAndGet();
+        invalidateCoveredBy(previous);
+        invalidateCoveredBy(current);
+    }
+
+    /**
+     * Invalidates the searches whose stay the contract covers. Those check in on a night of the contract,
+     * so only the keys of those check-in dates are looked at; when the contract spans more dates than are
+     * cached, the cached dates are walked instead.
+     */
+    private void invalidateCoveredBy(Contract contract) {
+        if (contract == null) {
+            return;
+        }
+        LocalDate startDate = contract.getStartDate();
+        LocalDate endDate = contract.getEndDate();
+        if (ChronoUnit.DAYS.between(startDate, endDate) <= keysByCheckInDate.size()) {
+            for (LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1)) {
+                invalidateCoveredBy(keysByCheckInDate.get(date), contract);
+            }
+        } else {
+            keysByCheckInDate.forEach((date, keys) -> {
+                if (!date.isBefore(startDate) && date.isBefore(endDate)) {
+                    invalidateCoveredBy(keys, contract);
+                }
+            });
+        }
+    }
+
+    private void invalidateCoveredBy(Set<SearchKey> keys, Contract contract) {
+        if (keys != null) {
+            for (SearchKey key : List.copyOf(keys)) {
+                if (key.isCoveredBy(contract)) {
+                    invalidate(key);
+                }
+            }
+        }
+    }
+
+    private void put(SearchKey key, List<AvailableContractDTO> result) {
+        cache.asMap().compute(key, (k, previous) -> {
+            keysByCheckInDate.compute(k.checkInDate(), (date, keys) -> {
+                Set<SearchKey> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                indexed.add(k);
+                return indexed;
+            });
+            return result;
+        });
+    }
+
+    private void invalidate(SearchKey key) {
+        cache.asMap().compute(key, (k, previous) -> {
+            unindex(k);
+            return null;
+        });
+    }
+
+    private void unindex(SearchKey key) {
+        keysByCheckInDate.computeIfPresent(key.checkInDate(), (date, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Copies a canonical result, giving each room the ID of the caller's requirement it satisfies.
+     * The rooms of a contract are grouped by canonical requirement in ascending order.
+     */
+    private static List<AvailableContractDTO> relabel(List<AvailableContractDTO> result, SearchKey key,
+                                                      List<RoomRequirementDTO> requirements) {
+        int[] canonicalIds = new int[requirements.size()];
+        for (int i = 0; i < requirements.size(); i++) {
+            canonicalIds[i] = key.requirementId(Requirement.of(requirements.get(i)));
+        }
+
+        List<AvailableContractDTO> relabelled = new ArrayList<>(result.size());
+        int[] groupStart = new int[key.requirements().size() + 2];
+        for (AvailableContractDTO contract : result) {
+            List<AvailableRoomDTO> rooms = contract.getAvailableRooms();
+            for (int i = 0, group = 0; group < groupStart.length; group++) {
+                while (i < rooms.size() && rooms.get(i).getRequirementId() < group) {
+                    i++;
+                }
+                groupStart[group] = i;
+            }
+
+            List<AvailableRoomDTO> availableRooms = new ArrayList<>();
+            double totalPrice = 0;
+            for (int i = 0; i < canonicalIds.length; i++) {
+                double cheapest = Double.MAX_VALUE;
+                for (int r = groupStart[canonicalIds[i]]; r < groupStart[canonicalIds[i] + 1]; r++) {
+                    AvailableRoomDTO room = rooms.get(r);
+                    cheapest = Math.min(cheapest, room.getTotalPrice());
+                    availableRooms.add(AvailableRoomDTO.builder()
+                            .requirementId(i + 1)
+                            .roomType(room.getRoomType())
+                            .totalPrice(room.getTotalPrice())
+                            .build());
+                }
+                totalPrice += cheapest;
+            }
+            relabelled.add(AvailableContractDTO.builder()
+                    .contractId(contract.getContractId())
+                    .hotelName(contract.getHotelName())
+                    .totalPrice(totalPrice)
+                    .availableRooms(availableRooms)
+                    .build());
+        }
+        return relabelled;
+    }
+
+    private record Requirement(int maxAdults, int numberOfRooms) {
+
+        static Requirement of(RoomRequirementDTO requirement) {
+            return new Requirement(requirement.getMaxAdults(), requirement.getNumberOfRooms());
+        }
+    }
+
+    /**
+     * Canonical form of a search: the requirements sorted, and merged if repeated unless the result is
+     * ranked, with the order and limit of the result.
+     */
+    private record SearchKey(LocalDate checkInDate, int noOfNights, List<Requirement> requirements,
+                             SortBy sortBy, Integer limit) {
+
+        static SearchKey of(SearchDTO searchDTO) {
+            SortBy sortBy = searchDTO.effectiveSortBy();
+            Stream<Requirement> requirements = searchDTO.getRoomRequirements().stream().map(Requirement::of);
+            if (sortBy == null) {
+                requirements = requirements.distinct();
+            }
+            return new SearchKey(searchDTO.getCheckInDate(), searchDTO.getNoOfNights(),
+                    requirements.sorted(REQUIREMENT_ORDER).toList(), sortBy, searchDTO.getLimit());
+        }
+
+        SearchDTO toSearchDTO() {
+            return SearchDTO.builder()
+                    .checkInDate(checkInDate)
+                    .noOfNights(noOfNights)
+                    .sortBy(sortBy)
+                    .limit(limit)
+                    .roomRequirements(requirements.stream()
+                            .map(requirement -> RoomRequirementDTO.builder()
+                                    .maxAdults(requirement.maxAdults())
+                                    .numberOfRooms(requirement.numberOfRooms())
+                                    .build())
+                            .toList())
+                    .build();
+        }
+
+        /**
+         * @return The 1-based ID of the requirement within the canonical requirement order; the first of
+         * its repetitions if it is repeated.
+         */
+        int requirementId(Requirement requirement) {
+            return requirements.indexOf(requirement) + 1;
+        }
+
+        boolean isCoveredBy(Contract contract) {
+            return contract != null
+                    && !contract.getStartDate().isAfter(checkInDate)
+                    && !contract.getEndDate().isBefore(checkInDate.plusDays(noOfNights));
+        }
+    }
+}
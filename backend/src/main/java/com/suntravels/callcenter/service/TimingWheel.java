@@ -0,0 +1,189 @@
+package com.suntravels.callcenter.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel: timeouts that fire after a deadline, in ticks of a fixed length.
+ * <p>
+ * There are {@value #LEVELS} wheels of {@value #SLOTS} slots each. A slot of level {@code n} holds the
+ * timeouts of a span of {@code 64^n} ticks, so the wheels together reach {@code 64^4} ticks ahead; a
+ * timeout beyond that waits in the last level until it comes within reach. Whenever a level has gone
+ * round once, the next slot of the level above is emptied into the levels below, so a timeout moves down
+ * at most three times before the slot it sits in fires. Scheduling and cancelling are constant time, and
+ * advancing costs one step per tick plus the timeouts that fire or move down, however many are waiting.
+ * <p>
+ * The wheel is safe for use by several threads. Fired timeouts are returned to the caller of
+ * {@link #advance(long)} rather than run under the wheel's lock.
+ *
+ * @param <T> The type of the items to time out.
+ */
+final class TimingWheel<T> {
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 4;
+
+    private static final long SLOT_MASK = SLOTS - 1;
+
+    /**
+     * The number of ticks the wheels reach ahead of the current tick.
+     */
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+
+    /**
+     * The list head of every slot, level by level.
+     */
+    private final Timeout<T>[] slots;
+
+    /**
+     * The last tick whose slot has fired.
+     */
+    private long currentTick;
+
+    private int size;
+
+    /**
+     * @param tickMillis The length of a tick in milliseconds; timeouts fire up to one tick late.
+     * @param nowMillis  The current time in milliseconds.
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        this.slots = new Timeout[LEVELS * SLOTS];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Timeout<>(null, 0);
+            slots[i].prev = slots[i];
+            slots[i].next = slots[i];
+        }
+    }
+
+    /**
+     * Schedules an item to time out.
+     *
+     * @param item           The item to return from {@link #advance(long)} once its deadline has passed.
+     * @param deadlineMillis The time in milliseconds at or after which the item times out.
+     * @return The timeout, for {@link #cancel(Timeout)}.
+     */
+    synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        // Never in the slot of the current tick, which has fired already
+        long deadline = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(item, deadline);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a timeout that has not fired yet.
+     *
+     * @param timeout A timeout scheduled on this wheel.
+     * @return false if the timeout had already fired or been cancelled.
+     */
+    synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.next == null) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to the given time, firing every timeout whose deadline has passed.
+     *
+     * @param nowMillis The current time in milliseconds.
+     * @return The items that timed out, in the order of their deadlines' ticks.
+     */
+    synchronized List<T> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (currentTick < nowTick) {
+            if (size == 0) {
+                currentTick = nowTick;
+                break;
+            }
+            currentTick++;
+            cascade();
+            Timeout<T> head = slots[(int) (currentTick & SLOT_MASK)];
+            for (Timeout<T> timeout = head.next; timeout != head; timeout = head.next) {
+                unlink(timeout);
+                size--;
+                expired.add(timeout.item);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return The number of timeouts waiting to fire.
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Empties the slots due at the current tick of every level that has just gone round, from the highest
+     * level down, so that nothing is moved into a slot that has already been emptied.
+     */
+    private void cascade() {
+        int level = 0;
+        while (level < LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            Timeout<T> head = slots[level * SLOTS + (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+            for (Timeout<T> timeout = head.next; timeout != head; timeout = head.next) {
+                unlink(timeout);
+                insert(timeout);
+            }
+        }
+    }
+
+    private void insert(Timeout<T> timeout) {
+        long placement = Math.min(timeout.deadline, currentTick + SPAN - 1);
+        long delta = placement - currentTick;
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        Timeout<T> head = slots[level * SLOTS + (int) ((placement >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+    }
+
+    private static <T> void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * An item waiting in a slot of the wheel. Unlinked once it has fired or been cancelled.
+     */
+    static final class Timeout<T> {
+
+        private final T item;
+        private final long deadline;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        T item() {
+            return item;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.suntravels.callcenter.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the {@code k} best items offered to it, in a bounded heap.
+ * <p>
+ * The heap is ordered worst first, so an item better than the worst kept one replaces it in
+ * {@code O(log k)} and any other item is dropped at once. Once {@code k} items are kept, {@link #worst()}
+ * is the bar a new item must beat, which lets callers skip work on items that cannot make it.
+ * <p>
+ * Safe to use from several threads at once; {@link #worst()} does not lock.
+ *
+ * @param <T> The type of the items.
+ */
+public final class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * The head of the heap once it is full, or null while fewer than {@code k} items are kept.
+     */
+    private volatile T worst;
+
+    /**
+     * @param k     The number of items to keep; {@link Integer#MAX_VALUE} keeps all of them.
+     * @param order Orders the items best first. It must be consistent, e.g. by ending with a unique key,
+     *              for the kept items not to depend on the order they were offered in.
+     */
+    public TopK(int k, Comparator<? super T> order) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.min(k, 64) + 1, order.reversed());
+    }
+
+    /**
+     * Offers an item, keeping it if it is among the {@code k} best so far.
+     *
+     * @param item The item; null is ignored.
+     * @return true if the item is kept, for now.
+     */
+    public synchronized boolean offer(T item) {
+        if (item == null) {
+            return false;
+        }
+        if (heap.size() < k) {
+            heap.add(item);
+        } else if (order.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(item);
+        } else {
+            return false;
+        }
+        if (heap.size() == k) {
+            worst = heap.peek();
+        }
+        return true;
+    }
+
+    /**
+     * @return The worst of the {@code k} items kept, which an item must beat to be kept, or null while
+     * fewer than {@code k} items have been offered.
+     */
+    public T worst() {
+        return worst;
+    }
+
+    /**
+     * @return The kept items, best first.
+     */
+    public synchronized List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(order);
+        return sorted;
+    }
+}
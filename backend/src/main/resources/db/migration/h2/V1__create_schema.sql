@@ -0,0 +1,23 @@
+-- Schema as previously generated by Hibernate from the entity mappings.
+CREATE SEQUENCE contract_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE room_detail_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE contract (
+    contract_id  INTEGER          NOT NULL,
+    hotel_name   VARCHAR(255)     NOT NULL,
+    start_date   DATE             NOT NULL,
+    end_date     DATE             NOT NULL,
+    mark_up_rate DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (contract_id)
+);
+
+CREATE TABLE room_detail (
+    room_detail_id   INTEGER          NOT NULL,
+    room_type        VARCHAR(255)     NOT NULL,
+    price_per_person DOUBLE PRECISION NOT NULL,
+    number_of_rooms  INTEGER          NOT NULL,
+    max_adults       INTEGER          NOT NULL,
+    contract_id      INTEGER,
+    PRIMARY KEY (room_detail_id),
+    CONSTRAINT fk_room_detail_contract FOREIGN KEY (contract_id) REFERENCES contract (contract_id)
+);
@@ -0,0 +1,2 @@
+-- Rooms still free on each night of the contract, one 4-byte count per night; NULL until a room is sold.
+ALTER TABLE room_detail ADD COLUMN remaining_rooms VARBINARY(16384);
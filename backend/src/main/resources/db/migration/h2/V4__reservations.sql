@@ -0,0 +1,25 @@
+-- Version of a room type's inventory, compared and incremented on every ledger update.
+ALTER TABLE room_detail ADD COLUMN version INTEGER DEFAULT 0 NOT NULL;
+
+CREATE SEQUENCE reservation_seq START WITH 1 INCREMENT BY 50;
+
+-- Reservations keep the hotel and room types they were made for, so they outlive their contract.
+CREATE TABLE reservation (
+    reservation_id INTEGER          NOT NULL,
+    contract_id    INTEGER          NOT NULL,
+    hotel_name     VARCHAR(255)     NOT NULL,
+    check_in_date  DATE             NOT NULL,
+    no_of_nights   INTEGER          NOT NULL,
+    total_price    DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (reservation_id)
+);
+CREATE INDEX idx_reservation_contract ON reservation (contract_id);
+
+CREATE TABLE reservation_room (
+    reservation_id  INTEGER          NOT NULL,
+    room_detail_id  INTEGER          NOT NULL,
+    room_type       VARCHAR(255)     NOT NULL,
+    number_of_rooms INTEGER          NOT NULL,
+    total_price     DOUBLE PRECISION NOT NULL,
+    CONSTRAINT fk_reservation_room_reservation FOREIGN KEY (reservation_id) REFERENCES reservation (reservation_id)
+);
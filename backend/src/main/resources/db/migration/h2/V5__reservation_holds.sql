@@ -0,0 +1,4 @@
+-- Holds are reservations with an expiry time, cleared when the hold is confirmed.
+ALTER TABLE reservation ADD COLUMN held_until TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE reservation ADD COLUMN version INTEGER DEFAULT 0 NOT NULL;
+CREATE INDEX idx_reservation_held_until ON reservation (held_until);
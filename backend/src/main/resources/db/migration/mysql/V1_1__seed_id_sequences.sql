@@ -0,0 +1,18 @@
+-- A database created by Hibernate before migrations existed is baselined at version 1, so V1 never ran
+-- on it: its IDs came from AUTO_INCREMENT and it lacks the tables of the pooled ID sequences. Create
+-- them if missing and seed them past the existing rows. With an allocation size of 50, Hibernate hands
+-- out the 50 IDs up to the value it reads, so the value must be at least the highest ID plus 50.
+-- On a database created by V1 the tables exist and nothing changes while they are empty.
+CREATE TABLE IF NOT EXISTS contract_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO contract_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM contract_seq);
+UPDATE contract_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(contract_id) + 50, 1) FROM contract));
+
+CREATE TABLE IF NOT EXISTS room_detail_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO room_detail_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM room_detail_seq);
+UPDATE room_detail_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(room_detail_id) + 50, 1) FROM room_detail));
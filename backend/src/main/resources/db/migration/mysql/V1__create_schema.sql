@@ -0,0 +1,32 @@
+-- Schema as previously generated by Hibernate from the entity mappings.
+-- Databases created by Hibernate before migrations were introduced are baselined at this version.
+-- MySQL has no sequences, so Hibernate keeps the pooled sequences in single-row tables.
+CREATE TABLE contract_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO contract_seq VALUES (1);
+
+CREATE TABLE room_detail_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO room_detail_seq VALUES (1);
+
+CREATE TABLE contract (
+    contract_id  INT          NOT NULL,
+    hotel_name   VARCHAR(255) NOT NULL,
+    start_date   DATE         NOT NULL,
+    end_date     DATE         NOT NULL,
+    mark_up_rate DOUBLE       NOT NULL,
+    PRIMARY KEY (contract_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE room_detail (
+    room_detail_id   INT          NOT NULL,
+    room_type        VARCHAR(255) NOT NULL,
+    price_per_person DOUBLE       NOT NULL,
+    number_of_rooms  INT          NOT NULL,
+    max_adults       INT          NOT NULL,
+    contract_id      INT,
+    PRIMARY KEY (room_detail_id),
+    CONSTRAINT fk_room_detail_contract FOREIGN KEY (contract_id) REFERENCES contract (contract_id)
+) ENGINE = InnoDB;
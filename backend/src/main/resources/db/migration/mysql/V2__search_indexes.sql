@@ -0,0 +1,13 @@
+-- Availability search: contracts covering the stay (start_date <= check-in AND end_date >= check-out).
+CREATE INDEX idx_contract_dates ON contract (start_date, end_date);
+
+-- Room details of a contract, and the room requirement check (maxAdults = ? AND numberOfRooms >= ?).
+-- Also serves the contract_id foreign key.
+CREATE INDEX idx_room_detail_requirement ON room_detail (contract_id, max_adults, number_of_rooms);
+
+-- Hotel name in lower case for case-insensitive lookups, kept up to date by the Contract entity.
+-- Hotel name searches match the text anywhere in the name (LIKE '%text%'), which no B-tree index can
+-- serve, so the column is not indexed; it only spares the search lowering every stored name.
+ALTER TABLE contract ADD COLUMN hotel_name_normalized VARCHAR(255);
+UPDATE contract SET hotel_name_normalized = LOWER(hotel_name);
+ALTER TABLE contract MODIFY hotel_name_normalized VARCHAR(255) NOT NULL;
@@ -0,0 +1,28 @@
+-- Version of a room type's inventory, compared and incremented on every ledger update.
+ALTER TABLE room_detail ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+CREATE TABLE reservation_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO reservation_seq VALUES (1);
+
+-- Reservations keep the hotel and room types they were made for, so they outlive their contract.
+CREATE TABLE reservation (
+    reservation_id INT          NOT NULL,
+    contract_id    INT          NOT NULL,
+    hotel_name     VARCHAR(255) NOT NULL,
+    check_in_date  DATE         NOT NULL,
+    no_of_nights   INT          NOT NULL,
+    total_price    DOUBLE       NOT NULL,
+    PRIMARY KEY (reservation_id)
+) ENGINE = InnoDB;
+CREATE INDEX idx_reservation_contract ON reservation (contract_id);
+
+CREATE TABLE reservation_room (
+    reservation_id  INT          NOT NULL,
+    room_detail_id  INT          NOT NULL,
+    room_type       VARCHAR(255) NOT NULL,
+    number_of_rooms INT          NOT NULL,
+    total_price     DOUBLE       NOT NULL,
+    CONSTRAINT fk_reservation_room_reservation FOREIGN KEY (reservation_id) REFERENCES reservation (reservation_id)
+) ENGINE = InnoDB;
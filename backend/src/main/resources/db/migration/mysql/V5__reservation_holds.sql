@@ -0,0 +1,4 @@
+-- Holds are reservations with an expiry time, cleared when the hold is confirmed.
+ALTER TABLE reservation ADD COLUMN held_until DATETIME(6) NULL;
+ALTER TABLE reservation ADD COLUMN version INT NOT NULL DEFAULT 0;
+CREATE INDEX idx_reservation_held_until ON reservation (held_until);
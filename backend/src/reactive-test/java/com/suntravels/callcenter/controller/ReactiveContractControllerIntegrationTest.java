@@ -0,0 +1,197 @@
+package com.suntravels.callcenter.controller;
+
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.ContractView;
+import com.suntravels.callcenter.dto.RoomDetailDTO;
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.repository.ContractRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for the ReactiveContractController.
+ * <p>
+ * This test class loads the full application context in the reactive profile and uses WebTestClient to test
+ * the HTTP endpoints, reading through R2DBC from the same in-memory database as JPA. The database is not the
+ * one of the servlet stack's tests, whose contract index would not see the changes made here.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=password"})
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+public class ReactiveContractControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @BeforeEach
+    public void setUp() {
+        contractRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        contractRepository.deleteAll();
+    }
+
+    /**
+     * Tests adding a contract with POST /contracts and finding it with POST /contracts/available.
+     */
+    @Test
+    public void testAddAndSearchContract() {
+        webTestClient.post().uri("/contracts")
+                .bodyValue(contract("Hotel A"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.hotelName").isEqualTo("Hotel A");
+
+        webTestClient.post().uri("/contracts/available")
+                .bodyValue(search(2))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].hotelName").isEqualTo("Hotel A")
+                .jsonPath("$[0].totalPrice").isEqualTo(880.0);
+
+        webTestClient.post().uri("/contracts/available")
+                .bodyValue(search(5))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    /**
+     * Tests that invalid searches and contracts are rejected with the invalid fields, as in the servlet stack.
+     */
+    @Test
+    public void testInvalidRequests() {
+        SearchDTO searchDTO = search(2);
+        searchDTO.setNoOfNights(null);
+        webTestClient.post().uri("/contracts/available")
+                .bodyValue(searchDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.noOfNights").exists();
+
+        ContractDTO contractDTO = contract("Hotel A");
+        contractDTO.setHotelName("");
+        webTestClient.post().uri("/contracts")
+                .bodyValue(contractDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.hotelName").exists();
+    }
+
+    /**
+     * Tests paging through GET /contracts and streaming all contracts as newline-delimited JSON.
+     */
+    @Test
+    public void testGetContracts() {
+        List<Contract> contracts = contractRepository.saveAll(List.of(
+                entity("Hotel A"),
+                entity("Hotel B"),
+                entity("Hotel C")));
+        Integer secondId = contracts.get(1).getContractId();
+
+        webTestClient.get().uri("/contracts?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Link", "</contracts?after=" + secondId + "&size=2>; rel=\"next\"")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].hotelName").isEqualTo("Hotel B")
+                .jsonPath("$[1].roomDetails[0].roomType").isEqualTo("Double");
+        webTestClient.get().uri("/contracts?size=2&after=" + secondId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("Link")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].hotelName").isEqualTo("Hotel C");
+
+        List<ContractView> streamed = webTestClient.get().uri("/contracts")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ContractView.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertEquals(List.of("Hotel A", "Hotel B", "Hotel C"), streamed.stream().map(ContractView::hotelName).toList());
+    }
+
+    /**
+     * Tests searching contracts by hotel name with GET /contracts/{hotelName}.
+     */
+    @Test
+    public void testSearchByName() {
+        contractRepository.save(entity("Sunset Resort"));
+
+        webTestClient.get().uri("/contracts/sunset")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].hotelName").isEqualTo("Sunset Resort");
+        webTestClient.get().uri("/contracts/nowhere")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private static ContractDTO contract(String hotelName) {
+        return ContractDTO.builder()
+                .hotelName(hotelName)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(10))
+                .markUpRate(10.0)
+                .roomDetails(List.of(RoomDetailDTO.builder()
+                        .roomType("Double")
+                        .pricePerPerson(100.0)
+                        .numberOfRooms(2)
+                        .maxAdults(2)
+                        .build()))
+                .build();
+    }
+
+    private static Contract entity(String hotelName) {
+        return Contract.builder()
+                .hotelName(hotelName)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(10))
+                .markUpRate(10.0)
+                .roomDetails(new ArrayList<>(List.of(new RoomDetail(null, "Double", 100.0, 2, 2))))
+                .build();
+    }
+
+    private static SearchDTO search(int numberOfRooms) {
+        return SearchDTO.builder()
+                .checkInDate(LocalDate.now().plusDays(1))
+                .noOfNights(2)
+                .roomRequirements(List.of(new RoomRequirementDTO(numberOfRooms, 2)))
+                .build();
+    }
+}
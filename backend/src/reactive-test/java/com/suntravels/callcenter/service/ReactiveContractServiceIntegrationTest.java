@@ -0,0 +1,170 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.AvailableContractDTO;
+import com.suntravels.callcenter.dto.ContractView;
+import com.suntravels.callcenter.dto.ReservationDTO;
+import com.suntravels.callcenter.dto.ReservedRoomDTO;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.exception.NoContractsFoundException;
+import com.suntravels.callcenter.index.ContractIndex;
+import com.suntravels.callcenter.loadtest.CatalogGenerator;
+import com.suntravels.callcenter.repository.ContractRepository;
+import com.suntravels.callcenter.repository.ReactiveContractRepository;
+import com.suntravels.callcenter.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the ReactiveContractService class, on the test database read through R2DBC.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=password"})
+@ActiveProfiles("reactive")
+class ReactiveContractServiceIntegrationTest {
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReactiveContractRepository reactiveContractRepository;
+
+    @Autowired
+    private ContractIndex contractIndex;
+
+    @BeforeEach
+    public void setUp() {
+        reservationRepository.deleteAll();
+        contractRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reservationRepository.deleteAll();
+        contractRepository.deleteAll();
+    }
+
+    /**
+     * Tests that matching the contracts read through R2DBC finds the same contracts as the in-memory index,
+     * including rooms that are sold on some nights.
+     */
+    @Test
+    public void testDatabaseSearchMatchesIndexSearch() {
+        // Arrange
+        CatalogGenerator generator = new CatalogGenerator(7);
+        contractRepository.saveAll(generator.contracts(100).stream().map(ContractService::toContract).toList());
+        List<SearchDTO> searchDTOs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            searchDTOs.add(generator.search());
+        }
+        for (SearchDTO searchDTO : searchDTOs.subList(0, 10)) {
+            List<AvailableContractDTO> available = fromIndex(searchDTO);
+            if (!available.isEmpty()) {
+                reservationService.reserve(ReservationDTO.builder()
+                        .contractId(available.get(0).getContractId())
+                        .checkInDate(searchDTO.getCheckInDate())
+                        .noOfNights(searchDTO.getNoOfNights())
+                        .rooms(List.of(new ReservedRoomDTO(available.get(0).getAvailableRooms().get(0).getRoomType(),
+                                searchDTO.getRoomRequirements().get(0).getNumberOfRooms())))
+                        .build());
+            }
+        }
+        ReactiveContractService databaseService = new ReactiveContractService(contractService, contractIndex,
+                reactiveContractRepository, false);
+
+        int found = 0;
+        for (SearchDTO searchDTO : searchDTOs) {
+            // Act
+            List<AvailableContractDTO> fromDatabase = databaseService.searchAvailability(searchDTO)
+                    .onErrorReturn(NoContractsFoundException.class, List.of())
+                    .block();
+
+            // Assert
+            List<AvailableContractDTO> fromIndex = fromIndex(searchDTO);
+            assertEquals(fromIndex, fromDatabase, searchDTO.toString());
+            found += fromIndex.size();
+        }
+        assertTrue(found > 0);
+    }
+
+    /**
+     * Tests that contract pages read through R2DBC are those of the servlet stack.
+     */
+    @Test
+    public void testGetContractsMatchesServletStack() {
+        // Arrange
+        CatalogGenerator generator = new CatalogGenerator(3);
+        contractRepository.saveAll(generator.contracts(20).stream().map(ContractService::toContract).toList());
+        ReactiveContractService reactiveService = new ReactiveContractService(contractService, contractIndex,
+                reactiveContractRepository, true);
+
+        // Act & Assert
+        Integer after = null;
+        do {
+            var expected = contractService.getContracts(after, 7);
+            var actual = reactiveService.getContracts(after, 7).block();
+            assertEquals(expected, actual);
+            after = expected.getNextCursor();
+        } while (after != null);
+        assertEquals(contractService.getAllContracts(), reactiveService.streamContracts().collectList().block());
+    }
+
+    /**
+     * Tests that searches made before the index is loaded read through R2DBC, leaving the index unloaded,
+     * and find the same contracts as the loaded index.
+     */
+    @Test
+    public void testSearchesBeforeIndexIsLoaded() {
+        // Arrange
+        CatalogGenerator generator = new CatalogGenerator(5);
+        contractRepository.saveAll(generator.contracts(30).stream().map(ContractService::toContract).toList());
+        ContractIndex unloadedIndex = new ContractIndex(contractRepository, List.of());
+        ReactiveContractService reactiveService = new ReactiveContractService(contractService, unloadedIndex,
+                reactiveContractRepository, true);
+        String hotelName = contractService.getAllContracts().get(0).hotelName().substring(1, 6).toUpperCase();
+        SearchDTO searchDTO = generator.search();
+
+        // Act
+        List<ContractView> byName = reactiveService.searchByName(hotelName).block();
+        List<AvailableContractDTO> available = reactiveService.searchAvailability(searchDTO)
+                .onErrorReturn(NoContractsFoundException.class, List.of())
+                .block();
+
+        // Assert
+        assertFalse(unloadedIndex.isLoaded());
+        assertEquals(contractService.searchByName(hotelName), byName);
+        assertEquals(fromIndex(searchDTO), available);
+        StepVerifier.create(reactiveService.searchByName("no such hotel"))
+                .expectError(NoContractsFoundException.class)
+                .verify();
+        unloadedIndex.load();
+        assertTrue(unloadedIndex.isLoaded());
+    }
+
+    private List<AvailableContractDTO> fromIndex(SearchDTO searchDTO) {
+        List<AvailableContractDTO> available = new ArrayList<>();
+        contractService.streamAvailability(searchDTO, available::add);
+        return available;
+    }
+}
@@ -0,0 +1,36 @@
+package com.suntravels.callcenter.advice;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception handler for the errors only raised by Spring WebFlux, in the reactive profile.
+ * Everything else is handled by {@link GlobalExceptionHandler}.
+ */
+@ControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handles WebExchangeBindException, WebFlux's counterpart of MethodArgumentNotValidException.
+     *
+     * @param ex The exception containing the validation errors.
+     * @return A map of field names and error messages with HTTP status BAD_REQUEST, as in the servlet stack.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleWebExchangeBindException(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        for (FieldError error : ex.getFieldErrors()) {
+            errors.put(error.getField(), error.getDefaultMessage());
+        }
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,62 @@
+package com.suntravels.callcenter.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Configuration of the reactive profile.
+ * <p>
+ * Reads go through an R2DBC {@link DatabaseClient} on {@code spring.r2dbc.url}, e.g.
+ * {@code r2dbc:pool:mysql://localhost:3306/contract_db}, which should point at the same database as
+ * {@code spring.datasource}: JPA still migrates the schema, loads the contract index and writes. The
+ * connection factory is deliberately not a bean, since Spring Boot drops the JDBC data source as soon as
+ * an R2DBC connection factory bean exists.
+ * <p>
+ * The server is Netty, which Spring Boot would otherwise pass over for Tomcat, as Tomcat stays on the
+ * classpath for the servlet stack.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig implements DisposableBean {
+
+    private final ConnectionFactory connectionFactory;
+
+    public ReactiveConfig(@Value("${spring.r2dbc.url}") String url,
+                          @Value("${spring.r2dbc.username:}") String username,
+                          @Value("${spring.r2dbc.password:}") String password) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url);
+        if (!username.isEmpty()) {
+            options = options.mutate()
+                    .option(ConnectionFactoryOptions.USER, username)
+                    .option(ConnectionFactoryOptions.PASSWORD, password)
+                    .build();
+        }
+        this.connectionFactory = ConnectionFactories.get(options);
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof ConnectionPool pool) {
+            pool.dispose();
+        }
+    }
+}
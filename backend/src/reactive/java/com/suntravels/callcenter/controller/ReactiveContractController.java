@@ -0,0 +1,105 @@
+package com.suntravels.callcenter.controller;
+
+import com.suntravels.callcenter.dto.AvailableContractDTO;
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.ContractView;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.service.ReactiveContractService;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking controller for the contract API, used instead of {@link ContractController} by the reactive
+ * profile.
+ * <p>
+ * Serves the same requests and responses for listing, searching and adding contracts, but on Spring WebFlux:
+ * a request holds no thread while it waits for the database, so a few event loop threads serve any number
+ * of concurrent requests. The bulk and CSV imports, deletes and reservations are only served by the servlet stack.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/contracts")
+@CrossOrigin(origins = "http://localhost:4200", exposedHeaders = HttpHeaders.LINK)
+public class ReactiveContractController {
+
+    private final ReactiveContractService contractService;
+
+    public ReactiveContractController(ReactiveContractService contractService) {
+        this.contractService = contractService;
+    }
+
+    /**
+     * Adds a new contract.
+     *
+     * @param contractDTO The contract data transfer object containing the contract details.
+     * @return The created Contract object with HTTP status CREATED (201).
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Contract>> addContract(@RequestBody @Valid ContractDTO contractDTO) {
+        return contractService.addContract(contractDTO)
+                .map(contract -> new ResponseEntity<>(contract, HttpStatus.CREATED));
+    }
+
+    /**
+     * Retrieves one page of contracts in contract ID order, with a {@code Link} header with {@code rel="next"}
+     * if more contracts follow.
+     *
+     * @param after The ID of the last contract of the previous page, or absent for the first page.
+     * @param size  The page size, or absent for the default.
+     * @return A page of contracts with an HTTP status of OK (200).
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<ContractView>>> getAllContracts(@RequestParam(required = false) Integer after,
+                                                                    @RequestParam(required = false) Integer size) {
+        return contractService.getContracts(after, size).map(page -> {
+            HttpHeaders headers = new HttpHeaders();
+            if (page.getNextCursor() != null) {
+                headers.add(HttpHeaders.LINK, "</contracts?after=" + page.getNextCursor() + "&size="
+                        + page.getContracts().size() + ">; rel=\"next\"");
+            }
+            return new ResponseEntity<>(page.getContracts(), headers, HttpStatus.OK);
+        });
+    }
+
+    /**
+     * Streams all contracts as newline-delimited JSON, read from the database only as fast as the client
+     * receives them. Selected by requesting the {@code application/x-ndjson} media type.
+     *
+     * @return One contract per line.
+     */
+    @GetMapping(produces = ContractController.APPLICATION_NDJSON)
+    public Flux<ContractView> streamAllContracts() {
+        return contractService.streamContracts();
+    }
+
+    /**
+     * Searches for contracts based on the provided hotel name.
+     *
+     * @param hotelName The name of the hotel to search for in the contracts.
+     * @return The contracts matching the hotel name with HTTP status OK (200), or NOT FOUND (404) if there are none.
+     */
+    @GetMapping("/{hotelName}")
+    public Mono<ResponseEntity<List<ContractView>>> searchByName(@PathVariable String hotelName) {
+        return contractService.searchByName(hotelName).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Searches for contracts based on the search criteria provided in SearchDTO.
+     *
+     * @param searchDTO The search data transfer object containing search parameters.
+     * @return The available contracts with HTTP status OK (200), or NOT FOUND (404) if there are none.
+     */
+    @PostMapping("/available")
+    public Mono<ResponseEntity<List<AvailableContractDTO>>> searchContract(@RequestBody @Valid SearchDTO searchDTO) {
+        return contractService.searchAvailability(searchDTO).map(ResponseEntity::ok);
+    }
+}
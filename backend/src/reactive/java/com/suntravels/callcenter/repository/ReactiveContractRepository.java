@@ -0,0 +1,167 @@
+package com.suntravels.callcenter.repository;
+
+import com.suntravels.callcenter.dto.ContractView;
+import com.suntravels.callcenter.dto.RoomDetailView;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking reads of contracts through R2DBC, for the reactive profile.
+ * <p>
+ * As in {@link ContractViewRepositoryImpl}, each query selects one row per room detail (or one row for a
+ * contract without any) in contract ID order, and consecutive rows of a contract are folded into one
+ * contract. Rows are requested from the database as the subscriber asks for contracts, so a slow client
+ * holds back the query instead of buffering its result.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveContractRepository {
+
+    private static final String SELECT_ROWS = "SELECT c.contract_id, c.hotel_name, c.start_date, c.end_date,"
+            + " c.mark_up_rate, r.room_detail_id, r.room_type, r.price_per_person, r.number_of_rooms,"
+            + " r.max_adults, r.remaining_rooms";
+
+    private static final String JOIN_ROOMS = " LEFT JOIN room_detail r ON r.contract_id = c.contract_id";
+
+    private static final String ORDER = " ORDER BY c.contract_id, r.room_detail_id";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveContractRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Reads every contract, in contract ID order.
+     *
+     * @return the contracts as read-only views.
+     */
+    public Flux<ContractView> findAllViews() {
+        return toViews(databaseClient.sql(SELECT_ROWS + " FROM contract c" + JOIN_ROOMS + ORDER)
+                .map(ReactiveContractRepository::toRow)
+                .all());
+    }
+
+    /**
+     * Reads one page of contracts, see {@link ContractViewRepository#findViewPageAfter}.
+     *
+     * @param afterId the ID of the last contract of the previous page, or 0.
+     * @param limit   the maximum number of contracts.
+     * @return the contracts with an ID greater than {@code afterId}, as read-only views.
+     */
+    public Flux<ContractView> findViewPageAfter(int afterId, int limit) {
+        // The limit applies to contracts, not rows, so the page is bounded in a derived table first
+        return toViews(databaseClient.sql(SELECT_ROWS
+                        + " FROM (SELECT contract_id FROM contract WHERE contract_id > :afterId"
+                        + " ORDER BY contract_id LIMIT :limit) p"
+                        + " JOIN contract c ON c.contract_id = p.contract_id" + JOIN_ROOMS + ORDER)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveContractRepository::toRow)
+                .all());
+    }
+
+    /**
+     * Finds the contracts whose hotel name contains the given text, ignoring case, see
+     * {@link ContractViewRepository#findViewsByHotelName}.
+     *
+     * @param hotelName the text to search for.
+     * @return the matching contracts as read-only views, in contract ID order.
+     */
+    public Flux<ContractView> findViewsByHotelName(String hotelName) {
+        return toViews(databaseClient.sql(SELECT_ROWS + " FROM contract c" + JOIN_ROOMS
+                        + " WHERE c.hotel_name_normalized LIKE CONCAT('%', LOWER(:hotelName), '%')" + ORDER)
+                .bind("hotelName", hotelName)
+                .map(ReactiveContractRepository::toRow)
+                .all());
+    }
+
+    /**
+     * Finds the contracts covering the whole stay, see {@link ContractRepository#findContractsByDateRange}.
+     *
+     * @param checkInDate  the first night of the stay.
+     * @param checkOutDate the day the stay ends.
+     * @return detached contracts with their room details and room inventory, ordered by contract ID.
+     */
+    public Flux<Contract> findContractsByDateRange(LocalDate checkInDate, LocalDate checkOutDate) {
+        return databaseClient.sql(SELECT_ROWS + " FROM contract c" + JOIN_ROOMS
+                        + " WHERE c.start_date <= :checkInDate AND c.end_date >= :checkOutDate" + ORDER)
+                .bind("checkInDate", checkInDate)
+                .bind("checkOutDate", checkOutDate)
+                .map(ReactiveContractRepository::toRow)
+                .all()
+                .bufferUntilChanged(Row::contractId)
+                .map(ReactiveContractRepository::toContract);
+    }
+
+    private static Flux<ContractView> toViews(Flux<Row> rows) {
+        return rows.bufferUntilChanged(Row::contractId).map(ReactiveContractRepository::toView);
+    }
+
+    private static ContractView toView(List<Row> rows) {
+        Row first = rows.get(0);
+        List<RoomDetailView> roomDetails = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.roomDetailId() != null) {
+                roomDetails.add(new RoomDetailView(row.roomDetailId(), row.roomType(), row.pricePerPerson(),
+                        row.numberOfRooms(), row.maxAdults()));
+            }
+        }
+        return new ContractView(first.contractId(), first.hotelName(), first.startDate(), first.endDate(),
+                first.markUpRate(), List.copyOf(roomDetails));
+    }
+
+    private static Contract toContract(List<Row> rows) {
+        Row first = rows.get(0);
+        List<RoomDetail> roomDetails = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.roomDetailId() != null) {
+                roomDetails.add(RoomDetail.builder()
+                        .roomDetailId(row.roomDetailId())
+                        .roomType(row.roomType())
+                        .pricePerPerson(row.pricePerPerson())
+                        .numberOfRooms(row.numberOfRooms())
+                        .maxAdults(row.maxAdults())
+                        .remainingRooms(row.remainingRooms())
+                        .build());
+            }
+        }
+        return Contract.builder()
+                .contractId(first.contractId())
+                .hotelName(first.hotelName())
+                .startDate(first.startDate())
+                .endDate(first.endDate())
+                .markUpRate(first.markUpRate())
+                .roomDetails(roomDetails)
+                .build();
+    }
+
+    private static Row toRow(Readable row) {
+        Integer roomDetailId = row.get("room_detail_id", Integer.class);
+        return new Row(row.get("contract_id", Integer.class), row.get("hotel_name", String.class),
+                row.get("start_date", LocalDate.class), row.get("end_date", LocalDate.class),
+                row.get("mark_up_rate", Double.class), roomDetailId,
+                roomDetailId == null ? null : row.get("room_type", String.class),
+                roomDetailId == null ? 0 : row.get("price_per_person", Double.class),
+                roomDetailId == null ? 0 : row.get("number_of_rooms", Integer.class),
+                roomDetailId == null ? 0 : row.get("max_adults", Integer.class),
+                roomDetailId == null ? null : row.get("remaining_rooms", byte[].class));
+    }
+
+    /**
+     * One row of a query: a contract and one of its room details, if it has any.
+     */
+    private record Row(Integer contractId, String hotelName, LocalDate startDate, LocalDate endDate,
+                       Double markUpRate, Integer roomDetailId, String roomType, double pricePerPerson,
+                       int numberOfRooms, int maxAdults, byte[] remainingRooms) {
+    }
+}
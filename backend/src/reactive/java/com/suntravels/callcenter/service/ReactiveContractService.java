@@ -0,0 +1,155 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.AvailableContractDTO;
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.ContractPageDTO;
+import com.suntravels.callcenter.dto.ContractView;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.exception.NoContractsFoundException;
+import com.suntravels.callcenter.index.ContractIndex;
+import com.suntravels.callcenter.index.IndexedContract;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.repository.ReactiveContractRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The contract operations of the reactive profile, none of which block the server's event loop.
+ * <p>
+ * Searches are matched by {@link ContractService}: from the in-memory contract index, which needs no I/O,
+ * or, with {@code callcenter.search.in-memory-index=false}, against the contracts covering the stay read
+ * through R2DBC. Either way the matching runs on the parallel scheduler, since it is CPU-bound. The index
+ * is loaded through JPA, so it is loaded on the bounded elastic scheduler once the application is ready,
+ * and until then searches read through R2DBC as well. Contract pages are read through R2DBC. Adding a
+ * contract still goes through JPA, on the bounded elastic scheduler meant for blocking calls.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveContractService {
+
+    private final ContractService contractService;
+    private final ContractIndex contractIndex;
+    private final ReactiveContractRepository contractRepository;
+
+    /**
+     * Whether availability searches are answered from the in-memory index rather than from the database.
+     */
+    private final boolean inMemoryIndex;
+
+    public ReactiveContractService(ContractService contractService, ContractIndex contractIndex,
+                                   ReactiveContractRepository contractRepository,
+                                   @Value("${callcenter.search.in-memory-index:true}") boolean inMemoryIndex) {
+        this.contractService = contractService;
+        this.contractIndex = contractIndex;
+        this.contractRepository = contractRepository;
+        this.inMemoryIndex = inMemoryIndex;
+    }
+
+    /**
+     * Loads the contract index in the background, so that searches need not wait for it or read it on the
+     * parallel scheduler.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        Mono.fromRunnable(contractIndex::load)
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe();
+    }
+
+    /**
+     * Fetches one page of contracts, see {@link ContractService#getContracts}.
+     *
+     * @param afterId The cursor returned with the previous page, or null for the first page.
+     * @param size    The requested page size, or null for the default; capped at {@link ContractService#MAX_PAGE_SIZE}.
+     * @return The page of contracts and the cursor for the next page.
+     */
+    public Mono<ContractPageDTO> getContracts(Integer afterId, Integer size) {
+        int pageSize = size == null ? ContractService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(size, ContractService.MAX_PAGE_SIZE));
+
+        // Fetch one extra contract to know whether another page follows
+        return contractRepository.findViewPageAfter(afterId == null ? 0 : afterId, pageSize + 1)
+                .collectList()
+                .map(contracts -> {
+                    if (contracts.size() <= pageSize) {
+                        return new ContractPageDTO(contracts, null);
+                    }
+                    List<ContractView> page = contracts.subList(0, pageSize);
+                    return new ContractPageDTO(page, page.get(pageSize - 1).contractId());
+                });
+    }
+
+    /**
+     * Streams every contract in contract ID order, read from the database as fast as the subscriber
+     * consumes them.
+     *
+     * @return The contracts, as read-only views.
+     */
+    public Flux<ContractView> streamContracts() {
+        return contractRepository.findAllViews();
+    }
+
+    /**
+     * Searches for contracts by hotel name, see {@link ContractService#searchByName}.
+     * <p>
+     * Outside a transaction, the index is always up to date once loaded; before that the contracts are read
+     * through R2DBC.
+     *
+     * @param hotelName the name of the hotel to search for.
+     * @return the matching contracts, or an error with {@link NoContractsFoundException} if there are none.
+     */
+    public Mono<List<ContractView>> searchByName(String hotelName) {
+        if (contractIndex.isLoaded()) {
+            return Mono.fromCallable(() -> contractService.searchByName(hotelName))
+                    .subscribeOn(Schedulers.parallel());
+        }
+        return contractRepository.findViewsByHotelName(hotelName)
+                .collectList()
+                .filter(contracts -> !contracts.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new NoContractsFoundException("No Contracts Found")));
+    }
+
+    /**
+     * Searches for available contracts, see {@link ContractService#searchAvailability}.
+     * <p>
+     * The index is used once loaded; before that, or without the index, the contracts covering the stay
+     * are read through R2DBC.
+     *
+     * @param searchDTO The search data transfer object containing search parameters.
+     * @return The available contracts, or an error with {@link NoContractsFoundException} if there are none.
+     */
+    public Mono<List<AvailableContractDTO>> searchAvailability(SearchDTO searchDTO) {
+        if (inMemoryIndex && contractIndex.isLoaded()) {
+            return Mono.fromCallable(() -> contractService.searchAvailability(searchDTO))
+                    .subscribeOn(Schedulers.parallel());
+        }
+        LocalDate checkOutDate = searchDTO.getCheckInDate().plusDays(searchDTO.getNoOfNights());
+        return contractRepository.findContractsByDateRange(searchDTO.getCheckInDate(), checkOutDate)
+                .map(IndexedContract::of)
+                .collectList()
+                .publishOn(Schedulers.parallel())
+                .map(contracts -> contractService.evaluateAvailability(searchDTO, contracts))
+                .filter(availableContracts -> !availableContracts.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new NoContractsFoundException("No Available Contracts Found")));
+    }
+
+    /**
+     * Adds a new contract, see {@link ContractService#addContract}.
+     *
+     * @param contractDTO The contract data transfer object containing contract details.
+     * @return The created contract.
+     */
+    public Mono<Contract> addContract(ContractDTO contractDTO) {
+        return Mono.fromCallable(() -> contractService.addContract(contractDTO))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -16,11 +16,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -98,6 +101,57 @@ public class ContractControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].hotelName").value("Hotel B"));
     }
 
+    /**
+     * Tests paging through GET /contracts with the cursor of each page.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testGetContractsPaged() throws Exception {
+        List<Contract> contracts = List.of(contract("Hotel A"), contract("Hotel B"), contract("Hotel C"));
+        contractRepository.saveAll(contracts);
+        Integer secondId = contracts.get(1).getContractId();
+
+        mockMvc.perform(get("/contracts").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", "</contracts?after=" + secondId + "&size=2>; rel=\"next\""))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].hotelName").value("Hotel B"));
+
+        mockMvc.perform(get("/contracts").param("after", secondId.toString()).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].hotelName").value("Hotel C"))
+                .andExpect(jsonPath("$[0].roomDetails[0].roomType").value("Deluxe"));
+    }
+
+    /**
+     * Tests streaming all contracts as newline-delimited JSON from GET /contracts.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testStreamAllContracts() throws Exception {
+        Contract twoRooms = contract("Hotel B");
+        twoRooms.setRoomDetails(List.of(
+                RoomDetail.builder().roomType("Deluxe").pricePerPerson(100.0).numberOfRooms(10).maxAdults(2).build(),
+                RoomDetail.builder().roomType("Suite").pricePerPerson(200.0).numberOfRooms(5).maxAdults(4).build()));
+        contractRepository.saveAll(List.of(contract("Hotel A"), twoRooms));
+
+        MvcResult result = mockMvc.perform(get("/contracts").accept(ContractController.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Hotel A", objectMapper.readTree(lines[0]).get("hotelName").asText());
+        assertEquals(2, objectMapper.readTree(lines[1]).get("roomDetails").size());
+    }
+
     /**
      * Tests the POST /contracts endpoint to verify a new contract can be added successfully.
      * <p>
@@ -129,6 +183,105 @@ public class ContractControllerIntegrationTest {
                 .andExpect(jsonPath("$.contractId").exists());
     }
 
+    /**
+     * Tests importing contracts from newline-delimited JSON through POST /contracts/bulk.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testBulkImportNdjson() throws Exception {
+        ContractDTO valid = ContractDTO.builder()
+                .hotelName("Hotel A")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(30))
+                .markUpRate(15.0)
+                .roomDetails(Collections.singletonList(RoomDetailDTO.builder()
+                        .roomType("Deluxe")
+                        .pricePerPerson(100.0)
+                        .numberOfRooms(10)
+                        .maxAdults(2)
+                        .build()))
+                .build();
+        ContractDTO invalid = ContractDTO.builder()
+                .hotelName("Hotel B")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(30))
+                .markUpRate(150.0)
+                .roomDetails(valid.getRoomDetails())
+                .build();
+        String body = objectMapper.writeValueAsString(valid) + "\n" + objectMapper.writeValueAsString(invalid) + "\n";
+
+        mockMvc.perform(post("/contracts/bulk")
+                        .contentType(ContractController.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failures[0].index").value(1))
+                .andExpect(jsonPath("$.failures[0].errors.markUpRate").value("Mark Up should less than 100"));
+
+        mockMvc.perform(post("/contracts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        assertEquals(2, contractRepository.findByHotelName("Hotel A").size());
+    }
+
+    /**
+     * Tests uploading a CSV supplier feed to POST /contracts/import.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testImportCsv() throws Exception {
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(30);
+        String csv = "hotelName,startDate,endDate,markUpRate,roomType,pricePerPerson,numberOfRooms,maxAdults\n"
+                + "Hotel A," + start + "," + end + ",15,Deluxe,100,10,2\n"
+                + "Hotel A," + start + "," + end + ",15,Suite,200,5,4\n"
+                + "Hotel B," + end + "," + start + ",15,Deluxe,100,10,2\n";
+
+        mockMvc.perform(post("/contracts/import")
+                        .contentType(ContractController.TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.progress.rowsRead").value(3))
+                .andExpect(jsonPath("$.progress.received").value(2))
+                .andExpect(jsonPath("$.progress.imported").value(1))
+                .andExpect(jsonPath("$.progress.finished").value(true))
+                .andExpect(jsonPath("$.failures[0].hotelName").value("Hotel B"))
+                .andExpect(jsonPath("$.failures[0].errors.endDate").exists());
+
+        assertEquals(2, contractRepository.findByHotelName("Hotel A").get(0).getRoomDetails().size());
+
+        mockMvc.perform(post("/contracts/import")
+                        .contentType(ContractController.TEXT_CSV)
+                        .content("hotelName,startDate\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests the GET /contracts/import/running endpoint, and that it leaves GET /contracts/import to the
+     * hotel name search.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testGetRunningImports() throws Exception {
+        contractRepository.save(contract("Import"));
+
+        mockMvc.perform(get("/contracts/import/running"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(get("/contracts/{hotelName}", "import"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].hotelName").value("Import"));
+    }
+
     /**
      * Tests the GET /contracts/{hotelName} endpoint to search for contracts by hotel name.
      * <p>
@@ -155,6 +308,39 @@ public class ContractControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].hotelName").value(hotelName)); // Expect hotelName to match
     }
 
+    /**
+     * Tests the GET /contracts/search/suggest endpoint, including that it follows added and deleted contracts,
+     * and that it leaves GET /contracts/suggest to the hotel name search.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testSuggestHotelNames() throws Exception {
+        List<Contract> contracts = List.of(contract("Hotel Kandy"), contract("Hotel Galle"), contract("Hotel Galle"));
+        contractRepository.saveAll(contracts);
+
+        mockMvc.perform(get("/contracts/search/suggest").param("prefix", "hotel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("Hotel Galle"))
+                .andExpect(jsonPath("$[1]").value("Hotel Kandy"));
+
+        mockMvc.perform(get("/contracts/search/suggest").param("prefix", "Hotel X"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        contractRepository.delete(contracts.get(0));
+        mockMvc.perform(get("/contracts/search/suggest").param("prefix", "hotel k"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        contractRepository.save(contract("Suggest"));
+        mockMvc.perform(get("/contracts/{hotelName}", "suggest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].hotelName").value("Suggest"));
+    }
+
     /**
      * Tests the DELETE /contracts/{contractId} endpoint to delete a contract.
      * <p>
@@ -268,6 +454,41 @@ public class ContractControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].availableRooms[0].totalPrice").value(1150));
     }
 
+    /**
+     * Tests streaming available contracts as newline-delimited JSON from POST /contracts/available.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testStreamAvailability() throws Exception {
+        contractRepository.saveAll(List.of(contract("Hotel A"), contract("Hotel B")));
+
+        SearchDTO searchDTO = SearchDTO.builder()
+                .checkInDate(LocalDate.now())
+                .noOfNights(5)
+                .roomRequirements(Collections.singletonList(RoomRequirementDTO.builder()
+                        .numberOfRooms(1)
+                        .maxAdults(2)
+                        .build()))
+                .build();
+
+        MvcResult result = mockMvc.perform(post("/contracts/available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(ContractController.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(searchDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Hotel A", objectMapper.readTree(lines[0]).get("hotelName").asText());
+        assertEquals(1150.0, objectMapper.readTree(lines[0]).get("availableRooms").get(0).get("totalPrice").asDouble());
+        assertEquals("Hotel B", objectMapper.readTree(lines[1]).get("hotelName").asText());
+    }
+
     /**
      * Tests the POST /contracts/available endpoint when no contracts match the search criteria.
      * <p>
@@ -298,4 +519,80 @@ public class ContractControllerIntegrationTest {
                 .andExpect(jsonPath("$").value("No Available Contracts Found")); // Expect an empty list
     }
 
+    /**
+     * Tests the POST /contracts/available/batch endpoint, which answers several searches at once.
+     * <p>
+     * Each search gets its own result, in request order; a search that finds nothing gets an empty list.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testSearchAvailabilityBatch() throws Exception {
+        Contract cheap = contract("Hotel A");
+        cheap.getRoomDetails().get(0).setPricePerPerson(80.0);
+        contractRepository.saveAll(List.of(contract("Hotel B"), cheap));
+
+        List<SearchDTO> searchDTOs = List.of(
+                new SearchDTO(LocalDate.now(), 5, List.of(new RoomRequirementDTO(1, 2))),
+                new SearchDTO(LocalDate.now(), 5, List.of(new RoomRequirementDTO(20, 2))),
+                SearchDTO.builder()
+                        .checkInDate(LocalDate.now().plusDays(2))
+                        .noOfNights(3)
+                        .roomRequirements(List.of(new RoomRequirementDTO(2, 2)))
+                        .limit(1)
+                        .build());
+
+        mockMvc.perform(post("/contracts/available/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(searchDTOs)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].length()").value(2))
+                .andExpect(jsonPath("$[0][0].hotelName").value("Hotel B"))
+                .andExpect(jsonPath("$[0][1].hotelName").value("Hotel A"))
+                .andExpect(jsonPath("$[1].length()").value(0))
+                .andExpect(jsonPath("$[2].length()").value(1))
+                .andExpect(jsonPath("$[2][0].hotelName").value("Hotel A"))
+                .andExpect(jsonPath("$[2][0].totalPrice").value(1104));
+    }
+
+    /**
+     * Tests that an invalid search in a batch is reported with its position in the batch.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testSearchAvailabilityBatchValidation() throws Exception {
+        List<SearchDTO> searchDTOs = List.of(
+                new SearchDTO(LocalDate.now(), 5, List.of(new RoomRequirementDTO(1, 2))),
+                new SearchDTO(LocalDate.now(), null, List.of(new RoomRequirementDTO(1, 2))));
+
+        mockMvc.perform(post("/contracts/available/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(searchDTOs)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['[1].noOfNights']").value("No of nights required"));
+
+        mockMvc.perform(post("/contracts/available/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.searchDTOs").value("At least one search is required"));
+    }
+
+    private static Contract contract(String hotelName) {
+        return Contract.builder()
+                .hotelName(hotelName)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(10))
+                .markUpRate(15.0)
+                .roomDetails(Collections.singletonList(RoomDetail.builder()
+                        .roomType("Deluxe")
+                        .pricePerPerson(100.0)
+                        .numberOfRooms(10)
+                        .maxAdults(2)
+                        .build()))
+                .build();
+    }
+
 }
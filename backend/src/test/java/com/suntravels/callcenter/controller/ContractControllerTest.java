@@ -2,7 +2,10 @@ package com.suntravels.callcenter.controller;
 
 
 import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.ContractPageDTO;
+import com.suntravels.callcenter.dto.ContractView;
 import com.suntravels.callcenter.dto.RoomDetailDTO;
+import com.suntravels.callcenter.metrics.SearchMetrics;
 import com.suntravels.callcenter.model.Contract;
 import com.suntravels.callcenter.service.ContractService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -36,6 +39,9 @@ class ContractControllerTest {
     @Mock
     private ContractService contractService;
 
+    @Mock
+    private SearchMetrics searchMetrics;
+
     @InjectMocks
     private ContractController contractController;
 
@@ -57,7 +63,7 @@ class ContractControllerTest {
 
     /**
      * Test for the GET /contracts endpoint.
-     * Verifies that all contracts can be retrieved successfully.
+     * Verifies that the first page of contracts can be retrieved successfully.
      *
      * @throws Exception if there is an issue with the request execution.
      */
@@ -72,18 +78,42 @@ class ContractControllerTest {
         contract2.setHotelName("Hotel B");
 
         // Mocking the service method
-        List<Contract> contracts = Arrays.asList(contract1, contract2);
-        when(contractService.getAllContracts()).thenReturn(contracts);
+        List<ContractView> contracts = Arrays.asList(ContractView.of(contract1), ContractView.of(contract2));
+        when(contractService.getContracts(null, null)).thenReturn(new ContractPageDTO(contracts, null));
 
         // Performing the request and verifying the response
         mockMvc.perform(get("/contracts"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].hotelName").value("Hotel A"))
                 .andExpect(jsonPath("$[1].hotelName").value("Hotel B"));
 
         // Verifying the service method was called once
-        verify(contractService, times(1)).getAllContracts();
+        verify(contractService, times(1)).getContracts(null, null);
+    }
+
+    /**
+     * Test for the GET /contracts endpoint with a cursor.
+     * Verifies that a Link header points at the next page when more contracts follow.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    void testGetContractsPage() throws Exception {
+        Contract contract = new Contract();
+        contract.setContractId(11);
+        contract.setHotelName("Hotel A");
+
+        // Mocking the service method
+        when(contractService.getContracts(10, 1)).thenReturn(new ContractPageDTO(List.of(ContractView.of(contract)), 11));
+
+        // Performing the request and verifying the response
+        mockMvc.perform(get("/contracts").param("after", "10").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", "</contracts?after=11&size=1>; rel=\"next\""))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].contractId").value(11));
     }
 
     /**
@@ -145,7 +175,7 @@ class ContractControllerTest {
         contract.setHotelName(hotelName);
 
         // Mocking the service method
-        List<Contract> contracts = Arrays.asList(contract);
+        List<ContractView> contracts = Arrays.asList(ContractView.of(contract));
         when(contractService.searchByName(hotelName)).thenReturn(contracts);
 
         // Performing the request and verifying the response
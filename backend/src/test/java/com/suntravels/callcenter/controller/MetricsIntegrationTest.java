@@ -0,0 +1,98 @@
+package com.suntravels.callcenter.controller;
+
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.repository.ContractRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the metrics published on the Prometheus endpoint.
+ * <p>
+ * Uses its own in-memory database, as this context is configured differently from the other integration tests.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metricsdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "management.endpoints.web.exposure.include=health,metrics,prometheus",
+        "management.observations.annotations.enabled=true",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "management.metrics.distribution.percentiles-histogram.spring.data.repository.invocations=true",
+        "management.metrics.distribution.percentiles-histogram.callcenter=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        contractRepository.deleteAll();
+    }
+
+    /**
+     * Tests that an availability search is reported with its phase breakdown, the request latency histogram
+     * and the repository and service timings.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testSearchMetricsArePublished() throws Exception {
+        contractRepository.save(Contract.builder()
+                .hotelName("Hotel Metrics")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(10))
+                .markUpRate(15.0)
+                .roomDetails(List.of(RoomDetail.builder()
+                        .roomType("Deluxe")
+                        .pricePerPerson(100.0)
+                        .numberOfRooms(10)
+                        .maxAdults(2)
+                        .build()))
+                .build());
+        SearchDTO searchDTO = new SearchDTO(LocalDate.now(), 2, List.of(new RoomRequirementDTO(1, 2)));
+
+        mockMvc.perform(post("/contracts/available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(searchDTO)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/contracts"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("callcenter_search_phase_seconds_bucket{phase=\"fetch\"")))
+                .andExpect(content().string(containsString("callcenter_search_phase_seconds_count{phase=\"evaluate\"")))
+                .andExpect(content().string(containsString("callcenter_search_phase_seconds_count{phase=\"serialize\"")))
+                .andExpect(content().string(containsString("callcenter_search_candidates_total 1.0")))
+                .andExpect(content().string(containsString("callcenter_search_results_total 1.0")))
+                .andExpect(content().string(containsString("callcenter_contract_service_seconds_count")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")));
+    }
+}
@@ -0,0 +1,172 @@
+package com.suntravels.callcenter.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.suntravels.callcenter.dto.ReservationDTO;
+import com.suntravels.callcenter.dto.ReservedRoomDTO;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.repository.ContractRepository;
+import com.suntravels.callcenter.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the ReservationController.
+ * <p>
+ * This test class uses @SpringBootTest to load the full application context and MockMvc to test the HTTP endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReservationControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private ObjectMapper objectMapper;
+
+    private Contract contract;
+
+    /**
+     * Sets up the test environment with a contract of two double rooms.
+     * This method is executed before each test case.
+     */
+    @BeforeEach
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        reservationRepository.deleteAll();
+        contractRepository.deleteAll();
+        contract = contractRepository.save(Contract.builder()
+                .hotelName("Hotel A")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(10))
+                .markUpRate(10.0)
+                .roomDetails(new ArrayList<>(List.of(new RoomDetail(null, "Double", 100.0, 2, 2))))
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reservationRepository.deleteAll();
+        contractRepository.deleteAll();
+    }
+
+    /**
+     * Tests the POST /reservations endpoint until the rooms run out.
+     * <p>
+     * The first reservation takes both rooms and is created; the second finds none left and conflicts.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testReserve() throws Exception {
+        String body = objectMapper.writeValueAsString(reservation(contract.getContractId(), 2));
+
+        MvcResult result = mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.hotelName").value("Hotel A"))
+                .andExpect(jsonPath("$.rooms[0].roomType").value("Double"))
+                .andExpect(jsonPath("$.totalPrice").value(880.0))
+                .andReturn();
+        Integer reservationId = objectMapper.readTree(result.getResponse().getContentAsString())
+                .get("reservationId").asInt();
+
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/reservations/" + reservationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rooms[0].numberOfRooms").value(2));
+    }
+
+    /**
+     * Tests the POST /reservations endpoint with invalid and unknown input.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testReserveInvalid() throws Exception {
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation(contract.getContractId(), 0))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['rooms[0].numberOfRooms']").exists());
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation(contract.getContractId() + 1000, 1))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/reservations/-1"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests holding rooms, confirming one hold and releasing another.
+     *
+     * @throws Exception if there is an issue with the request execution.
+     */
+    @Test
+    public void testHolds() throws Exception {
+        String body = objectMapper.writeValueAsString(reservation(contract.getContractId(), 1));
+        int[] holdIds = new int[2];
+        for (int i = 0; i < holdIds.length; i++) {
+            MvcResult result = mockMvc.perform(post("/reservations/holds")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.heldUntil").exists())
+                    .andReturn();
+            holdIds[i] = objectMapper.readTree(result.getResponse().getContentAsString()).get("reservationId").asInt();
+        }
+        mockMvc.perform(post("/reservations/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/reservations/holds/" + holdIds[0] + "/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.heldUntil").doesNotExist());
+        mockMvc.perform(delete("/reservations/holds/" + holdIds[1]))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/reservations/holds/" + holdIds[1]))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+    }
+
+    private static ReservationDTO reservation(Integer contractId, int numberOfRooms) {
+        return ReservationDTO.builder()
+                .contractId(contractId)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .noOfNights(2)
+                .rooms(List.of(new ReservedRoomDTO("Double", numberOfRooms)))
+                .build();
+    }
+}
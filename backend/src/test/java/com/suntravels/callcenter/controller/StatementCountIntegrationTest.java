@@ -0,0 +1,189 @@
+package com.suntravels.callcenter.controller;
+
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.RoomDetailDTO;
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.repository.ContractRepository;
+import com.suntravels.callcenter.support.StatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Statement count tests for the ContractController endpoints and the ContractRepository queries.
+ * <p>
+ * Each operation is run against a catalog of one contract and of {@link #MANY} contracts, and must prepare
+ * the same, expected number of SQL statements for both. An N+1 regression, such as room details loaded with
+ * one query per contract, makes the count grow with the catalog and fails the test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class StatementCountIntegrationTest {
+
+    private static final int MANY = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statementCounter;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setUp() {
+        statementCounter = new StatementCounter(entityManagerFactory);
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        contractRepository.deleteAll();
+    }
+
+    /**
+     * Tests that the repository queries returning contracts fetch their room details in the same statement.
+     *
+     * @throws Exception if a query fails.
+     */
+    @Test
+    public void testRepositoryQueriesFetchRoomDetails() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        assertStatements(1, () -> contractRepository.findAll());
+        assertStatements(1, () -> contractRepository.findByHotelName("Hotel"));
+        assertStatements(1, () -> contractRepository.findContractsByDateRange(checkIn, checkIn.plusDays(2)));
+        assertStatements(1, () -> contractRepository.findAvailableRooms(checkIn, checkIn.plusDays(2),
+                List.of(new RoomRequirementDTO(1, 2))));
+    }
+
+    /**
+     * Tests the read endpoints: a page and a stream of contracts, and the searches answered from the
+     * contract index, which do not touch the database once it is loaded.
+     *
+     * @throws Exception if a request fails.
+     */
+    @Test
+    public void testReadEndpoints() throws Exception {
+        SearchDTO searchDTO = new SearchDTO(LocalDate.now().plusDays(1), 2, List.of(new RoomRequirementDTO(1, 2)));
+        String search = objectMapper.writeValueAsString(searchDTO);
+
+        // The contract ID page, then the rows of its contracts
+        assertStatements(2, () -> mockMvc.perform(get("/contracts")).andExpect(status().isOk()));
+        assertStatements(1, () -> mockMvc.perform(get("/contracts").accept("application/x-ndjson"))
+                .andExpect(status().isOk()).andReturn().getAsyncResult());
+        assertStatements(0, () -> mockMvc.perform(get("/contracts/Hotel")).andExpect(status().isOk()));
+        assertStatements(0, () -> mockMvc.perform(get("/contracts/search/suggest").param("prefix", "hot"))
+                .andExpect(status().isOk()));
+        assertStatements(0, () -> mockMvc.perform(post("/contracts/available")
+                .contentType(MediaType.APPLICATION_JSON).content(search)).andExpect(status().isOk()));
+    }
+
+    /**
+     * Tests that adding and deleting one contract costs the same whatever the size of the catalog.
+     *
+     * @throws Exception if a request fails.
+     */
+    @Test
+    public void testWriteEndpoints() throws Exception {
+        String contract = objectMapper.writeValueAsString(contractDTO("Hotel New"));
+        long[] added = new long[2];
+        long[] deleted = new long[2];
+        for (int run = 0; run < 2; run++) {
+            List<Contract> contracts = seed(run == 0 ? 1 : MANY);
+            added[run] = statementCounter.count(() -> mockMvc.perform(post("/contracts")
+                    .contentType(MediaType.APPLICATION_JSON).content(contract)).andExpect(status().isCreated()));
+            deleted[run] = statementCounter.count(() -> mockMvc.perform(delete("/contracts/{contractId}",
+                    contracts.get(0).getContractId())).andExpect(status().isOk()));
+        }
+        assertEquals(added[0], added[1], "POST /contracts statements");
+        assertEquals(deleted[0], deleted[1], "DELETE /contracts/{contractId} statements");
+    }
+
+    /**
+     * Tests that a bulk import is written in JDBC batches: importing many contracts prepares no more
+     * statements than importing one, apart from fetching the next block of IDs from each sequence.
+     *
+     * @throws Exception if a request fails.
+     */
+    @Test
+    public void testBulkImportIsBatched() throws Exception {
+        long one = statementCounter.count(() -> importContracts(1));
+        long many = statementCounter.count(() -> importContracts(MANY));
+        assertTrue(many <= one + 2, "bulk import of " + MANY + " contracts prepared " + many
+                + " statements, one contract " + one);
+    }
+
+    /**
+     * Runs the action against a catalog of one contract and of {@link #MANY} contracts.
+     */
+    private void assertStatements(long expected, StatementCounter.Action action) throws Exception {
+        for (int contracts : new int[]{1, MANY}) {
+            seed(contracts);
+            // Loads the contract index, so that it is not counted
+            mockMvc.perform(get("/contracts/search/suggest"));
+            assertEquals(expected, statementCounter.count(action), "statements with " + contracts + " contracts");
+        }
+    }
+
+    private List<Contract> seed(int count) {
+        contractRepository.deleteAll();
+        List<Contract> contracts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            contracts.add(Contract.builder()
+                    .hotelName("Hotel " + i)
+                    .startDate(LocalDate.now())
+                    .endDate(LocalDate.now().plusDays(10))
+                    .markUpRate(10.0)
+                    .roomDetails(List.of(
+                            RoomDetail.builder().roomType("Double").pricePerPerson(100.0).numberOfRooms(5).maxAdults(2).build(),
+                            RoomDetail.builder().roomType("Family").pricePerPerson(80.0).numberOfRooms(2).maxAdults(4).build()))
+                    .build());
+        }
+        return contractRepository.saveAll(contracts);
+    }
+
+    private void importContracts(int count) throws Exception {
+        List<ContractDTO> contracts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            contracts.add(contractDTO("Hotel Bulk " + i));
+        }
+        mockMvc.perform(post("/contracts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(contracts)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(count));
+    }
+
+    private static ContractDTO contractDTO(String hotelName) {
+        return ContractDTO.builder()
+                .hotelName(hotelName)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(30))
+                .markUpRate(10.0)
+                .roomDetails(List.of(
+                        new RoomDetailDTO("Double", 100.0, 5, 2),
+                        new RoomDetailDTO("Family", 80.0, 2, 4)))
+                .build();
+    }
+}
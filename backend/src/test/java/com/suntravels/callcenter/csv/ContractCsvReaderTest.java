@@ -0,0 +1,82 @@
+package com.suntravels.callcenter.csv;
+
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.RoomDetailDTO;
+import com.suntravels.callcenter.exception.CsvFormatException;
+import com.suntravels.callcenter.exception.InvalidContractRecordException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ContractCsvReader class.
+ * <p>
+ * Verifies grouping of room rows into contracts, CSV quoting and recovery from malformed contracts.
+ */
+class ContractCsvReaderTest {
+
+    private static final String HEADER = "hotelName,startDate,endDate,markUpRate,roomType,pricePerPerson,numberOfRooms,maxAdults\n";
+
+    /**
+     * Tests that consecutive rows of the same contract are grouped into one contract with several rooms.
+     */
+    @Test
+    void testGroupsRowsIntoContracts() {
+        AtomicInteger rows = new AtomicInteger();
+        ContractCsvReader reader = new ContractCsvReader(new StringReader(HEADER
+                + "Hotel A,2030-01-01,2030-06-30,10,Deluxe,100,5,2\r\n"
+                + "Hotel A,2030-01-01,2030-06-30,10,Suite,250.5,2,4\r\n"
+                + "\n"
+                + "\"Hotel B, Kandy\",2030-02-01,2030-03-01,15,\"Family \"\"Plus\"\"\",80,3,5\n"), rows::incrementAndGet);
+
+        ContractDTO first = reader.next();
+        assertEquals("Hotel A", first.getHotelName());
+        assertEquals(LocalDate.of(2030, 6, 30), first.getEndDate());
+        assertEquals(10.0, first.getMarkUpRate());
+        assertEquals(2, first.getRoomDetails().size());
+        assertEquals(new RoomDetailDTO("Suite", 250.5, 2, 4), first.getRoomDetails().get(1));
+
+        ContractDTO second = reader.next();
+        assertEquals("Hotel B, Kandy", second.getHotelName());
+        assertEquals("Family \"Plus\"", second.getRoomDetails().get(0).getRoomType());
+        assertFalse(reader.hasNext());
+        assertEquals(3, rows.get());
+    }
+
+    /**
+     * Tests that a contract with an unparsable row is reported with its line and skipped as a whole,
+     * and that reading continues with the next contract.
+     */
+    @Test
+    void testMalformedContractIsSkipped() {
+        ContractCsvReader reader = new ContractCsvReader(new StringReader(HEADER
+                + "Hotel A,2030-01-01,2030-06-30,10,Deluxe,100,5,2\n"
+                + "Hotel A,2030-01-01,2030-06-30,10,Suite,abc,2,4\n"
+                + "Hotel B,2030-02-01,2030-03-01,15,Double,80,3,2\n"), () -> { });
+
+        InvalidContractRecordException e = assertThrows(InvalidContractRecordException.class, reader::next);
+        assertEquals("Hotel A", e.getHotelName());
+        assertEquals("Line 3: invalid pricePerPerson 'abc'", e.getMessage());
+        assertEquals("Hotel B", reader.next().getHotelName());
+        assertFalse(reader.hasNext());
+    }
+
+    /**
+     * Tests that columns are matched by name and that a header lacking a column is rejected.
+     */
+    @Test
+    void testHeader() {
+        ContractCsvReader reader = new ContractCsvReader(new StringReader(
+                "maxAdults,numberOfRooms,pricePerPerson,roomType,markUpRate,endDate,startDate,HotelName,notes\n"
+                        + "2,5,100,Deluxe,10,2030-06-30,2030-01-01,Hotel A,ignored\n"), () -> { });
+        assertEquals(new RoomDetailDTO("Deluxe", 100.0, 5, 2), reader.next().getRoomDetails().get(0));
+
+        CsvFormatException e = assertThrows(CsvFormatException.class,
+                () -> new ContractCsvReader(new StringReader("hotelName,startDate\n"), () -> { }));
+        assertTrue(e.getMessage().contains("markUpRate"));
+    }
+}
@@ -0,0 +1,167 @@
+package com.suntravels.callcenter.datasource;
+
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.ContractView;
+import com.suntravels.callcenter.dto.RoomDetailDTO;
+import com.suntravels.callcenter.repository.ContractRepository;
+import com.suntravels.callcenter.service.ContractService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for read replica routing.
+ * <p>
+ * A second in-memory H2 database stands in for the replica. It gets the schema from the same migrations
+ * but is never written by the application, so a read shows which database answered it: contracts added
+ * through the application are only on the primary, and the contract inserted here is only on the replica.
+ */
+@SpringBootTest(properties = {
+        "callcenter.read-replicas.enabled=true",
+        "callcenter.read-replicas.urls=jdbc:h2:mem:replica;IFEXISTS=TRUE",
+        "callcenter.read-replicas.connection-timeout=250ms",
+        "callcenter.read-replicas.health-check-interval=100ms",
+        "callcenter.read-replicas.read-your-writes=1s"})
+class ReadReplicaIntegrationTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate replica =
+            new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ReplicaDataSource replicaDataSource;
+
+    @BeforeAll
+    static void createReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "password")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        contractRepository.deleteAll();
+        replica.update("DELETE FROM room_detail");
+        replica.update("DELETE FROM contract");
+        replica.update("INSERT INTO contract (contract_id, hotel_name, hotel_name_normalized, start_date, end_date,"
+                + " mark_up_rate) VALUES (900001, 'Replica Hotel', 'replica hotel', CURRENT_DATE, CURRENT_DATE + 10, 10)");
+    }
+
+    /**
+     * Tests that reads go to the replica, except within the read-your-writes window after a write, and
+     * that writes go to the primary.
+     */
+    @Test
+    public void testReadsGoToReplica() throws InterruptedException {
+        contractService.addContract(contract("Primary Hotel"));
+
+        assertEquals(List.of("Primary Hotel"), hotelNames());
+        Thread.sleep(1200);
+        assertEquals(List.of("Replica Hotel"), hotelNames());
+        assertEquals(0, replica.queryForObject(
+                "SELECT COUNT(*) FROM contract WHERE hotel_name = 'Primary Hotel'", Integer.class));
+    }
+
+    /**
+     * Tests that reads fail over to the primary while the replica is down, and return to the replica once
+     * it is back.
+     */
+    @Test
+    public void testFailover() throws InterruptedException {
+        Thread.sleep(1200);
+        assertEquals(List.of("Replica Hotel"), hotelNames());
+
+        replica.execute("SHUTDOWN");
+        awaitTrue(() -> replicaDataSource.getHealthyReplicas() == 0);
+        assertEquals(List.of(), hotelNames());
+
+        createReplica();
+        setUp();
+        awaitTrue(() -> replicaDataSource.getHealthyReplicas() == 1);
+        Thread.sleep(1200);
+        assertEquals(List.of("Replica Hotel"), hotelNames());
+    }
+
+    /**
+     * Tests that connections asked for with explicit credentials are routed like the others, and get
+     * those credentials.
+     */
+    @Test
+    public void testConnectionWithCredentials() throws Exception {
+        DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:testdb");
+        try (ReplicaDataSource replicas = new ReplicaDataSource(primary,
+                List.of(new ReplicaDataSource.Replica(REPLICA_URL, new DriverManagerDataSource(REPLICA_URL))),
+                Duration.ZERO, Duration.ofMinutes(1))) {
+            ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicas);
+
+            assertEquals(List.of(), hotelNames(routing.getConnection("sa", "password")));
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try {
+                assertEquals(List.of("Replica Hotel"), hotelNames(routing.getConnection("sa", "password")));
+                assertThrows(SQLException.class, () -> routing.getConnection("sa", "wrong").close());
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        }
+    }
+
+    private static List<String> hotelNames(Connection connection) throws SQLException {
+        try (connection) {
+            return new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForList("SELECT hotel_name FROM contract", String.class);
+        }
+    }
+
+    private List<String> hotelNames() {
+        return contractService.getContracts(null, 10).getContracts().stream().map(ContractView::hotelName).toList();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(20);
+        }
+    }
+
+    private static ContractDTO contract(String hotelName) {
+        return ContractDTO.builder()
+                .hotelName(hotelName)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(10))
+                .markUpRate(10.0)
+                .roomDetails(List.of(RoomDetailDTO.builder()
+                        .roomType("Double")
+                        .pricePerPerson(100.0)
+                        .numberOfRooms(5)
+                        .maxAdults(2)
+                        .build()))
+                .build();
+    }
+}
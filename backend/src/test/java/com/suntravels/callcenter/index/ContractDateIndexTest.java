@@ -0,0 +1,83 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.model.Contract;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ContractDateIndex class.
+ * <p>
+ * Verifies that the index answers covering queries exactly like the database predicate
+ * {@code startDate <= checkIn AND endDate >= checkOut}.
+ */
+class ContractDateIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    /**
+     * Tests that only contracts covering the whole stay are returned, ordered by contract ID.
+     */
+    @Test
+    void testFindCovering() {
+        IndexedContract longest = contract(3, 0, 30);
+        IndexedContract early = contract(1, 0, 10);
+        IndexedContract late = contract(2, 5, 40);
+        ContractDateIndex index = ContractDateIndex.of(List.of(longest, early, late));
+
+        List<IndexedContract> result = index.findCovering(BASE.plusDays(6), BASE.plusDays(10));
+
+        assertEquals(List.of(early, late, longest), result);
+        assertEquals(List.of(late, longest), index.findCovering(BASE.plusDays(6), BASE.plusDays(11)));
+        assertTrue(index.findCovering(BASE.minusDays(1), BASE.plusDays(2)).isEmpty());
+    }
+
+    /**
+     * Tests that an empty index returns no contracts.
+     */
+    @Test
+    void testEmptyIndex() {
+        assertEquals(0, ContractDateIndex.empty().size());
+        assertTrue(ContractDateIndex.empty().findCovering(BASE, BASE.plusDays(1)).isEmpty());
+    }
+
+    /**
+     * Tests the index against a brute-force scan over randomly generated contracts.
+     */
+    @Test
+    void testMatchesLinearScan() {
+        Random random = new Random(42);
+        List<IndexedContract> contracts = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            int start = random.nextInt(365);
+            contracts.add(contract(id, start, start + random.nextInt(120)));
+        }
+        ContractDateIndex index = ContractDateIndex.of(contracts);
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate checkIn = BASE.plusDays(random.nextInt(400));
+            LocalDate checkOut = checkIn.plusDays(random.nextInt(30));
+            List<IndexedContract> expected = contracts.stream()
+                    .filter(c -> !c.getContract().getStartDate().isAfter(checkIn)
+                            && !c.getContract().getEndDate().isBefore(checkOut))
+                    .toList();
+
+            assertEquals(expected, index.findCovering(checkIn, checkOut));
+        }
+    }
+
+    private static IndexedContract contract(int id, int startOffset, int endOffset) {
+        return IndexedContract.of(Contract.builder()
+                .contractId(id)
+                .hotelName("Hotel " + id)
+                .startDate(BASE.plusDays(startOffset))
+                .endDate(BASE.plusDays(endOffset))
+                .markUpRate(10.0)
+                .build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.RoomDetailDTO;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.repository.ContractRepository;
+import com.suntravels.callcenter.service.ContractService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the ContractIndex class.
+ * <p>
+ * Verifies that committed contract writes are applied to the index and rolled back ones are not.
+ */
+@SpringBootTest
+class ContractIndexIntegrationTest {
+
+    @Autowired
+    private ContractIndex contractIndex;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        contractRepository.deleteAll();
+    }
+
+    /**
+     * Tests that contracts added and deleted through the service are reflected in the index.
+     */
+    @Test
+    public void testIndexFollowsAddAndDelete() {
+        LocalDate checkIn = LocalDate.now().plusDays(2);
+        assertTrue(contractIndex.findContractsByDateRange(checkIn, checkIn.plusDays(3)).isEmpty());
+
+        Contract contract = contractService.addContract(contractDTO("Hotel Index"));
+        assertEquals(1, contractIndex.findContractsByDateRange(checkIn, checkIn.plusDays(3)).size());
+
+        contractService.deleteContract(contract.getContractId());
+        assertTrue(contractIndex.findContractsByDateRange(checkIn, checkIn.plusDays(3)).isEmpty());
+    }
+
+    /**
+     * Tests that a rolled back insert never reaches the index, while the writing transaction still sees it.
+     */
+    @Test
+    public void testRolledBackInsertIsIgnored() {
+        LocalDate checkIn = LocalDate.now().plusDays(2);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            contractService.addContract(contractDTO("Hotel Rollback"));
+            assertEquals(1, contractIndex.findContractsByDateRange(checkIn, checkIn.plusDays(3)).size());
+            status.setRollbackOnly();
+        });
+
+        assertTrue(contractIndex.findContractsByDateRange(checkIn, checkIn.plusDays(3)).isEmpty());
+    }
+
+    private static ContractDTO contractDTO(String hotelName) {
+        return ContractDTO.builder()
+                .hotelName(hotelName)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(10))
+                .markUpRate(10.0)
+                .roomDetails(Collections.singletonList(RoomDetailDTO.builder()
+                        .roomType("Deluxe")
+                        .pricePerPerson(100.0)
+                        .numberOfRooms(5)
+                        .maxAdults(2)
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.model.Contract;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the HotelNameIndex class.
+ * <p>
+ * Verifies that the index answers substring queries exactly like a case-insensitive
+ * {@code hotelName LIKE %text%} scan.
+ */
+class HotelNameIndexTest {
+
+    /**
+     * Tests substring, case-insensitive and short queries.
+     */
+    @Test
+    void testFindContaining() {
+        Contract galle = contract(2, "Galle Fort Hotel");
+        Contract kandy = contract(1, "Hotel Kandy");
+        Contract colombo = contract(3, "Colombo Grand");
+        HotelNameIndex index = HotelNameIndex.of(List.of(galle, kandy, colombo));
+
+        assertEquals(List.of(kandy, galle), index.findContaining("Hotel"));
+        assertEquals(List.of(galle), index.findContaining("FORT h"));
+        assertEquals(List.of(kandy, galle, colombo), index.findContaining("o"));
+        assertTrue(index.findContaining("Hotel Galle").isEmpty());
+        assertTrue(HotelNameIndex.empty().findContaining("Hotel").isEmpty());
+    }
+
+    /**
+     * Tests the index against a brute-force scan over randomly generated names.
+     */
+    @Test
+    void testMatchesLinearScan() {
+        Random random = new Random(7);
+        List<Contract> contracts = new ArrayList<>();
+        for (int id = 1; id <= 1000; id++) {
+            contracts.add(contract(id, randomName(random, 5 + random.nextInt(15))));
+        }
+        HotelNameIndex index = HotelNameIndex.of(contracts);
+
+        for (int i = 0; i < 500; i++) {
+            String query = randomName(random, 1 + random.nextInt(5));
+            List<Contract> expected = contracts.stream()
+                    .filter(c -> c.getHotelName().toLowerCase(Locale.ROOT).contains(query.toLowerCase(Locale.ROOT)))
+                    .toList();
+
+            assertEquals(expected, index.findContaining(query));
+        }
+    }
+
+    private static String randomName(Random random, int length) {
+        // A small alphabet so that queries share trigrams with many names
+        String alphabet = "abcdeABC ";
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return name.toString();
+    }
+
+    private static Contract contract(int id, String hotelName) {
+        return Contract.builder()
+                .contractId(id)
+                .hotelName(hotelName)
+                .startDate(LocalDate.of(2030, 1, 1))
+                .endDate(LocalDate.of(2030, 12, 31))
+                .markUpRate(10.0)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.model.Contract;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the HotelNameTrie class.
+ * <p>
+ * Verifies normalization, ranking and that lookups agree with a brute-force scan.
+ */
+class HotelNameTrieTest {
+
+    /**
+     * Tests that hotels are suggested once, ranked by contract count, ignoring case and extra spaces.
+     */
+    @Test
+    void testSuggest() {
+        HotelNameTrie trie = HotelNameTrie.of(List.of(
+                contract(1, "Hotel Kandy"),
+                contract(2, "Hotel  Galle"),
+                contract(3, "hotel galle"),
+                contract(4, "Hotel Colombo"),
+                contract(5, "Cinnamon Grand")));
+
+        assertEquals(List.of("Hotel  Galle", "Hotel Colombo", "Hotel Kandy"), trie.suggest("HOTEL", 10));
+        assertEquals(List.of("Hotel  Galle"), trie.suggest("  hotel   g", 10));
+        assertEquals(List.of("Hotel  Galle", "Cinnamon Grand"), trie.suggest("", 2));
+        assertTrue(trie.suggest("Hotel X", 10).isEmpty());
+        assertTrue(HotelNameTrie.empty().suggest("Hotel", 10).isEmpty());
+    }
+
+    /**
+     * Tests the trie against a brute-force ranking over randomly generated names.
+     */
+    @Test
+    void testMatchesLinearScan() {
+        Random random = new Random(11);
+        List<Contract> contracts = new ArrayList<>();
+        for (int id = 1; id <= 2000; id++) {
+            contracts.add(contract(id, randomName(random, 1 + random.nextInt(6))));
+        }
+        HotelNameTrie trie = HotelNameTrie.of(contracts);
+
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, String> displayNames = new HashMap<>();
+        for (Contract contract : contracts) {
+            String key = contract.getHotelName().toLowerCase(Locale.ROOT);
+            counts.merge(key, 1, Integer::sum);
+            displayNames.putIfAbsent(key, contract.getHotelName());
+        }
+
+        for (int i = 0; i < 300; i++) {
+            String prefix = randomName(random, random.nextInt(4));
+            List<String> expected = counts.keySet().stream()
+                    .filter(key -> key.startsWith(prefix.toLowerCase(Locale.ROOT)))
+                    .sorted(Comparator.comparing((String key) -> -counts.get(key)).thenComparing(key -> key))
+                    .limit(HotelNameTrie.TOP_K)
+                    .map(displayNames::get)
+                    .toList();
+
+            assertEquals(expected, trie.suggest(prefix, HotelNameTrie.TOP_K));
+        }
+    }
+
+    private static String randomName(Random random, int length) {
+        String alphabet = "abcAB";
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return name.toString();
+    }
+
+    private static Contract contract(int id, String hotelName) {
+        return Contract.builder()
+                .contractId(id)
+                .hotelName(hotelName)
+                .startDate(LocalDate.of(2030, 1, 1))
+                .endDate(LocalDate.of(2030, 12, 31))
+                .markUpRate(10.0)
+                .build();
+    }
+}
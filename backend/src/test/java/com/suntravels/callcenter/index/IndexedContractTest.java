@@ -0,0 +1,57 @@
+package com.suntravels.callcenter.index;
+
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the IndexedContract class.
+ * <p>
+ * Verifies that room details are grouped by capacity and sorted by availability.
+ */
+class IndexedContractTest {
+
+    /**
+     * Tests that each bucket only holds rooms of one capacity, most available first.
+     */
+    @Test
+    void testRoomsGroupedByCapacity() {
+        RoomDetail standard = new RoomDetail(1, "Standard", 80.0, 3, 2);
+        RoomDetail deluxe = new RoomDetail(2, "Deluxe", 120.0, 8, 2);
+        RoomDetail family = new RoomDetail(3, "Family", 150.0, 4, 4);
+        RoomDetail superior = new RoomDetail(4, "Superior", 100.0, 8, 2);
+
+        IndexedContract indexed = IndexedContract.of(contract(List.of(standard, deluxe, family, superior)));
+
+        // Equal availability keeps the contract's own order
+        assertArrayEquals(new RoomDetail[]{deluxe, superior, standard}, indexed.roomsFor(2));
+        assertArrayEquals(new RoomDetail[]{family}, indexed.roomsFor(4));
+        assertEquals(0, indexed.roomsFor(3).length);
+    }
+
+    /**
+     * Tests that a contract without room details has empty buckets.
+     */
+    @Test
+    void testContractWithoutRooms() {
+        IndexedContract indexed = IndexedContract.of(contract(null));
+
+        assertEquals(0, indexed.roomsFor(2).length);
+    }
+
+    private static Contract contract(List<RoomDetail> roomDetails) {
+        return Contract.builder()
+                .contractId(1)
+                .hotelName("Hotel A")
+                .startDate(LocalDate.of(2025, 1, 1))
+                .endDate(LocalDate.of(2025, 12, 31))
+                .markUpRate(10.0)
+                .roomDetails(roomDetails)
+                .build();
+    }
+}
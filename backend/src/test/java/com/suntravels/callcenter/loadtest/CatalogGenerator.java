@@ -0,0 +1,135 @@
+package com.suntravels.callcenter.loadtest;
+
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.RoomDetailDTO;
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.dto.SearchDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a reproducible, realistic contract catalog and the requests run against it.
+ * <p>
+ * Every hotel has 1 to 4 seasonal contracts. Seasons start roughly every quarter from
+ * {@link #FIRST_DAY} and run for 60 to 200 days, so consecutive seasons of a hotel overlap. A contract
+ * offers 1 to 5 room types whose capacity follows a typical mix (mostly doubles, some singles, triples
+ * and family rooms), priced by capacity. Searches check in during the catalog's first year and mostly
+ * ask for short stays of one or two rooms.
+ * <p>
+ * The same seed always yields the same catalog and requests.
+ */
+public class CatalogGenerator {
+
+    public static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    private static final String[] BRANDS = {"Cinnamon", "Jetwing", "Heritance", "Amaya", "Citrus", "Aitken",
+            "Taj", "Shangri-La", "Galle Face", "Mount Lavinia", "Earl's", "Hilltop"};
+    private static final String[] PLACES = {"Colombo", "Kandy", "Galle", "Bentota", "Ella", "Negombo",
+            "Sigiriya", "Trincomalee", "Nuwara Eliya", "Mirissa", "Yala", "Jaffna"};
+    private static final String[] KINDS = {"Resort", "Hotel", "Lodge", "Beach", "Grand", "Villas"};
+
+    /**
+     * Room capacities and how often they occur, in percent.
+     */
+    private static final int[] ADULTS = {1, 2, 3, 4, 5, 6};
+    private static final int[] ADULTS_WEIGHTS = {15, 50, 20, 10, 3, 2};
+
+    private static final String[] ROOM_TYPES = {"Single", "Double", "Triple", "Family", "Suite", "Villa"};
+
+    private final Random random;
+    private int hotels;
+
+    public CatalogGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates the seasonal contracts of the given number of new hotels.
+     *
+     * @param hotelCount The number of hotels.
+     * @return The contracts, hotel by hotel.
+     */
+    public List<ContractDTO> contracts(int hotelCount) {
+        List<ContractDTO> contracts = new ArrayList<>();
+        for (int h = 0; h < hotelCount; h++) {
+            String hotelName = nextHotelName();
+            int seasons = 1 + random.nextInt(4);
+            for (int s = 0; s < seasons; s++) {
+                LocalDate startDate = FIRST_DAY.plusDays(s * 90L + random.nextInt(30));
+                contracts.add(contract(hotelName, startDate, 60 + random.nextInt(141)));
+            }
+        }
+        return contracts;
+    }
+
+    /**
+     * Generates one contract for a new hotel, as created by {@code POST /contracts}.
+     */
+    public ContractDTO newContract() {
+        return contract(nextHotelName(), FIRST_DAY.plusDays(random.nextInt(365)), 60 + random.nextInt(141));
+    }
+
+    /**
+     * Generates an availability search.
+     */
+    public SearchDTO search() {
+        int requirementCount = random.nextInt(10) < 7 ? 1 : 2;
+        List<RoomRequirementDTO> requirements = new ArrayList<>(requirementCount);
+        for (int r = 0; r < requirementCount; r++) {
+            requirements.add(new RoomRequirementDTO(1 + random.nextInt(2), roomCapacity()));
+        }
+        // Most stays are a few nights; a few last up to two weeks
+        int nights = random.nextInt(10) < 8 ? 1 + random.nextInt(5) : 6 + random.nextInt(9);
+        return new SearchDTO(FIRST_DAY.plusDays(random.nextInt(365)), nights, requirements);
+    }
+
+    /**
+     * Picks a number between 0 and {@code bound} (exclusive), from the generator's random sequence.
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    private ContractDTO contract(String hotelName, LocalDate startDate, int days) {
+        int roomTypes = 1 + random.nextInt(5);
+        List<RoomDetailDTO> rooms = new ArrayList<>(roomTypes);
+        for (int r = 0; r < roomTypes; r++) {
+            int maxAdults = roomCapacity();
+            rooms.add(RoomDetailDTO.builder()
+                    .roomType(ROOM_TYPES[maxAdults - 1] + " " + (r + 1))
+                    .pricePerPerson(40.0 + random.nextInt(60) + 15.0 * (maxAdults - 1))
+                    .numberOfRooms(1 + random.nextInt(30))
+                    .maxAdults(maxAdults)
+                    .build());
+        }
+        return ContractDTO.builder()
+                .hotelName(hotelName)
+                .startDate(startDate)
+                .endDate(startDate.plusDays(days))
+                .markUpRate(5.0 + random.nextInt(21))
+                .roomDetails(rooms)
+                .build();
+    }
+
+    private String nextHotelName() {
+        int n = hotels++;
+        String name = BRANDS[random.nextInt(BRANDS.length)] + " " + PLACES[random.nextInt(PLACES.length)]
+                + " " + KINDS[random.nextInt(KINDS.length)];
+        // Keeps every hotel distinct while many share a brand or a place
+        return name + " " + (n + 1);
+    }
+
+    private int roomCapacity() {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < ADULTS.length; i++) {
+            roll -= ADULTS_WEIGHTS[i];
+            if (roll < 0) {
+                return ADULTS[i];
+            }
+        }
+        return ADULTS[ADULTS.length - 1];
+    }
+}
@@ -0,0 +1,61 @@
+package com.suntravels.callcenter.loadtest;
+
+import com.suntravels.callcenter.dto.ContractDTO;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the load test's CatalogGenerator and LatencyRecorder.
+ * <p>
+ * Verifies that catalogs are reproducible and valid with overlapping seasons, and that percentiles are exact.
+ */
+class CatalogGeneratorTest {
+
+    @Test
+    void testCatalogIsReproducibleAndValid() {
+        List<ContractDTO> contracts = new CatalogGenerator(42).contracts(200);
+
+        assertEquals(contracts, new CatalogGenerator(42).contracts(200));
+        try (var factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            contracts.forEach(contract -> assertTrue(validator.validate(contract).isEmpty(), contract.toString()));
+        }
+    }
+
+    @Test
+    void testSeasonsOfAHotelOverlap() {
+        Map<String, List<ContractDTO>> seasons = new CatalogGenerator(42).contracts(200).stream()
+                .collect(Collectors.groupingBy(ContractDTO::getHotelName));
+
+        assertEquals(200, seasons.size());
+        boolean overlapping = seasons.values().stream().anyMatch(hotel -> hotel.size() > 1
+                && hotel.get(1).getStartDate().isBefore(hotel.get(0).getEndDate()));
+        assertTrue(overlapping);
+    }
+
+    @Test
+    void testLatencyPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long nanos = 1000; nanos >= 1; nanos--) {
+            recorder.record(nanos);
+        }
+        recorder.recordError();
+
+        LatencyRecorder.Summary summary = recorder.summarize(1_000_000_000L);
+
+        assertEquals(1000, summary.count());
+        assertEquals(1, summary.errors());
+        assertEquals(1001.0, summary.throughput());
+        assertEquals(500, summary.p50());
+        assertEquals(990, summary.p99());
+        assertEquals(999, summary.p999());
+        assertEquals(1000, summary.max());
+    }
+}
@@ -0,0 +1,79 @@
+package com.suntravels.callcenter.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latencies and errors of one kind of request, from any number of threads.
+ * <p>
+ * Every latency is kept, so percentiles are exact; a load test run records at most a few million
+ * requests per operation.
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    /**
+     * Records a completed request.
+     *
+     * @param nanos The latency of the request, in nanoseconds.
+     */
+    public synchronized void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    /**
+     * Records a request that failed or was answered with an unexpected status.
+     */
+    public synchronized void recordError() {
+        errors++;
+    }
+
+    /**
+     * Adds everything recorded here to another recorder, e.g. to summarize several kinds of request together.
+     */
+    public synchronized void copyTo(LatencyRecorder other) {
+        for (int i = 0; i < count; i++) {
+            other.record(latencies[i]);
+        }
+        synchronized (other) {
+            other.errors += errors;
+        }
+    }
+
+    /**
+     * Summarizes the requests recorded so far.
+     *
+     * @param elapsedNanos The time over which they were recorded, to compute the throughput.
+     * @return The request count, throughput and latency percentiles.
+     */
+    public synchronized Summary summarize(long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+        return new Summary(count, errors, seconds > 0 ? (count + errors) / seconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                count == 0 ? 0 : sorted[count - 1]);
+    }
+
+    /**
+     * @return The nearest-rank percentile of the sorted latencies, or 0 if there are none.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * The results of one kind of request; latencies are in nanoseconds.
+     */
+    public record Summary(long count, long errors, double throughput, long p50, long p99, long p999, long max) {
+    }
+}
@@ -0,0 +1,309 @@
+package com.suntravels.callcenter.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suntravels.callcenter.CallcenterApplication;
+import com.suntravels.callcenter.dto.BulkImportResultDTO;
+import com.suntravels.callcenter.service.BulkContractService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load test of the contract API, run against an in-memory H2 database.
+ * <p>
+ * Starts the application on a random port with its own H2 database, seeds it with a synthetic catalog
+ * from {@link CatalogGenerator}, and then drives a mix of availability searches, contract listings and
+ * contract creations over HTTP. After a warm-up, it reports the throughput and the p50, p99 and p99.9
+ * latencies of each kind of request. Everything runs in one JVM and needs no network access.
+ * <p>
+ * With a {@code --rate}, requests are started on a fixed schedule (open loop) and their latency is
+ * measured from the time they were due, so a slow server cannot hide its queueing delay by holding
+ * back the load. Without one, {@code --concurrency} clients send requests back to back (closed loop),
+ * which measures the highest sustainable throughput.
+ * <p>
+ * With {@code --stack=reactive} the application runs in the reactive profile, serving the contract API
+ * with WebFlux and R2DBC instead of Spring MVC and JPA, which needs the classes of the {@code reactive}
+ * Maven profile. Either way the report ends with the peak number of threads of the server's pools, so the
+ * two stacks can be compared under the same load.
+ * <p>
+ * Run with: {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=200 --duration=60"}
+ * or {@code mvn -Preactive,loadtest test-compile exec:exec -Dloadtest.args="--stack=reactive --concurrency=512"}
+ */
+public class LoadTestHarness {
+
+    /**
+     * The kinds of request sent.
+     */
+    enum Operation {
+        SEARCH("POST /contracts/available"),
+        LIST("GET /contracts"),
+        CREATE("POST /contracts");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * The number of requests planned up front; the load cycles through them.
+     */
+    private static final int PLAN_SIZE = 8192;
+
+    /**
+     * The time between samples of the server's threads, in milliseconds.
+     */
+    private static final long THREAD_SAMPLE_INTERVAL = 100;
+
+    private final Options options;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    LoadTestHarness(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        SpringApplicationBuilder application = new SpringApplicationBuilder(CallcenterApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN");
+        // Connection settings are given as arguments, which take precedence over those of the configuration files
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"));
+        if (options.reactive()) {
+            // R2DBC reads the same in-memory database as JDBC
+            application.profiles("reactive");
+            arguments.addAll(List.of(
+                    "--spring.r2dbc.url=r2dbc:h2:mem:///loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                    "--spring.r2dbc.username=sa",
+                    "--spring.r2dbc.password=password"));
+        }
+        ConfigurableApplicationContext context = application.run(arguments.toArray(String[]::new));
+        try {
+            new LoadTestHarness(options).run(context, System.out);
+        } finally {
+            context.close();
+        }
+    }
+
+    void run(ConfigurableApplicationContext context, PrintStream out) throws InterruptedException {
+        CatalogGenerator generator = new CatalogGenerator(options.seed());
+        BulkImportResultDTO seeded = context.getBean(BulkContractService.class)
+                .importContracts(generator.contracts(options.hotels()).iterator());
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        List<Request> plan = plan(generator, context.getBean(ObjectMapper.class), "http://localhost:" + port,
+                seeded.getImported());
+
+        out.printf(Locale.ROOT, "Seeded %d hotels with %d contracts; %s stack, %s, concurrency %d, %d s after %d s warm-up%n",
+                options.hotels(), seeded.getImported(), options.reactive() ? "reactive" : "servlet",
+                options.rate() > 0 ? String.format(Locale.ROOT, "%.0f requests/s", options.rate()) : "closed loop",
+                options.concurrency(), options.durationSeconds(), options.warmupSeconds());
+        if (options.warmupSeconds() > 0) {
+            drive(plan, options.warmupSeconds());
+        }
+        Result result = drive(plan, options.durationSeconds());
+        report(result, out);
+    }
+
+    /**
+     * Plans the requests in the proportions of the mix, in a reproducible random order.
+     */
+    private List<Request> plan(CatalogGenerator generator, ObjectMapper objectMapper, String baseUrl, int contracts) {
+        int total = 0;
+        for (int weight : options.mix().values()) {
+            total += weight;
+        }
+        List<Request> plan = new ArrayList<>(PLAN_SIZE);
+        for (int i = 0; i < PLAN_SIZE; i++) {
+            int roll = generator.nextInt(total);
+            Operation operation = null;
+            for (Map.Entry<Operation, Integer> entry : options.mix().entrySet()) {
+                roll -= entry.getValue();
+                if (roll < 0) {
+                    operation = entry.getKey();
+                    break;
+                }
+            }
+            HttpRequest request = switch (operation) {
+                case SEARCH -> post(baseUrl + "/contracts/available", json(objectMapper, generator.search()));
+                case LIST -> {
+                    // Mostly the first page, otherwise a page somewhere in the catalog
+                    String after = generator.nextInt(4) == 0 || contracts == 0 ? ""
+                            : "&after=" + generator.nextInt(contracts);
+                    yield HttpRequest.newBuilder(URI.create(baseUrl + "/contracts?size=50" + after)).GET().build();
+                }
+                case CREATE -> post(baseUrl + "/contracts", json(objectMapper, generator.newContract()));
+            };
+            plan.add(new Request(operation, request));
+        }
+        return plan;
+    }
+
+    /**
+     * Sends requests from the plan for the given time and waits for the last of them to complete.
+     */
+    private Result drive(List<Request> plan, int seconds) throws InterruptedException {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        ExecutorService clients = Executors.newFixedThreadPool(options.concurrency());
+        ThreadSampler threads = new ThreadSampler(THREAD_SAMPLE_INTERVAL);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        if (options.rate() > 0) {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate());
+            for (long i = 0; start + i * interval < end; i++) {
+                long due = start + i * interval;
+                LockSupport.parkNanos(due - System.nanoTime());
+                Request request = plan.get((int) (i % plan.size()));
+                // Requests wait in the executor's queue when every client is busy, which counts as latency
+                clients.execute(() -> send(request, due, recorders.get(request.operation())));
+            }
+        } else {
+            AtomicLong next = new AtomicLong();
+            for (int c = 0; c < options.concurrency(); c++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        Request request = plan.get((int) (next.getAndIncrement() % plan.size()));
+                        send(request, System.nanoTime(), recorders.get(request.operation()));
+                    }
+                });
+            }
+        }
+        clients.shutdown();
+        clients.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        threads.close();
+        return new Result(recorders, System.nanoTime() - start, threads.peaks(), threads.peakThreadCount());
+    }
+
+    private void send(Request request, long startNanos, LatencyRecorder recorder) {
+        try {
+            HttpResponse<Void> response = client.send(request.httpRequest(), HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - startNanos;
+            // A search or page that finds no contracts is answered with 404
+            if (response.statusCode() / 100 == 2
+                    || response.statusCode() == 404 && request.operation() != Operation.CREATE) {
+                recorder.record(latency);
+            } else {
+                recorder.recordError();
+            }
+        } catch (IOException e) {
+            recorder.recordError();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void report(Result result, PrintStream out) {
+        out.printf(Locale.ROOT, "%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder.Summary summary = result.recorders().get(operation).summarize(result.elapsedNanos());
+            if (summary.count() + summary.errors() > 0) {
+                printRow(out, operation.label, summary);
+            }
+        }
+        LatencyRecorder all = new LatencyRecorder();
+        result.recorders().values().forEach(recorder -> recorder.copyTo(all));
+        printRow(out, "total", all.summarize(result.elapsedNanos()));
+
+        out.printf(Locale.ROOT, "%n%-28s %9s%n", "threads", "peak");
+        result.serverThreads().forEach((pool, peak) -> out.printf(Locale.ROOT, "%-28s %9d%n", pool, peak));
+        out.printf(Locale.ROOT, "%-28s %9d%n", "JVM, with " + options.concurrency() + " clients", result.peakThreads());
+    }
+
+    private static void printRow(PrintStream out, String label, LatencyRecorder.Summary summary) {
+        out.printf(Locale.ROOT, "%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", label, summary.count(),
+                summary.errors(), summary.throughput(), millis(summary.p50()), millis(summary.p99()),
+                millis(summary.p999()), millis(summary.max()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String json(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Request(Operation operation, HttpRequest httpRequest) {
+    }
+
+    private record Result(Map<Operation, LatencyRecorder> recorders, long elapsedNanos,
+                          Map<String, Integer> serverThreads, int peakThreads) {
+    }
+
+    /**
+     * The load test settings, given as {@code --name=value} arguments.
+     *
+     * @param hotels          Hotels in the seeded catalog ({@code --hotels}, default 500).
+     * @param rate            Requests started per second, or 0 for a closed loop ({@code --rate}, default 0).
+     * @param concurrency     Concurrent clients ({@code --concurrency}, default 16).
+     * @param durationSeconds Length of the measured run ({@code --duration}, default 30).
+     * @param warmupSeconds   Length of the unmeasured warm-up ({@code --warmup}, default 10).
+     * @param mix             Relative weights of the operations ({@code --mix=search:80,list:15,create:5}).
+     * @param seed            Seed of the catalog and the requests ({@code --seed}, default 42).
+     * @param reactive        Whether to serve the API with the reactive stack ({@code --stack=reactive}) instead
+     *                        of the servlet stack ({@code --stack=servlet}, the default).
+     */
+    record Options(int hotels, double rate, int concurrency, int durationSeconds, int warmupSeconds,
+                   Map<Operation, Integer> mix, long seed, boolean reactive) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (arg.startsWith("--") && arg.contains("=")) {
+                    values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+                }
+            }
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            for (String part : values.getOrDefault("mix", "search:80,list:15,create:5").split(",")) {
+                String[] weight = part.split(":");
+                mix.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+            }
+            return new Options(Integer.parseInt(values.getOrDefault("hotels", "500")),
+                    Double.parseDouble(values.getOrDefault("rate", "0")),
+                    Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                    Integer.parseInt(values.getOrDefault("duration", "30")),
+                    Integer.parseInt(values.getOrDefault("warmup", "10")),
+                    mix,
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    values.getOrDefault("stack", "servlet").equalsIgnoreCase("reactive"));
+        }
+    }
+}
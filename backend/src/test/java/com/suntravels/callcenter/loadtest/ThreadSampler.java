@@ -0,0 +1,89 @@
+package com.suntravels.callcenter.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the live threads of the JVM while a load test runs, to compare how many threads each web stack
+ * needs to serve the same load.
+ * <p>
+ * Threads are counted by the pool they belong to, recognized by the prefix of their name, and the highest
+ * count seen in any sample is kept per pool.
+ */
+public class ThreadSampler implements AutoCloseable {
+
+    /**
+     * The pools that serve requests, by thread name prefix.
+     */
+    static final Map<String, String> POOLS = Map.of(
+            "http-nio-", "Tomcat request threads",
+            "reactor-http-", "Netty event loops",
+            "parallel-", "Reactor parallel",
+            "boundedElastic-", "Reactor bounded elastic",
+            "ForkJoinPool-", "Parallel search evaluation");
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final Map<String, Integer> peaks = new LinkedHashMap<>();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "thread-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Starts sampling.
+     *
+     * @param intervalMillis The time between samples.
+     */
+    public ThreadSampler(long intervalMillis) {
+        threads.resetPeakThreadCount();
+        sampler.scheduleAtFixedRate(this::sample, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds(), 0)) {
+            if (info == null) {
+                continue;
+            }
+            for (String prefix : POOLS.keySet()) {
+                if (info.getThreadName().startsWith(prefix)) {
+                    counts.merge(prefix, 1, Integer::sum);
+                }
+            }
+        }
+        synchronized (peaks) {
+            counts.forEach((prefix, count) -> peaks.merge(prefix, count, Math::max));
+        }
+    }
+
+    /**
+     * @return The highest number of live threads seen in each pool that had any, by pool description.
+     */
+    public Map<String, Integer> peaks() {
+        Map<String, Integer> described = new LinkedHashMap<>();
+        synchronized (peaks) {
+            peaks.forEach((prefix, count) -> described.put(POOLS.get(prefix), count));
+        }
+        return described;
+    }
+
+    /**
+     * @return The highest number of live threads in the JVM since sampling started, including the load
+     * test's own clients.
+     */
+    public int peakThreadCount() {
+        return threads.getPeakThreadCount();
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+}
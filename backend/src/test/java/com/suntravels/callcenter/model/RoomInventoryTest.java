@@ -0,0 +1,79 @@
+package com.suntravels.callcenter.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RoomInventory class.
+ * <p>
+ * Verifies that rooms taken for a stay are only missing from the nights of that stay.
+ */
+class RoomInventoryTest {
+
+    /**
+     * Tests that a room type without a ledger has all its rooms on every night.
+     */
+    @Test
+    void testNoLedgerHasAllRooms() {
+        assertEquals(5, RoomInventory.remaining(null, 5, 3, 4));
+        assertTrue(RoomInventory.hasRooms(null, 5, 3, 4, 5));
+        assertFalse(RoomInventory.hasRooms(null, 5, 3, 4, 6));
+    }
+
+    /**
+     * Tests that taking rooms lowers only the nights of the stay, and that a stay is limited by its
+     * fullest night.
+     */
+    @Test
+    void testTakeRoomsForStay() {
+        byte[] ledger = RoomInventory.take(null, 5, 10, 2, 3, 2);
+        ledger = RoomInventory.take(ledger, 5, 10, 4, 2, 1);
+
+        assertEquals(5, RoomInventory.remaining(ledger, 5, 0, 2));
+        assertEquals(3, RoomInventory.remaining(ledger, 5, 2, 2));
+        assertEquals(2, RoomInventory.remaining(ledger, 5, 0, 10));
+        assertEquals(4, RoomInventory.remaining(ledger, 5, 5, 5));
+        assertTrue(RoomInventory.hasRooms(ledger, 5, 0, 4, 3));
+        assertFalse(RoomInventory.hasRooms(ledger, 5, 0, 5, 3));
+    }
+
+    /**
+     * Tests that rooms cannot be taken beyond what is free, and that the original ledger is left unchanged.
+     */
+    @Test
+    void testTakeMoreThanFree() {
+        byte[] ledger = RoomInventory.take(null, 2, 10, 0, 5, 2);
+
+        assertNull(RoomInventory.take(ledger, 2, 10, 4, 3, 1));
+        byte[] taken = RoomInventory.take(ledger, 2, 10, 5, 3, 2);
+        assertNotNull(taken);
+        assertEquals(2, RoomInventory.remaining(ledger, 2, 5, 3));
+        assertEquals(0, RoomInventory.remaining(taken, 2, 5, 3));
+    }
+
+    /**
+     * Tests that rooms given back never raise a night above the room type's total.
+     */
+    @Test
+    void testGiveBackRooms() {
+        byte[] ledger = RoomInventory.take(null, 4, 10, 2, 2, 3);
+        ledger = RoomInventory.take(ledger, 4, 10, 0, 6, -3);
+
+        assertEquals(4, RoomInventory.remaining(ledger, 4, 0, 10));
+    }
+
+    /**
+     * Tests that stays outside the contract are rejected.
+     */
+    @Test
+    void testStayOutsideContract() {
+        assertThrows(IllegalArgumentException.class, () -> RoomInventory.take(null, 4, 10, 8, 3, 1));
+        assertThrows(IllegalArgumentException.class, () -> RoomInventory.take(null, 4, 10, -1, 2, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> RoomInventory.take(null, 4, RoomInventory.MAX_NIGHTS + 1, 0, 2, 1));
+        assertEquals(3, RoomInventory.night(LocalDate.of(2025, 12, 30), LocalDate.of(2026, 1, 2)));
+    }
+}
@@ -1,5 +1,8 @@
 package com.suntravels.callcenter.repository;
 
+import com.suntravels.callcenter.dto.ContractView;
+import com.suntravels.callcenter.dto.RoomDetailView;
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
 import com.suntravels.callcenter.model.Contract;
 import com.suntravels.callcenter.model.RoomDetail;
 import com.suntravels.callcenter.repository.ContractRepository;
@@ -108,4 +111,64 @@ public class ContractRepositoryTest {
         List<Contract> contracts = contractRepository.findContractsByDateRange(checkInDate, checkOutDate);
         assertTrue(contracts.isEmpty());
     }
+
+    /**
+     * Tests the availability search evaluated in SQL.
+     * <p>
+     * This test ensures that a contract is only returned if every requirement can be fulfilled, and that
+     * only the rooms fulfilling a requirement are returned, most available first.
+     */
+    @Test
+    public void testFindAvailableRooms() {
+        LocalDate checkInDate = LocalDate.of(2024, 6, 1);
+        LocalDate checkOutDate = LocalDate.of(2024, 6, 10);
+
+        List<AvailableRoomView> rooms = contractRepository.findAvailableRooms(checkInDate, checkOutDate,
+                List.of(new RoomRequirementDTO(3, 2), new RoomRequirementDTO(5, 3)));
+        assertEquals(2, rooms.size());
+        assertEquals("Deluxe", rooms.get(0).roomType());
+        assertEquals("Suite", rooms.get(1).roomType());
+        assertEquals(contract.getContractId(), rooms.get(0).contractId());
+        assertEquals(10.0, rooms.get(0).markUpRate());
+
+        rooms = contractRepository.findAvailableRooms(checkInDate, checkOutDate, List.of(new RoomRequirementDTO(1, 2)));
+        assertEquals(1, rooms.size());
+        assertEquals("Deluxe", rooms.get(0).roomType());
+
+        // The suite has only 5 rooms
+        assertTrue(contractRepository.findAvailableRooms(checkInDate, checkOutDate,
+                List.of(new RoomRequirementDTO(3, 2), new RoomRequirementDTO(6, 3))).isEmpty());
+        assertTrue(contractRepository.findAvailableRooms(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 10),
+                List.of(new RoomRequirementDTO(1, 2))).isEmpty());
+    }
+
+    /**
+     * Tests reading contracts as views.
+     * <p>
+     * This test ensures that each contract is returned once with all of its room details, and that the page
+     * limit counts contracts rather than room details.
+     */
+    @Test
+    public void testFindViewPageAfter() {
+        Contract withoutRooms = contractRepository.save(Contract.builder()
+                .hotelName("Empty Hotel")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 12, 31))
+                .markUpRate(5.0)
+                .roomDetails(List.of())
+                .build());
+
+        List<ContractView> views = contractRepository.findViewPageAfter(0, 1);
+        assertEquals(1, views.size());
+        assertEquals(contract.getContractId(), views.get(0).contractId());
+        assertEquals(List.of("Deluxe", "Suite"), views.get(0).roomDetails().stream().map(RoomDetailView::roomType).toList());
+
+        views = contractRepository.findViewPageAfter(contract.getContractId(), 10);
+        assertEquals(1, views.size());
+        assertEquals(withoutRooms.getContractId(), views.get(0).contractId());
+        assertTrue(views.get(0).roomDetails().isEmpty());
+
+        assertEquals(List.of(ContractView.of(contract)), contractRepository.findViewsByHotelName("Test"));
+        assertEquals(2, contractRepository.findAllViews().size());
+    }
 }
@@ -0,0 +1,118 @@
+package com.suntravels.callcenter.repository;
+
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.support.SqlCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the search queries use the indexes created by the Flyway migrations.
+ * <p>
+ * The SQL that Hibernate generates for a repository method is captured with {@link SqlCapture} and
+ * passed to H2's {@code EXPLAIN}, whose plan names the index chosen for each table. Arguments are bound
+ * as strings, which H2 converts to the column types.
+ */
+@SpringBootTest
+@Transactional
+public class QueryPlanIntegrationTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2030, 3, 1);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(3);
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Seeds enough contracts for H2 to prefer the indexes over scanning the tables.
+     */
+    @BeforeEach
+    public void setUp() {
+        List<Contract> contracts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDate startDate = LocalDate.of(2030, 1, 1).plusDays(i);
+            contracts.add(Contract.builder()
+                    .hotelName("Plan Hotel " + i)
+                    .startDate(startDate)
+                    .endDate(startDate.plusDays(30))
+                    .markUpRate(10.0)
+                    .roomDetails(new ArrayList<>(List.of(new RoomDetail(null, "Double", 100.0, 5, 2),
+                            new RoomDetail(null, "Family", 150.0, 2, 4))))
+                    .build());
+        }
+        contractRepository.saveAllAndFlush(contracts);
+    }
+
+    /**
+     * The date range search finds the contracts covering the stay through the date index and joins their
+     * rooms through an index on the contract ID, without scanning either table.
+     * <p>
+     * H2 keeps the index it created for the foreign key and may join through it rather than
+     * {@code idx_room_detail_requirement}; both lead with the contract ID.
+     */
+    @Test
+    public void testDateRangeSearchUsesIndexes() {
+        String plan = explain(() -> contractRepository.findContractsByDateRange(CHECK_IN, CHECK_OUT),
+                CHECK_IN, CHECK_OUT);
+
+        assertTrue(plan.contains("IDX_CONTRACT_DATES"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    /**
+     * The database availability search checks each room requirement through the room detail index.
+     */
+    @Test
+    public void testAvailabilitySearchUsesIndexes() {
+        String plan = explain(() -> contractRepository.findAvailableRooms(CHECK_IN, CHECK_OUT,
+                List.of(new RoomRequirementDTO(1, 2))), CHECK_IN, CHECK_OUT, 2, 1, 2, 1);
+
+        assertTrue(plan.contains("IDX_CONTRACT_DATES"), plan);
+        assertTrue(plan.contains("IDX_ROOM_DETAIL_REQUIREMENT"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    /**
+     * Hotel name searches look for the text anywhere in the stored lower-case name. No index can serve a
+     * leading wildcard, so every contract is read, but its hotel name is not lowered first.
+     */
+    @Test
+    public void testNameSearchComparesNormalizedName() {
+        for (Supplier<?> query : List.<Supplier<?>>of(
+                () -> contractRepository.findByHotelName("Hotel 1"),
+                () -> contractRepository.findViewsByHotelName("Hotel 1"))) {
+            String plan = explain(query, "Hotel 1");
+
+            assertTrue(plan.contains("\"HOTEL_NAME_NORMALIZED\" LIKE ('%' || LOWER(?1) || '%')"), plan);
+            assertFalse(plan.contains("LOWER(\"C1_0\".\"HOTEL_NAME\")"), plan);
+        }
+    }
+
+    /**
+     * Runs the query, captures its SQL and returns H2's plan for it.
+     */
+    private String explain(Supplier<?> query, Object... args) {
+        List<String> statements = SqlCapture.capture(query);
+        assertEquals(1, statements.size(), statements::toString);
+        Object[] values = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            values[i] = args[i].toString();
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + statements.get(0), String.class, values);
+    }
+}
@@ -0,0 +1,108 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.BulkImportFailureDTO;
+import com.suntravels.callcenter.dto.BulkImportResultDTO;
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.RoomDetailDTO;
+import com.suntravels.callcenter.repository.ContractRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the BulkContractService class.
+ */
+@SpringBootTest
+class BulkContractServiceIntegrationTest {
+
+    @Autowired
+    private BulkContractService bulkContractService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @BeforeEach
+    void setUp() {
+        contractRepository.deleteAll();
+    }
+
+    /**
+     * Tests that valid contracts are imported and invalid ones are reported by position.
+     */
+    @Test
+    void testImportContracts() {
+        ContractDTO reversedDates = contract("Hotel C");
+        reversedDates.setStartDate(LocalDate.now().plusDays(20));
+        ContractDTO noHotelName = contract("");
+
+        BulkImportResultDTO result = bulkContractService.importContracts(List.of(
+                contract("Hotel A"), contract("Hotel B"), reversedDates, noHotelName, contract("Hotel D")).iterator());
+
+        assertEquals(5, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertEquals(List.of(2, 3), result.getFailures().stream().map(BulkImportFailureDTO::getIndex).toList());
+        assertTrue(result.getFailures().get(0).getErrors().containsKey("endDate"));
+        assertEquals("Hotel name is required", result.getFailures().get(1).getErrors().get("hotelName"));
+        assertEquals(3, contractRepository.count());
+        assertEquals(1, contractRepository.findByHotelName("Hotel D").get(0).getRoomDetails().size());
+    }
+
+    /**
+     * Tests that a contract rejected by the database fails alone, without losing the rest of its batch.
+     */
+    @Test
+    void testDatabaseFailureIsolatedToContract() {
+        BulkImportResultDTO result = bulkContractService.importContracts(List.of(
+                contract("Hotel A"), contract("H".repeat(300)), contract("Hotel B")).iterator());
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        assertEquals(2, contractRepository.count());
+    }
+
+    /**
+     * Tests that a load with more failures than are reported keeps the first ones by position and
+     * counts the rest.
+     */
+    @Test
+    void testReportedFailuresAreCapped() {
+        List<ContractDTO> contracts = new ArrayList<>();
+        contracts.add(contract("Hotel A"));
+        for (int i = 0; i < 2500; i++) {
+            contracts.add(contract(""));
+        }
+
+        BulkImportResultDTO result = bulkContractService.importContracts(contracts.iterator());
+
+        assertEquals(2501, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(2500, result.getFailed());
+        assertEquals(1000, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        assertEquals(1000, result.getFailures().get(999).getIndex());
+    }
+
+    private static ContractDTO contract(String hotelName) {
+        return ContractDTO.builder()
+                .hotelName(hotelName)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(10))
+                .markUpRate(15.0)
+                .roomDetails(Collections.singletonList(RoomDetailDTO.builder()
+                        .roomType("Deluxe")
+                        .pricePerPerson(100.0)
+                        .numberOfRooms(10)
+                        .maxAdults(2)
+                        .build()))
+                .build();
+    }
+}
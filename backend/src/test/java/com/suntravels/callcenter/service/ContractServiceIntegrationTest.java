@@ -2,17 +2,26 @@ package com.suntravels.callcenter.service;
 
 import com.suntravels.callcenter.dto.*;
 import com.suntravels.callcenter.exception.NoContractsFoundException;
+import com.suntravels.callcenter.index.ContractIndex;
+import com.suntravels.callcenter.loadtest.CatalogGenerator;
+import com.suntravels.callcenter.metrics.SearchMetrics;
 import com.suntravels.callcenter.model.Contract;
 import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.model.RoomInventory;
 import com.suntravels.callcenter.repository.ContractRepository;
+import com.suntravels.callcenter.support.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +40,18 @@ class ContractServiceIntegrationTest {
     @Autowired
     private ContractRepository contractRepository;
 
+    @Autowired
+    private ContractIndex contractIndex;
+
+    @Autowired
+    private ParallelContractEvaluator contractEvaluator;
+
+    @Autowired
+    private SearchMetrics searchMetrics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     public void setUp() {
         // Clear the database before each test
@@ -59,11 +80,12 @@ class ContractServiceIntegrationTest {
         contractRepository.save(contract);
 
         // Act
-        List<Contract> contracts = contractService.getAllContracts();
+        List<ContractView> contracts = contractService.getAllContracts();
 
         // Assert
         assertEquals(1, contracts.size());
-        assertEquals("Hotel A", contracts.get(0).getHotelName());
+        assertEquals("Hotel A", contracts.get(0).hotelName());
+        assertEquals(1, contracts.get(0).roomDetails().size());
     }
 
     /**
@@ -117,11 +139,11 @@ class ContractServiceIntegrationTest {
         contractRepository.save(contract);
 
         // Act
-        List<Contract> contracts = contractService.searchByName("Hotel C");
+        List<ContractView> contracts = contractService.searchByName("Hotel C");
 
         // Assert
         assertEquals(1, contracts.size());
-        assertEquals("Hotel C", contracts.get(0).getHotelName());
+        assertEquals("Hotel C", contracts.get(0).hotelName());
     }
 
     /**
@@ -222,4 +244,226 @@ class ContractServiceIntegrationTest {
         // Act & Assert
         assertThrows(NoContractsFoundException.class, () -> contractService.searchAvailability(searchDTO));
     }
+
+    /**
+     * Tests that the availability search evaluated in SQL returns the same contracts, rooms and prices as
+     * the search answered from the in-memory index, on a committed synthetic catalog.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testDatabaseSearchMatchesIndexSearch() {
+        // Arrange
+        CatalogGenerator generator = new CatalogGenerator(7);
+        contractRepository.saveAll(generator.contracts(100).stream().map(ContractService::toContract).toList());
+        try {
+            ContractService indexService = new ContractService(contractRepository, contractIndex,
+                    new SearchResultCache(100), contractEvaluator, searchMetrics, true);
+            ContractService databaseService = new ContractService(contractRepository, contractIndex,
+                    new SearchResultCache(100), contractEvaluator, searchMetrics, false);
+
+            int found = 0;
+            for (int i = 0; i < 50; i++) {
+                SearchDTO searchDTO = generator.search();
+
+                // Act
+                List<AvailableContractDTO> fromIndex = new ArrayList<>();
+                indexService.streamAvailability(searchDTO, fromIndex::add);
+                List<AvailableContractDTO> fromDatabase = new ArrayList<>();
+                databaseService.streamAvailability(searchDTO, fromDatabase::add);
+
+                // Assert
+                assertEquals(fromIndex, fromDatabase, searchDTO.toString());
+                found += fromIndex.size();
+            }
+            assertTrue(found > 0);
+        } finally {
+            contractRepository.deleteAll();
+        }
+    }
+
+    /**
+     * Tests that a ranked search returns the same contracts as sorting and truncating the full result,
+     * from the index, evaluated in parallel, and from the database.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testRankedSearchKeepsBestContracts() {
+        // Arrange
+        CatalogGenerator generator = new CatalogGenerator(11);
+        contractRepository.saveAll(generator.contracts(100).stream().map(ContractService::toContract).toList());
+        ParallelContractEvaluator parallelEvaluator = new ParallelContractEvaluator(0, 4);
+        try {
+            ContractService indexService = new ContractService(contractRepository, contractIndex,
+                    new SearchResultCache(100), parallelEvaluator, searchMetrics, true);
+            ContractService databaseService = new ContractService(contractRepository, contractIndex,
+                    new SearchResultCache(100), contractEvaluator, searchMetrics, false);
+
+            int ranked = 0;
+            for (int i = 0; i < 30; i++) {
+                SearchDTO searchDTO = generator.search();
+                List<AvailableContractDTO> all = new ArrayList<>();
+                indexService.streamAvailability(searchDTO, all::add);
+
+                for (SortBy sortBy : SortBy.values()) {
+                    searchDTO.setSortBy(sortBy);
+                    searchDTO.setLimit(5);
+                    Comparator<AvailableContractDTO> order = sortBy == SortBy.TOTAL_PRICE
+                            ? Comparator.comparing(AvailableContractDTO::getTotalPrice)
+                            .thenComparing(AvailableContractDTO::getHotelName, String.CASE_INSENSITIVE_ORDER)
+                            : Comparator.comparing(AvailableContractDTO::getHotelName, String.CASE_INSENSITIVE_ORDER)
+                            .thenComparing(AvailableContractDTO::getTotalPrice);
+                    List<AvailableContractDTO> expected = all.stream().sorted(order).limit(5).toList();
+
+                    // Act
+                    List<AvailableContractDTO> fromIndex = new ArrayList<>();
+                    indexService.streamAvailability(searchDTO, fromIndex::add);
+                    List<AvailableContractDTO> fromDatabase = new ArrayList<>();
+                    databaseService.streamAvailability(searchDTO, fromDatabase::add);
+
+                    // Assert
+                    assertEquals(expected, fromIndex, searchDTO.toString());
+                    assertEquals(expected, fromDatabase, searchDTO.toString());
+                    ranked += expected.size();
+                }
+            }
+            assertTrue(ranked > 0);
+        } finally {
+            parallelEvaluator.shutdown();
+            contractRepository.deleteAll();
+        }
+    }
+
+    /**
+     * Tests that a batch of searches, some of them ranked, gives each search the same result as running
+     * it alone, and that the database answers the whole batch with a single query.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testBatchSearchMatchesSingleSearches() throws Exception {
+        // Arrange
+        CatalogGenerator generator = new CatalogGenerator(13);
+        contractRepository.saveAll(generator.contracts(100).stream().map(ContractService::toContract).toList());
+        try {
+            ContractService indexService = new ContractService(contractRepository, contractIndex,
+                    new SearchResultCache(100), contractEvaluator, searchMetrics, true);
+            ContractService databaseService = new ContractService(contractRepository, contractIndex,
+                    new SearchResultCache(100), contractEvaluator, searchMetrics, false);
+            List<SearchDTO> searchDTOs = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                SearchDTO searchDTO = generator.search();
+                if (i % 4 == 0) {
+                    searchDTO.setLimit(3);
+                }
+                searchDTOs.add(searchDTO);
+            }
+            List<List<AvailableContractDTO>> expected = new ArrayList<>();
+            for (SearchDTO searchDTO : searchDTOs) {
+                List<AvailableContractDTO> result = new ArrayList<>();
+                indexService.streamAvailability(searchDTO, result::add);
+                expected.add(result);
+            }
+
+            // Act
+            List<List<AvailableContractDTO>> fromIndex = indexService.searchAvailabilityBatch(searchDTOs);
+            List<List<List<AvailableContractDTO>>> fromDatabase = new ArrayList<>();
+            long statements = new StatementCounter(entityManagerFactory)
+                    .count(() -> fromDatabase.add(databaseService.searchAvailabilityBatch(searchDTOs)));
+
+            // Assert
+            assertEquals(expected, fromIndex);
+            assertEquals(expected, fromDatabase.get(0));
+            assertEquals(1, statements);
+            assertTrue(expected.stream().mapToInt(List::size).sum() > 0);
+        } finally {
+            contractRepository.deleteAll();
+        }
+    }
+
+    /**
+     * Tests that a batch search sees the contracts its own transaction has saved but not yet flushed,
+     * instead of replaying the result cached before they were saved.
+     */
+    @Test
+    public void testBatchSearchSeesUnflushedContracts() {
+        // Arrange
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        SearchDTO searchDTO = SearchDTO.builder()
+                .checkInDate(startDate.plusDays(1))
+                .noOfNights(2)
+                .roomRequirements(List.of(new RoomRequirementDTO(1, 2)))
+                .build();
+        ContractService service = new ContractService(contractRepository, contractIndex, new SearchResultCache(100),
+                contractEvaluator, searchMetrics, true);
+        assertEquals(List.of(List.of()), service.searchAvailabilityBatch(List.of(searchDTO)));
+        contractRepository.save(Contract.builder()
+                .hotelName("Hotel Unflushed")
+                .startDate(startDate)
+                .endDate(startDate.plusDays(10))
+                .markUpRate(10.0)
+                .roomDetails(new ArrayList<>(List.of(new RoomDetail(null, "Double", 100.0, 2, 2))))
+                .build());
+
+        // Act
+        List<List<AvailableContractDTO>> result = service.searchAvailabilityBatch(List.of(searchDTO));
+
+        // Assert
+        assertEquals(1, result.get(0).size());
+        assertEquals("Hotel Unflushed", result.get(0).get(0).getHotelName());
+    }
+
+    /**
+     * Tests that rooms sold on some nights of a stay are not offered for it, by the index and by the
+     * database, while stays on other nights still get them.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testSoldNightsAreNotAvailable() {
+        // Arrange: all 3 doubles are sold on nights 5 and 6, the 2 deluxe rooms are free
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        contractRepository.save(Contract.builder()
+                .hotelName("Hotel Ledger")
+                .startDate(startDate)
+                .endDate(startDate.plusDays(20))
+                .markUpRate(10.0)
+                .roomDetails(new ArrayList<>(List.of(
+                        RoomDetail.builder().roomType("Double").pricePerPerson(100.0).numberOfRooms(3).maxAdults(2)
+                                .remainingRooms(RoomInventory.take(null, 3, 20, 5, 2, 3)).build(),
+                        new RoomDetail(null, "Deluxe", 150.0, 2, 2))))
+                .build());
+        try {
+            List<ContractService> services = List.of(
+                    new ContractService(contractRepository, contractIndex, new SearchResultCache(100),
+                            contractEvaluator, searchMetrics, true),
+                    new ContractService(contractRepository, contractIndex, new SearchResultCache(100),
+                            contractEvaluator, searchMetrics, false));
+            for (ContractService service : services) {
+                // Act
+                List<AvailableContractDTO> twoRoomsOverSoldNights = search(service, startDate.plusDays(4), 3, 2);
+                List<AvailableContractDTO> threeRoomsOverSoldNights = search(service, startDate.plusDays(4), 3, 3);
+                List<AvailableContractDTO> threeRoomsAfterSoldNights = search(service, startDate.plusDays(7), 3, 3);
+
+                // Assert
+                assertEquals(1, twoRoomsOverSoldNights.size());
+                assertEquals(List.of("Deluxe"), twoRoomsOverSoldNights.get(0).getAvailableRooms().stream()
+                        .map(AvailableRoomDTO::getRoomType).toList());
+                assertTrue(threeRoomsOverSoldNights.isEmpty());
+                assertEquals(1, threeRoomsAfterSoldNights.size());
+                assertEquals("Double", threeRoomsAfterSoldNights.get(0).getAvailableRooms().get(0).getRoomType());
+            }
+        } finally {
+            contractRepository.deleteAll();
+        }
+    }
+
+    private static List<AvailableContractDTO> search(ContractService service, LocalDate checkInDate, int noOfNights,
+                                                     int numberOfRooms) {
+        SearchDTO searchDTO = SearchDTO.builder()
+                .checkInDate(checkInDate)
+                .noOfNights(noOfNights)
+                .roomRequirements(List.of(new RoomRequirementDTO(numberOfRooms, 2)))
+                .build();
+        List<AvailableContractDTO> result = new ArrayList<>();
+        service.streamAvailability(searchDTO, result::add);
+        return result;
+    }
 }
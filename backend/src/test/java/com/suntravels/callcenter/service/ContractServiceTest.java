@@ -2,15 +2,19 @@ package com.suntravels.callcenter.service;
 
 import com.suntravels.callcenter.dto.*;
 import com.suntravels.callcenter.exception.NoContractsFoundException;
+import com.suntravels.callcenter.index.ContractIndex;
+import com.suntravels.callcenter.metrics.SearchMetrics;
 import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.RoomDetail;
 import com.suntravels.callcenter.repository.ContractRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -23,7 +27,6 @@ class ContractServiceTest {
     @Mock
     private ContractRepository contractRepository;
 
-    @InjectMocks
     private ContractService contractService;
 
     private ContractDTO contractDTO;
@@ -34,6 +37,9 @@ class ContractServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        contractService = new ContractService(contractRepository, new ContractIndex(contractRepository, List.of()),
+                new SearchResultCache(100), new ParallelContractEvaluator(2000, 1),
+                new SearchMetrics(new SimpleMeterRegistry()), true);
         // Set up a dummy contractDTO for testing
     }
 
@@ -63,7 +69,9 @@ class ContractServiceTest {
         when(contractRepository.save(any(Contract.class))).thenReturn(mockContract);
 
         // Instantiate the service with the mocked repository
-        ContractService contractService = new ContractService(contractRepository);
+        ContractService contractService = new ContractService(contractRepository, new ContractIndex(contractRepository, List.of()),
+                new SearchResultCache(100), new ParallelContractEvaluator(2000, 1),
+                new SearchMetrics(new SimpleMeterRegistry()), true);
 
         // Call the method to test
         Contract result = contractService.addContract(contractDTO);
@@ -102,18 +110,21 @@ class ContractServiceTest {
     @Test
     void testSearchByNameFound() {
         Contract contract = new Contract();
+        contract.setContractId(1);
         contract.setHotelName("Test Hotel");
+        contract.setStartDate(LocalDate.now());
+        contract.setEndDate(LocalDate.now().plusDays(2));
 
-        // Mock the contract repository behavior
-        when(contractRepository.findByHotelName("Test Hotel")).thenReturn(List.of(contract));
+        // Mock the contract repository behavior; the name search is answered by the contract index
+        when(contractRepository.findAll()).thenReturn(List.of(contract));
 
         // Call the method to test
-        List<Contract> contracts = contractService.searchByName("Test Hotel");
+        List<ContractView> contracts = contractService.searchByName("test hotel");
 
         // Verify and assert the results
         assertNotNull(contracts);
         assertEquals(1, contracts.size());
-        assertEquals("Test Hotel", contracts.get(0).getHotelName());
+        assertEquals("Test Hotel", contracts.get(0).hotelName());
     }
 
     /**
@@ -123,8 +134,8 @@ class ContractServiceTest {
      */
     @Test
     void testSearchByNameNotFound() {
-        // Mock an empty result for search
-        when(contractRepository.findByHotelName("Nonexistent Hotel")).thenReturn(Collections.emptyList());
+        // Mock an empty contract table
+        when(contractRepository.findAll()).thenReturn(Collections.emptyList());
 
         // Call the method to test and assert that it throws an exception
         assertThrows(NoContractsFoundException.class, () -> contractService.searchByName("Nonexistent Hotel"));
@@ -176,11 +187,13 @@ class ContractServiceTest {
         // Prepare SearchDTO
         SearchDTO searchDTO = new SearchDTO(LocalDate.now(), 5, Collections.emptyList());
 
-        // Mock the contractRepository behavior
+        // Mock the contractRepository behavior; the contract index loads all contracts once
         Contract contract = new Contract();
+        contract.setContractId(1);
         contract.setHotelName("Test Hotel");
-        when(contractRepository.findContractsByDateRange(any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(List.of(contract));
+        contract.setStartDate(LocalDate.now());
+        contract.setEndDate(LocalDate.now().plusDays(10));
+        when(contractRepository.findAll()).thenReturn(List.of(contract));
 
         // Call the method to test
         List<AvailableContractDTO> availableContracts = contractService.searchAvailability(searchDTO);
@@ -201,11 +214,45 @@ class ContractServiceTest {
         SearchDTO searchDTO = new SearchDTO(LocalDate.now(), 5, Collections.emptyList());
 
         // Mock repository to return empty list
-        when(contractRepository.findContractsByDateRange(any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(Collections.emptyList());
+        when(contractRepository.findAll()).thenReturn(Collections.emptyList());
 
         // Call the method to test and assert that it throws an exception
         assertThrows(NoContractsFoundException.class, () -> contractService.searchAvailability(searchDTO));
     }
 
+    /**
+     * Tests that evaluating contracts in parallel gives the same result, in the same order, as evaluating
+     * them one by one.
+     */
+    @Test
+    void testSearchAvailabilityParallelMatchesSequential() {
+        // Arrange: contracts whose rooms only satisfy the search for some of them
+        List<Contract> contracts = new ArrayList<>();
+        for (int id = 1; id <= 1000; id++) {
+            contracts.add(Contract.builder()
+                    .contractId(id)
+                    .hotelName("Hotel " + id)
+                    .startDate(LocalDate.now())
+                    .endDate(LocalDate.now().plusDays(10))
+                    .markUpRate(10.0)
+                    .roomDetails(List.of(new RoomDetail(null, "Deluxe", 100.0, id % 7, 2)))
+                    .build());
+        }
+        when(contractRepository.findAll()).thenReturn(contracts);
+        SearchDTO searchDTO = new SearchDTO(LocalDate.now(), 5, List.of(new RoomRequirementDTO(3, 2)));
+
+        ParallelContractEvaluator parallelEvaluator = new ParallelContractEvaluator(0, 4);
+        ContractService parallelService = new ContractService(contractRepository,
+                new ContractIndex(contractRepository, List.of()), new SearchResultCache(100), parallelEvaluator,
+                new SearchMetrics(new SimpleMeterRegistry()), true);
+
+        // Act
+        List<AvailableContractDTO> expected = contractService.searchAvailability(searchDTO);
+        List<AvailableContractDTO> actual = parallelService.searchAvailability(searchDTO);
+        parallelEvaluator.shutdown();
+
+        // Assert
+        assertEquals(expected, actual);
+        assertEquals("Hotel 3", actual.get(0).getHotelName());
+    }
 }
@@ -0,0 +1,118 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.config.EntityCacheConfig;
+import com.suntravels.callcenter.dto.ContractDTO;
+import com.suntravels.callcenter.dto.RoomDetailDTO;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.repository.ContractRepository;
+import com.suntravels.callcenter.support.StatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the Hibernate second-level and query cache.
+ * <p>
+ * A repeated query must be answered without SQL, and adding or deleting a contract through
+ * {@link ContractService} must make the next query see the change.
+ */
+@SpringBootTest
+class EntityCacheIntegrationTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(5);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(3);
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private StatementCounter statementCounter;
+
+    @BeforeEach
+    public void setUp() {
+        statementCounter = new StatementCounter(entityManagerFactory);
+        contractRepository.deleteAll();
+        contractService.addContract(contractDTO("Cached Hotel"));
+    }
+
+    /**
+     * Tests that a repeated date range query is answered from the query and entity caches, and that the
+     * cache hits are counted.
+     */
+    @Test
+    public void testRepeatedQueryIsCached() throws Exception {
+        double hitsBefore = hits(EntityCacheConfig.QUERY_REGION);
+
+        List<Contract> first = contractRepository.findContractsByDateRange(CHECK_IN, CHECK_OUT);
+        long statements = statementCounter.count(() -> {
+            List<Contract> second = contractRepository.findContractsByDateRange(CHECK_IN, CHECK_OUT);
+            assertEquals(first.size(), second.size());
+            assertEquals(2, second.get(0).getRoomDetails().size());
+        });
+
+        assertEquals(0, statements);
+        assertTrue(hits(EntityCacheConfig.QUERY_REGION) > hitsBefore);
+        assertTrue(hits(EntityCacheConfig.CONTRACT_REGION) > 0);
+    }
+
+    /**
+     * Tests that adding a contract invalidates the cached results of the date range and name queries.
+     */
+    @Test
+    public void testAddContractInvalidatesQueries() {
+        assertEquals(1, contractRepository.findContractsByDateRange(CHECK_IN, CHECK_OUT).size());
+        assertEquals(1, contractRepository.findByHotelName("cached").size());
+
+        contractService.addContract(contractDTO("Cached Hotel Annex"));
+
+        assertEquals(2, contractRepository.findContractsByDateRange(CHECK_IN, CHECK_OUT).size());
+        assertEquals(2, contractRepository.findByHotelName("cached").size());
+    }
+
+    /**
+     * Tests that deleting a contract invalidates the cached query results and evicts the contract.
+     */
+    @Test
+    public void testDeleteContractInvalidatesQueries() {
+        Integer contractId = contractRepository.findByHotelName("cached").get(0).getContractId();
+        assertEquals(1, contractRepository.findContractsByDateRange(CHECK_IN, CHECK_OUT).size());
+
+        contractService.deleteContract(contractId);
+
+        assertTrue(contractRepository.findContractsByDateRange(CHECK_IN, CHECK_OUT).isEmpty());
+        assertTrue(contractRepository.findByHotelName("cached").isEmpty());
+        assertTrue(contractRepository.findById(contractId).isEmpty());
+    }
+
+    private double hits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter().count();
+    }
+
+    private static ContractDTO contractDTO(String hotelName) {
+        return ContractDTO.builder()
+                .hotelName(hotelName)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(30))
+                .markUpRate(10.0)
+                .roomDetails(List.of(
+                        new RoomDetailDTO("Double", 100.0, 5, 2),
+                        new RoomDetailDTO("Family", 80.0, 2, 4)))
+                .build();
+    }
+}
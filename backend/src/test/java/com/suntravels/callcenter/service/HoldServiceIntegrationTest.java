@@ -0,0 +1,182 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.ReservationDTO;
+import com.suntravels.callcenter.dto.ReservedRoomDTO;
+import com.suntravels.callcenter.exception.NoContractsFoundException;
+import com.suntravels.callcenter.exception.RoomsUnavailableException;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.Reservation;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.model.RoomInventory;
+import com.suntravels.callcenter.repository.ContractRepository;
+import com.suntravels.callcenter.repository.ReservationRepository;
+import com.suntravels.callcenter.repository.RoomDetailRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the HoldService class.
+ * Holds last a fraction of a second here, so that the tests can watch them expire.
+ */
+@SpringBootTest(properties = {"callcenter.holds.duration=600ms", "callcenter.holds.tick=20ms",
+        "callcenter.holds.sweep-interval=200ms"})
+class HoldServiceIntegrationTest {
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomDetailRepository roomDetailRepository;
+
+    private LocalDate startDate;
+
+    private Contract contract;
+
+    @BeforeEach
+    public void setUp() {
+        reservationRepository.deleteAll();
+        contractRepository.deleteAll();
+        startDate = LocalDate.now().plusDays(1);
+        contract = contractRepository.save(Contract.builder()
+                .hotelName("Hotel Hold")
+                .startDate(startDate)
+                .endDate(startDate.plusDays(10))
+                .markUpRate(10.0)
+                .roomDetails(new ArrayList<>(List.of(new RoomDetail(null, "Double", 100.0, 2, 2))))
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reservationRepository.deleteAll();
+        contractRepository.deleteAll();
+    }
+
+    /**
+     * Tests that held rooms are taken until the hold expires, and are then given back.
+     */
+    @Test
+    public void testHoldExpires() throws InterruptedException {
+        Reservation hold = holdService.hold(reservation(2));
+
+        assertNotNull(hold.getHeldUntil());
+        assertEquals(0, remainingDoubles());
+        assertThrows(RoomsUnavailableException.class, () -> reservationService.reserve(reservation(1)));
+
+        awaitTrue(() -> reservationRepository.findById(hold.getReservationId()).isEmpty());
+        assertEquals(2, remainingDoubles());
+        assertEquals(0, holdService.getOutstandingHolds());
+        assertNotNull(reservationService.reserve(reservation(2)).getReservationId());
+    }
+
+    /**
+     * Tests that a confirmed hold keeps its rooms after it would have expired, and that it cannot be
+     * confirmed or released again.
+     */
+    @Test
+    public void testConfirm() throws InterruptedException {
+        Reservation hold = holdService.hold(reservation(1));
+
+        Reservation confirmed = holdService.confirm(hold.getReservationId());
+
+        assertNull(confirmed.getHeldUntil());
+        Thread.sleep(1000);
+        assertEquals(1, remainingDoubles());
+        assertNull(reservationService.getReservation(hold.getReservationId()).getHeldUntil());
+        assertThrows(NoContractsFoundException.class, () -> holdService.confirm(hold.getReservationId()));
+        assertThrows(NoContractsFoundException.class, () -> holdService.release(hold.getReservationId()));
+    }
+
+    /**
+     * Tests that a released hold gives its rooms back at once and can no longer be confirmed.
+     */
+    @Test
+    public void testRelease() {
+        Reservation hold = holdService.hold(reservation(2));
+
+        holdService.release(hold.getReservationId());
+
+        assertEquals(2, remainingDoubles());
+        assertEquals(0, holdService.getOutstandingHolds());
+        assertThrows(NoContractsFoundException.class, () -> holdService.confirm(hold.getReservationId()));
+    }
+
+    /**
+     * Tests that holds left by an instance that stopped are expired by the next one to start.
+     */
+    @Test
+    public void testHoldsResumeAfterRestart() throws InterruptedException {
+        HoldService stopped = new HoldService(reservationService, reservationRepository, Duration.ofMillis(100),
+                Duration.ofMillis(20), Duration.ofMinutes(1));
+        Reservation hold = stopped.hold(reservation(2));
+        stopped.shutdown();
+
+        HoldService restarted = new HoldService(reservationService, reservationRepository, Duration.ofMillis(100),
+                Duration.ofMillis(20), Duration.ofMinutes(1));
+        try {
+            restarted.start();
+            awaitTrue(() -> reservationRepository.findById(hold.getReservationId()).isEmpty());
+            assertEquals(2, remainingDoubles());
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the holds of an instance that stopped are expired by a running instance's sweep of the
+     * database, without waiting for a restart.
+     */
+    @Test
+    public void testSweepExpiresHoldsOfStoppedInstance() throws InterruptedException {
+        HoldService stopped = new HoldService(reservationService, reservationRepository, Duration.ofMillis(100),
+                Duration.ofMillis(20), Duration.ofMinutes(1));
+        Reservation hold = stopped.hold(reservation(2));
+        stopped.shutdown();
+
+        awaitTrue(() -> reservationRepository.findById(hold.getReservationId()).isEmpty());
+        assertEquals(2, remainingDoubles());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(20);
+        }
+    }
+
+    private int remainingDoubles() {
+        RoomDetail roomDetail = roomDetailRepository.findById(contract.getRoomDetails().get(0).getRoomDetailId())
+                .orElseThrow();
+        return RoomInventory.remaining(roomDetail.getRemainingRooms(), roomDetail.getNumberOfRooms(), 2, 3);
+    }
+
+    private ReservationDTO reservation(int numberOfRooms) {
+        return ReservationDTO.builder()
+                .contractId(contract.getContractId())
+                .checkInDate(startDate.plusDays(2))
+                .noOfNights(3)
+                .rooms(List.of(new ReservedRoomDTO("Double", numberOfRooms)))
+                .build();
+    }
+}
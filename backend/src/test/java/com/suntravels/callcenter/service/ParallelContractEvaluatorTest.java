@@ -0,0 +1,88 @@
+package com.suntravels.callcenter.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ParallelContractEvaluator class.
+ * <p>
+ * Verifies that parallel evaluation gives the same results, in the same order, as sequential evaluation.
+ */
+class ParallelContractEvaluatorTest {
+
+    private final ParallelContractEvaluator parallel = new ParallelContractEvaluator(0, 4);
+    private final ParallelContractEvaluator sequential = new ParallelContractEvaluator(Integer.MAX_VALUE, 4);
+
+    @AfterEach
+    void tearDown() {
+        parallel.shutdown();
+        sequential.shutdown();
+    }
+
+    /**
+     * Tests that results keep the candidate order and that null results are dropped.
+     */
+    @Test
+    void testEvaluateKeepsOrder() {
+        List<Integer> candidates = IntStream.range(0, 10_000).boxed().toList();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> results = parallel.evaluate(candidates, candidate -> {
+            threads.add(Thread.currentThread().getName());
+            return candidate % 3 == 0 ? candidate * 2 : null;
+        });
+
+        assertEquals(sequential.evaluate(candidates, candidate -> candidate % 3 == 0 ? candidate * 2 : null), results);
+        assertEquals(3334, results.size());
+        assertEquals(19_998, results.get(results.size() - 1));
+        assertTrue(threads.stream().allMatch(name -> name.contains("ForkJoinPool")));
+    }
+
+    /**
+     * Tests that streamed results keep the candidate order, are handed on by the calling thread, and that the
+     * first ones are handed on before every candidate has been evaluated.
+     */
+    @Test
+    void testStreamedEvaluationHandsOnResultsPerChunk() {
+        List<Integer> candidates = IntStream.range(0, 100_000).boxed().toList();
+        Thread caller = Thread.currentThread();
+        AtomicInteger evaluated = new AtomicInteger();
+        List<Integer> results = new ArrayList<>();
+        int[] evaluatedAtFirstResult = new int[1];
+
+        parallel.evaluate(candidates, candidate -> {
+            evaluated.incrementAndGet();
+            return candidate % 3 == 0 ? candidate * 2 : null;
+        }, result -> {
+            assertSame(caller, Thread.currentThread());
+            if (results.isEmpty()) {
+                evaluatedAtFirstResult[0] = evaluated.get();
+            }
+            results.add(result);
+        });
+
+        assertEquals(sequential.evaluate(candidates, candidate -> candidate % 3 == 0 ? candidate * 2 : null), results);
+        assertTrue(evaluatedAtFirstResult[0] < candidates.size());
+    }
+
+    /**
+     * Tests that lists below the threshold are evaluated on the calling thread.
+     */
+    @Test
+    void testBelowThresholdRunsOnCallingThread() {
+        Thread caller = Thread.currentThread();
+
+        List<Boolean> results = sequential.evaluate(List.of(1, 2, 3), candidate -> Thread.currentThread() == caller);
+
+        assertEquals(List.of(true, true, true), results);
+    }
+}
@@ -0,0 +1,273 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.AvailableContractDTO;
+import com.suntravels.callcenter.dto.AvailableRoomDTO;
+import com.suntravels.callcenter.dto.ReservationDTO;
+import com.suntravels.callcenter.dto.ReservedRoomDTO;
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.exception.RoomsUnavailableException;
+import com.suntravels.callcenter.index.ContractIndex;
+import com.suntravels.callcenter.model.Contract;
+import com.suntravels.callcenter.model.Reservation;
+import com.suntravels.callcenter.model.RoomDetail;
+import com.suntravels.callcenter.model.RoomInventory;
+import com.suntravels.callcenter.repository.ContractRepository;
+import com.suntravels.callcenter.repository.ReservationRepository;
+import com.suntravels.callcenter.repository.RoomDetailRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the ReservationService class.
+ * These tests book rooms from many threads at once and verify that no room is sold twice.
+ */
+@SpringBootTest
+class ReservationServiceIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomDetailRepository roomDetailRepository;
+
+    @Autowired
+    private ContractIndex contractIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDate startDate;
+
+    private Contract contract;
+
+    @BeforeEach
+    public void setUp() {
+        reservationRepository.deleteAll();
+        contractRepository.deleteAll();
+        startDate = LocalDate.now().plusDays(1);
+        contract = contractRepository.save(Contract.builder()
+                .hotelName("Hotel Busy")
+                .startDate(startDate)
+                .endDate(startDate.plusDays(20))
+                .markUpRate(10.0)
+                .roomDetails(new ArrayList<>(List.of(
+                        new RoomDetail(null, "Double", 100.0, 5, 2),
+                        new RoomDetail(null, "Deluxe", 150.0, 40, 2))))
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reservationRepository.deleteAll();
+        contractRepository.deleteAll();
+    }
+
+    /**
+     * Tests reserving rooms for a stay.
+     * Verifies that the reservation is saved with its price and that the rooms are taken on every night of it.
+     */
+    @Test
+    public void testReserve() {
+        // Act
+        Reservation reservation = reservationService.reserve(reservation(startDate.plusDays(2), 3, "double", 2));
+
+        // Assert
+        assertNotNull(reservation.getReservationId());
+        assertEquals("Hotel Busy", reservation.getHotelName());
+        assertEquals(1, reservation.getRooms().size());
+        assertEquals("Double", reservation.getRooms().get(0).getRoomType());
+        // 100 per person, 2 adults, 2 rooms, 3 nights, 10% markup
+        assertEquals(1320.0, reservation.getTotalPrice(), 0.001);
+        assertEquals(3, remaining("Double", startDate.plusDays(2), 3));
+        assertEquals(5, remaining("Double", startDate.plusDays(5), 1));
+        assertEquals(reservation.getReservationId(),
+                reservationService.getReservation(reservation.getReservationId()).getReservationId());
+    }
+
+    /**
+     * Tests that a reservation takes all its rooms or none.
+     * Verifies that rooms of one type are not taken when another type of the same reservation is short.
+     */
+    @Test
+    public void testReserveIsAllOrNothing() {
+        ReservationDTO reservationDTO = reservation(startDate, 2, "Deluxe", 10);
+        reservationDTO.getRooms().add(new ReservedRoomDTO("Double", 6));
+
+        assertThrows(RoomsUnavailableException.class, () -> reservationService.reserve(reservationDTO));
+
+        assertEquals(40, remaining("Deluxe", startDate, 2));
+        assertTrue(reservationRepository.findByContractId(contract.getContractId()).isEmpty());
+    }
+
+    /**
+     * Tests that a stay outside the contract cannot be reserved.
+     */
+    @Test
+    public void testReserveOutsideContract() {
+        assertThrows(RoomsUnavailableException.class,
+                () -> reservationService.reserve(reservation(startDate.plusDays(18), 3, "Double", 1)));
+    }
+
+    /**
+     * Tests reserving on a contract that another instance has shortened since it was cached.
+     * Verifies that the booking checks the stay against the contract in the database, not the cached copy.
+     */
+    @Test
+    public void testReserveChecksContractInDatabase() {
+        // Arrange: cache the contract, then shorten it without going through this instance
+        contractRepository.findById(contract.getContractId()).orElseThrow();
+        jdbcTemplate.update("UPDATE contract SET end_date = ? WHERE contract_id = ?",
+                startDate.plusDays(5), contract.getContractId());
+
+        // Act & Assert
+        assertThrows(RoomsUnavailableException.class,
+                () -> reservationService.reserve(reservation(startDate.plusDays(4), 3, "Double", 1)));
+        assertTrue(reservationRepository.findByContractId(contract.getContractId()).isEmpty());
+    }
+
+    /**
+     * Tests many agents booking the same rooms of one hotel at once.
+     * Verifies that exactly as many reservations succeed as there are rooms, that the other room type of
+     * the hotel is booked undisturbed, and that the search stops offering the sold rooms.
+     */
+    @Test
+    public void testConcurrentReservationsNeverOversell() throws Exception {
+        // Act: every agent wants a double on overlapping stays, and a deluxe room
+        List<Callable<Reservation>> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDate checkInDate = startDate.plusDays(i % 3);
+            bookings.add(() -> reservationService.reserve(reservation(checkInDate, 3, "Double", 1)));
+            bookings.add(() -> reservationService.reserve(reservation(checkInDate, 3, "Deluxe", 1)));
+        }
+        List<Reservation> reserved = new ArrayList<>();
+        int unavailable = runConcurrently(bookings, reserved);
+
+        // Assert: nights 2 and 3 are in every stay, so only 5 doubles could be sold
+        assertEquals(5 + THREADS, reserved.size());
+        assertEquals(THREADS - 5, unavailable);
+        assertEquals(0, remaining("Double", startDate.plusDays(2), 1));
+        assertEquals(40 - THREADS, remaining("Deluxe", startDate.plusDays(2), 1));
+        assertEquals(reserved.size(), reservationRepository.findByContractId(contract.getContractId()).size());
+        List<AvailableContractDTO> available = contractService.searchAvailability(SearchDTO.builder()
+                .checkInDate(startDate.plusDays(2))
+                .noOfNights(1)
+                .roomRequirements(List.of(new RoomRequirementDTO(1, 2)))
+                .build());
+        assertEquals(List.of("Deluxe"), available.get(0).getAvailableRooms().stream()
+                .map(AvailableRoomDTO::getRoomType).toList());
+    }
+
+    /**
+     * Tests two application instances booking the same rooms at once.
+     * Each instance has its own lock stripes, so their reservations only meet on the room detail's version.
+     * Verifies that a conflict is retried and that no room is sold twice.
+     */
+    @Test
+    public void testConcurrentInstancesNeverOversell() throws Exception {
+        List<ReservationService> instances = List.of(instance(), instance());
+        List<Callable<Reservation>> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ReservationService instance = instances.get(i % instances.size());
+            bookings.add(() -> instance.reserve(reservation(startDate, 2, "Deluxe", 3)));
+        }
+        List<Reservation> reserved = new ArrayList<>();
+        int unavailable = runConcurrently(bookings, reserved);
+
+        // 40 deluxe rooms hold 13 bookings of 3
+        assertEquals(13, reserved.size());
+        assertEquals(THREADS - 13, unavailable);
+        assertEquals(1, remaining("Deluxe", startDate, 2));
+    }
+
+    private ReservationService instance() {
+        return new ReservationService(reservationRepository, contractIndex, entityManager,
+                transactionManager, 16, 100);
+    }
+
+    /**
+     * Runs the bookings from a pool of threads released at the same moment.
+     *
+     * @return The number of bookings that found no rooms.
+     */
+    private static int runConcurrently(List<Callable<Reservation>> bookings, List<Reservation> reserved)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Reservation>> futures = new ArrayList<>();
+            for (Callable<Reservation> booking : bookings) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return booking.call();
+                }));
+            }
+            start.countDown();
+            int unavailable = 0;
+            for (Future<Reservation> future : futures) {
+                try {
+                    reserved.add(future.get());
+                } catch (ExecutionException e) {
+                    assertInstanceOf(RoomsUnavailableException.class, e.getCause());
+                    unavailable++;
+                }
+            }
+            return unavailable;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int remaining(String roomType, LocalDate checkInDate, int noOfNights) {
+        RoomDetail roomDetail = contract.getRoomDetails().stream()
+                .filter(room -> room.getRoomType().equals(roomType))
+                .findFirst().orElseThrow();
+        byte[] ledger = roomDetailRepository.findById(roomDetail.getRoomDetailId()).orElseThrow().getRemainingRooms();
+        return RoomInventory.remaining(ledger, roomDetail.getNumberOfRooms(),
+                RoomInventory.night(startDate, checkInDate), noOfNights);
+    }
+
+    private ReservationDTO reservation(LocalDate checkInDate, int noOfNights, String roomType, int numberOfRooms) {
+        return ReservationDTO.builder()
+                .contractId(contract.getContractId())
+                .checkInDate(checkInDate)
+                .noOfNights(noOfNights)
+                .rooms(new ArrayList<>(List.of(new ReservedRoomDTO(roomType, numberOfRooms))))
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.suntravels.callcenter.service;
+
+import com.suntravels.callcenter.dto.AvailableContractDTO;
+import com.suntravels.callcenter.dto.AvailableRoomDTO;
+import com.suntravels.callcenter.dto.RoomRequirementDTO;
+import com.suntravels.callcenter.dto.SearchDTO;
+import com.suntravels.callcenter.model.Contract;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SearchResultCache class.
+ * <p>
+ * Verifies canonical keys, requirement relabelling, selective invalidation and the cache counters.
+ */
+class SearchResultCacheTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2030, 3, 10);
+
+    private SearchResultCache searchResultCache;
+
+    private AtomicInteger loads;
+
+    private Function<SearchDTO, List<AvailableContractDTO>> loader;
+
+    @BeforeEach
+    void setUp() {
+        searchResultCache = new SearchResultCache(100);
+        loads = new AtomicInteger();
+
+        // Every requirement is satisfied by one room whose type names the requirement
+        loader = search -> {
+            loads.incrementAndGet();
+            List<AvailableRoomDTO> rooms = new ArrayList<>();
+            for (int i = 0; i < search.getRoomRequirements().size(); i++) {
+                RoomRequirementDTO requirement = search.getRoomRequirements().get(i);
+                rooms.add(new AvailableRoomDTO(i + 1, requirement.getNumberOfRooms() + "x" + requirement.getMaxAdults(), 100.0));
+            }
+            return List.of(new AvailableContractDTO(1, "Hotel A", 100.0 * rooms.size(), rooms));
+        };
+    }
+
+    /**
+     * Tests that searches differing only in requirement order and duplicates share one entry,
+     * and that each gets its own requirement IDs back.
+     */
+    @Test
+    void testCanonicalKeySharesEntry() {
+        List<AvailableContractDTO> first = searchResultCache.get(search(requirement(1, 3), requirement(2, 2)), loader);
+        List<AvailableContractDTO> second = searchResultCache.get(
+                search(requirement(2, 2), requirement(1, 3), requirement(2, 2)), loader);
+
+        assertEquals(1, loads.get());
+        assertEquals(List.of(new AvailableRoomDTO(1, "1x3", 100.0), new AvailableRoomDTO(2, "2x2", 100.0)),
+                first.get(0).getAvailableRooms());
+        assertEquals(List.of(new AvailableRoomDTO(1, "2x2", 100.0), new AvailableRoomDTO(2, "1x3", 100.0),
+                new AvailableRoomDTO(3, "2x2", 100.0)), second.get(0).getAvailableRooms());
+        // Priced for the caller's own requirements, the repeated one included
+        assertEquals(200.0, first.get(0).getTotalPrice());
+        assertEquals(300.0, second.get(0).getTotalPrice());
+        assertEquals(1, searchResultCache.stats().getHitCount());
+        assertEquals(1, searchResultCache.stats().getMissCount());
+    }
+
+    /**
+     * Tests that ranked searches are cached apart from unranked ones, and that repeated requirements
+     * give them a key of their own, since every repetition adds to the price they are ranked by.
+     */
+    @Test
+    void testRankedSearchesKeepRepeatedRequirements() {
+        SearchDTO ranked = search(requirement(1, 2));
+        ranked.setLimit(5);
+        SearchDTO rankedRepeated = search(requirement(1, 2), requirement(1, 2));
+        rankedRepeated.setLimit(5);
+
+        searchResultCache.get(search(requirement(1, 2)), loader);
+        searchResultCache.get(ranked, loader);
+        List<AvailableContractDTO> repeated = searchResultCache.get(rankedRepeated, loader);
+        searchResultCache.get(ranked, loader);
+
+        assertEquals(3, loads.get());
+        assertEquals(List.of(new AvailableRoomDTO(1, "1x2", 100.0), new AvailableRoomDTO(2, "1x2", 100.0)),
+                repeated.get(0).getAvailableRooms());
+        assertEquals(200.0, repeated.get(0).getTotalPrice());
+    }
+
+    /**
+     * Tests that a contract change only invalidates searches whose stay the contract covers.
+     */
+    @Test
+    void testSelectiveInvalidation() {
+        SearchDTO search = search(requirement(1, 2));
+        SearchDTO laterSearch = SearchDTO.builder()
+                .checkInDate(CHECK_IN.plusDays(60))
+                .noOfNights(3)
+                .roomRequirements(List.of(requirement(1, 2)))
+                .build();
+        searchResultCache.get(search, loader);
+        searchResultCache.get(laterSearch, loader);
+
+        searchResultCache.contractChanged(null, contract(CHECK_IN.minusDays(5), CHECK_IN.plusDays(10)));
+        searchResultCache.get(search, loader);
+        searchResultCache.get(laterSearch, loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    /**
+     * Tests invalidation by a contract shorter than the span of cached check-in dates, which looks up
+     * the dates of the contract rather than walking every cached date.
+     * Verifies that only the stays within the contract are invalidated, at either end of it.
+     */
+    @Test
+    void testInvalidationLooksUpContractDates() {
+        List<SearchDTO> searches = new ArrayList<>();
+        for (int day = 0; day < 30; day++) {
+            searches.add(SearchDTO.builder()
+                    .checkInDate(CHECK_IN.plusDays(day))
+                    .noOfNights(2)
+                    .roomRequirements(List.of(requirement(1, 2)))
+                    .build());
+        }
+        searches.forEach(search -> searchResultCache.get(search, loader));
+
+        // Covers the stays checking in on days 10 to 13
+        searchResultCache.contractChanged(contract(CHECK_IN.plusDays(10), CHECK_IN.plusDays(15)), null);
+        searches.forEach(search -> searchResultCache.get(search, loader));
+
+        assertEquals(34, loads.get());
+        assertEquals(30, searchResultCache.stats().getSize());
+    }
+
+    private static SearchDTO search(RoomRequirementDTO... requirements) {
+        return SearchDTO.builder()
+                .checkInDate(CHECK_IN)
+                .noOfNights(3)
+                .roomRequirements(List.of(requirements))
+                .build();
+    }
+
+    private static RoomRequirementDTO requirement(int numberOfRooms, int maxAdults) {
+        return RoomRequirementDTO.builder()
+                .numberOfRooms(numberOfRooms)
+                .maxAdults(maxAdults)
+                .build();
+    }
+
+    private static Contract contract(LocalDate startDate, LocalDate endDate) {
+        return Contract.builder()
+                .contractId(1)
+                .hotelName("Hotel A")
+                .startDate(startDate)
+                .endDate(endDate)
+                .markUpRate(10.0)
+                .build();
+    }
+}
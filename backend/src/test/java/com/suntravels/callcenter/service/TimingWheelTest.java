@@ -0,0 +1,86 @@
+package com.suntravels.callcenter.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TimingWheel class.
+ */
+class TimingWheelTest {
+
+    /**
+     * Tests that a timeout fires on the first tick at or after its deadline, and never twice.
+     */
+    @Test
+    void testFiresAtDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 1000);
+        wheel.schedule("a", 1025);
+        wheel.schedule("b", 1010);
+        wheel.schedule("overdue", 500);
+
+        assertEquals(List.of("b", "overdue"), wheel.advance(1019));
+        assertEquals(List.of(), wheel.advance(1029));
+        assertEquals(List.of("a"), wheel.advance(1030));
+        assertEquals(List.of(), wheel.advance(5000));
+        assertEquals(0, wheel.size());
+    }
+
+    /**
+     * Tests that a cancelled timeout does not fire and cannot be cancelled again.
+     */
+    @Test
+    void testCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 100_000);
+        wheel.schedule("kept", 100_000);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("kept"), wheel.advance(100_000));
+    }
+
+    /**
+     * Tests many timeouts spread over every level of the wheel and beyond its reach, advanced in uneven
+     * steps. Verifies that each fires exactly once, in the step that first passes its deadline.
+     */
+    @Test
+    void testTimeoutsOnAllLevels() {
+        Random random = new Random(42);
+        long span = 1L << (TimingWheel.SLOT_BITS * TimingWheel.LEVELS);
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, 0);
+        long[] deadlines = new long[200_000];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = switch (i % 4) {
+                case 0 -> 1 + random.nextInt(64);
+                case 1 -> 1 + random.nextInt(64 * 64 * 64);
+                case 2 -> 1 + random.nextLong(span);
+                default -> span + random.nextInt(100_000);
+            };
+            wheel.schedule(i, deadlines[i]);
+        }
+
+        boolean[] fired = new boolean[deadlines.length];
+        long previous = 0;
+        for (long now = 0; now <= span + 100_000; now += 1 + random.nextInt(20_000)) {
+            for (int i : wheel.advance(now)) {
+                assertFalse(fired[i]);
+                assertTrue(deadlines[i] > previous && deadlines[i] <= now, "fired " + i + " at " + now);
+                fired[i] = true;
+            }
+            previous = now;
+        }
+        List<Long> unfired = new ArrayList<>();
+        for (int i = 0; i < fired.length; i++) {
+            if (!fired[i] && deadlines[i] <= previous) {
+                unfired.add(deadlines[i]);
+            }
+        }
+        assertEquals(List.of(), unfired);
+    }
+}
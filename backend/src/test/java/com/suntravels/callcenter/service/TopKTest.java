@@ -0,0 +1,48 @@
+package com.suntravels.callcenter.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TopK class.
+ */
+class TopKTest {
+
+    /**
+     * Tests that the k best items are kept, best first, and that the worst kept one is the bar to beat.
+     */
+    @Test
+    void testKeepsBestItems() {
+        TopK<Integer> topK = new TopK<>(3, Comparator.naturalOrder());
+
+        assertTrue(topK.offer(7));
+        assertTrue(topK.offer(3));
+        assertNull(topK.worst());
+        assertTrue(topK.offer(9));
+        assertEquals(9, topK.worst());
+        assertTrue(topK.offer(1));
+        assertFalse(topK.offer(8));
+        assertFalse(topK.offer(null));
+
+        assertEquals(7, topK.worst());
+        assertEquals(List.of(1, 3, 7), topK.toSortedList());
+    }
+
+    /**
+     * Tests that items offered from several threads give the same result as sorting them all.
+     */
+    @Test
+    void testConcurrentOffers() {
+        TopK<Integer> topK = new TopK<>(10, Comparator.reverseOrder());
+
+        IntStream.range(0, 100_000).parallel().forEach(topK::offer);
+
+        assertEquals(IntStream.rangeClosed(0, 9).map(i -> 99_999 - i).boxed().toList(),
+                topK.toSortedList());
+    }
+}
@@ -0,0 +1,45 @@
+package com.suntravels.callcenter.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records the SQL that Hibernate sends on the current thread, so tests can inspect the statements
+ * generated for a query, e.g. to check their query plans.
+ * <p>
+ * Registered for all tests with {@code hibernate.session_factory.statement_inspector}; statements are only
+ * kept while {@link #capture} runs.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Runs the action and returns the SQL statements it sent on this thread.
+     *
+     * @param action The action to run, such as a repository query.
+     * @return The statements, in the order they were prepared.
+     */
+    public static List<String> capture(Supplier<?> action) {
+        List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            action.get();
+        } finally {
+            CAPTURED.remove();
+        }
+        return captured;
+    }
+}
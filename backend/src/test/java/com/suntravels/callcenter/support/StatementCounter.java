@@ -0,0 +1,44 @@
+package com.suntravels.callcenter.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the SQL statements Hibernate prepares while an action runs, using Hibernate statistics.
+ * <p>
+ * Requires {@code hibernate.generate_statistics}, which the test configuration enables. The statistics
+ * are shared by the whole session factory, so the count includes every statement of the action, on any
+ * thread, including lazy loads and flushes.
+ */
+public class StatementCounter {
+
+    /**
+     * An action that may throw, such as a MockMvc request.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("hibernate.generate_statistics must be enabled to count statements");
+        }
+    }
+
+    /**
+     * Runs the action and counts the statements it prepared.
+     *
+     * @param action The action to run.
+     * @return The number of SQL statements prepared while it ran.
+     */
+    public long count(Action action) throws Exception {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -1,6 +1,6 @@
 import { HttpClient } from '@angular/common/http';
 import { Injectable } from '@angular/core';
-import { Observable } from 'rxjs';
+import { EMPTY, Observable, expand, reduce } from 'rxjs';
 import { Contract } from '../models/contract.model';
 import {
   AvailableContract,
@@ -16,6 +16,7 @@ import {
 })
 export class ContractService {
   private apiUrl = 'http://localhost:8080/contracts'; // API base URL for contract management
+  private pageSize = 500; // Contracts fetched per page when listing all contracts
 
   constructor(private http: HttpClient) {}
 
@@ -29,11 +30,31 @@ export class ContractService {
   }
 
   /**
-   * Retrieves all contracts from the system.
+   * Retrieves all contracts from the system, following the cursor pages of the API.
    * @returns An observable containing a list of all contracts.
    */
   getAllContracts(): Observable<Contract[]> {
-    return this.http.get<Contract[]>(this.apiUrl);
+    return this.getContractPage(null).pipe(
+      expand((page: Contract[]) =>
+        page.length === this.pageSize
+          ? this.getContractPage(page[page.length - 1].contractId)
+          : EMPTY
+      ),
+      reduce((contracts: Contract[], page: Contract[]) => contracts.concat(page), [])
+    );
+  }
+
+  /**
+   * Retrieves one page of contracts in contract ID order.
+   * @param after The ID of the last contract of the previous page, or null for the first page.
+   * @returns An observable containing the contracts of the page.
+   */
+  getContractPage(after: number | null): Observable<Contract[]> {
+    const params: Record<string, number> = { size: this.pageSize };
+    if (after !== null) {
+      params['after'] = after;
+    }
+    return this.http.get<Contract[]>(this.apiUrl, { params });
   }
 
   /**